@@ -0,0 +1,162 @@
+package com.ss.rlib.benchmark.concurrent;
+
+import com.ss.rlib.concurrent.lock.AsyncReadSyncWriteLock;
+import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.concurrent.lock.impl.FinalAtomicReadWriteLock;
+import com.ss.rlib.concurrent.lock.impl.FinalStampedLock;
+import com.ss.rlib.concurrent.lock.impl.StripedARSWLock;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The benchmark of implementations of {@link AsyncReadSyncWriteLock} against {@link FinalStampedLock} and
+ * {@link ReentrantReadWriteLock} with read mostly and write heavy loads.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ARSWLockBenchmark {
+
+    /**
+     * The type of a lock.
+     */
+    @Param({"striped", "atomic", "stamped", "reentrant"})
+    private String type;
+
+    /**
+     * The count of CPU tokens which are consumed inside a lock.
+     */
+    @Param({"10"})
+    private int work;
+
+    /**
+     * The lock.
+     */
+    private AsyncReadSyncWriteLock lock;
+
+    /**
+     * The guarded value.
+     */
+    private long value;
+
+    @Setup
+    public void setup() {
+        switch (type) {
+            case "striped":
+                lock = new StripedARSWLock();
+                break;
+            case "atomic":
+                lock = new FinalAtomicReadWriteLock();
+                break;
+            case "stamped":
+                lock = wrap(LockFactory.newStampedLock().asReadWriteLock());
+                break;
+            case "reentrant":
+                lock = wrap(new ReentrantReadWriteLock());
+                break;
+            default:
+                throw new IllegalArgumentException("unknown lock type " + type);
+        }
+    }
+
+    @NotNull
+    private static AsyncReadSyncWriteLock wrap(@NotNull final ReadWriteLock readWriteLock) {
+
+        final Lock readLock = readWriteLock.readLock();
+        final Lock writeLock = readWriteLock.writeLock();
+
+        return new AsyncReadSyncWriteLock() {
+
+            @Override
+            public void asyncLock() {
+                readLock.lock();
+            }
+
+            @Override
+            public void asyncUnlock() {
+                readLock.unlock();
+            }
+
+            @Override
+            public void syncLock() {
+                writeLock.lock();
+            }
+
+            @Override
+            public void syncUnlock() {
+                writeLock.unlock();
+            }
+        };
+    }
+
+    private long read() {
+        lock.asyncLock();
+        try {
+            Blackhole.consumeCPU(work);
+            return value;
+        } finally {
+            lock.asyncUnlock();
+        }
+    }
+
+    private long write() {
+        lock.syncLock();
+        try {
+            Blackhole.consumeCPU(work);
+            return ++value;
+        } finally {
+            lock.syncUnlock();
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(7)
+    public long readMostlyReader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public long readMostlyWriter() {
+        return write();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(4)
+    public long writeHeavyReader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(4)
+    public long writeHeavyWriter() {
+        return write();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.impl.AbstractAsyncConnection;
+import com.ss.rlib.network.packet.SendablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+
+/**
+ * The connection of benchmarks which opens reading and writing of packets.
+ *
+ * @author JavaSaBr
+ */
+public class BenchmarkConnection extends AbstractAsyncConnection {
+
+    /**
+     * Instantiates a new Benchmark connection.
+     *
+     * @param network the network.
+     * @param channel the channel.
+     */
+    public BenchmarkConnection(@NotNull final AsynchronousNetwork network,
+                               @NotNull final AsynchronousSocketChannel channel) {
+        super(network, channel, SendablePacket.class);
+    }
+
+    @Override
+    public void readPacket(@NotNull final ByteBuffer buffer) {
+        super.readPacket(buffer);
+    }
+
+    @NotNull
+    @Override
+    public ByteBuffer writePacketToBuffer(@NotNull final SendablePacket packet, @NotNull final ByteBuffer buffer) {
+        return super.writePacketToBuffer(packet, buffer);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.impl.AbstractAsynchronousNetwork;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The network of benchmarks which provides only buffers and metrics to connections.
+ *
+ * @author JavaSaBr
+ */
+public class BenchmarkNetwork extends AbstractAsynchronousNetwork {
+
+    /**
+     * Instantiates a new Benchmark network.
+     *
+     * @param config the config.
+     */
+    public BenchmarkNetwork(@NotNull final NetworkConfig config) {
+        super(config);
+    }
+}
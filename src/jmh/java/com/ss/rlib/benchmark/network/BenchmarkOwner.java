@@ -0,0 +1,40 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.impl.AbstractConnectionOwner;
+import com.ss.rlib.network.packet.ReadablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * The connection owner of benchmarks which passes read packets to a handler and returns them to the pool.
+ *
+ * @author JavaSaBr
+ */
+public class BenchmarkOwner extends AbstractConnectionOwner {
+
+    /**
+     * The handler of read packets.
+     */
+    @NotNull
+    private final Consumer<EchoReadablePacket> handler;
+
+    /**
+     * Instantiates a new Benchmark owner.
+     *
+     * @param connection the connection.
+     * @param handler    the handler of read packets.
+     */
+    public BenchmarkOwner(@NotNull final AsyncConnection connection,
+                          @NotNull final Consumer<EchoReadablePacket> handler) {
+        super(connection, new NoNetworkCrypt());
+        this.handler = handler;
+    }
+
+    @Override
+    protected void execute(@NotNull final ReadablePacket packet) {
+        handler.accept((EchoReadablePacket) packet);
+        packet.notifyFinishedReading();
+    }
+}
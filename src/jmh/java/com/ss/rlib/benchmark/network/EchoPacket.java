@@ -0,0 +1,63 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.SendablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractSendablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The sendable packet of benchmarks with a send time and a payload.
+ *
+ * @author JavaSaBr
+ */
+public class EchoPacket extends AbstractSendablePacket {
+
+    /**
+     * The packet type.
+     */
+    @NotNull
+    public static final SendablePacketType<EchoPacket> TYPE = new SendablePacketType<>(EchoPacket.class, 901);
+
+    /**
+     * The payload.
+     */
+    @NotNull
+    private final byte[] payload;
+
+    /**
+     * The send time in nanos or 0 if the packet shouldn't be echoed.
+     */
+    private final long time;
+
+    /**
+     * Instantiates a new Echo packet.
+     *
+     * @param payload the payload.
+     * @param time    the send time in nanos or 0 if the packet shouldn't be echoed.
+     */
+    public EchoPacket(@NotNull final byte[] payload, final long time) {
+        this.payload = payload;
+        this.time = time;
+    }
+
+    @NotNull
+    @Override
+    public SendablePacketType<? extends SendablePacket> getPacketType() {
+        return TYPE;
+    }
+
+    @Override
+    public int getEstimatedSize() {
+        return Short.BYTES + Long.BYTES + Integer.BYTES + payload.length;
+    }
+
+    @Override
+    protected void writeImpl(@NotNull final ByteBuffer buffer) {
+        super.writeImpl(buffer);
+        writeLong(buffer, time);
+        writeInt(buffer, payload.length);
+        buffer.put(payload);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractReadablePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The readable packet of benchmarks which is sent by {@link EchoPacket}.
+ *
+ * @author JavaSaBr
+ */
+public class EchoReadablePacket extends AbstractReadablePacket {
+
+    /**
+     * The packet type.
+     */
+    @NotNull
+    public static final ReadablePacketType<EchoReadablePacket> TYPE =
+            new ReadablePacketType<>(new EchoReadablePacket(), EchoPacket.TYPE.getId());
+
+    /**
+     * The send time in nanos or 0 if the packet shouldn't be echoed.
+     */
+    private long time;
+
+    @NotNull
+    @Override
+    public ReadablePacketType<? extends ReadablePacket> getPacketType() {
+        return TYPE;
+    }
+
+    @Override
+    protected void readImpl(@NotNull final ByteBuffer buffer) {
+        time = readLong(buffer);
+        final int size = readInt(buffer);
+        buffer.position(buffer.position() + size);
+    }
+
+    /**
+     * Gets time.
+     *
+     * @return the send time in nanos or 0 if the packet shouldn't be echoed.
+     */
+    public long getTime() {
+        return time;
+    }
+}
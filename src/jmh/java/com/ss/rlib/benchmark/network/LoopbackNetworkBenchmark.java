@@ -0,0 +1,234 @@
+package com.ss.rlib.benchmark.network;
+
+import static java.util.Objects.requireNonNull;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.client.ConnectHandler;
+import com.ss.rlib.network.server.AcceptHandler;
+import com.ss.rlib.network.server.ServerNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The end-to-end benchmark of {@link ServerNetwork} and {@link ClientNetwork} connected by the loopback interface.
+ * The throughput is measured in sent packets per second, the latency is measured as the round trip time of a packet
+ * which is echoed by the server, its percentiles are reported by the sample time mode. The server is based on
+ * asynchronous channels or on selector event loops.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoopbackNetworkBenchmark {
+
+    /**
+     * The count of packets which are sent by one invocation of the throughput benchmark.
+     */
+    private static final int BATCH = 1000;
+
+    /**
+     * The empty payload of echoed packets.
+     */
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * The size of packet payload.
+     */
+    @Param({"64", "1024"})
+    private int payloadSize;
+
+    /**
+     * The backend of the server: "aio" for asynchronous channels or "selector" for selector event loops.
+     */
+    @Param({"aio", "selector"})
+    private String backend;
+
+    /**
+     * The port of the server.
+     */
+    @Param({"42555"})
+    private int port;
+
+    /**
+     * The count of not echoed packets which were received by the server.
+     */
+    private final AtomicLong serverReceived = new AtomicLong();
+
+    /**
+     * The send times of packets which were echoed to the client.
+     */
+    private final BlockingQueue<Long> echoes = new ArrayBlockingQueue<>(16);
+
+    /**
+     * The connections which were accepted by the server.
+     */
+    private final ConcurrentLinkedQueue<BenchmarkConnection> serverConnections = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The connection of the client.
+     */
+    private BenchmarkConnection connection;
+
+    /**
+     * The payload of sent packets.
+     */
+    private byte[] payload;
+
+    /**
+     * The count of packets which were sent by the throughput benchmark.
+     */
+    private long sent;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+
+        EchoReadablePacket.TYPE.getId();
+
+        final NetworkConfig config = new NetworkConfig() {
+
+            @Override
+            public int getMaxWriteBatchSize() {
+                return 16 * 1024;
+            }
+        };
+
+        final ServerNetwork[] serverNetwork = new ServerNetwork[1];
+        final AcceptHandler acceptHandler = new AcceptHandler() {
+
+            @Override
+            protected void onAccept(@NotNull final AsynchronousSocketChannel channel) {
+
+                final BenchmarkConnection connection = new BenchmarkConnection(serverNetwork[0], channel);
+                connection.setOwner(new BenchmarkOwner(connection, packet -> {
+                    if (packet.getTime() == 0) {
+                        serverReceived.incrementAndGet();
+                    } else {
+                        connection.sendPacket(new EchoPacket(EMPTY, packet.getTime()));
+                    }
+                }));
+
+                serverConnections.add(connection);
+                connection.startRead();
+            }
+
+            @Override
+            protected void onFailed(@NotNull final Throwable exc) {
+                LOGGER.warning(exc);
+            }
+        };
+
+        if ("selector".equals(backend)) {
+            serverNetwork[0] = requireNonNull(NetworkFactory.newSelectorServerNetwork(config, acceptHandler));
+        } else {
+            serverNetwork[0] = NetworkFactory.newDefaultAsynchronousServerNetwork(config, acceptHandler);
+        }
+
+        serverNetwork[0].bind(new InetSocketAddress("127.0.0.1", port));
+
+        final CompletableFuture<BenchmarkConnection> connected = new CompletableFuture<>();
+        final ClientNetwork[] clientNetwork = new ClientNetwork[1];
+        clientNetwork[0] = NetworkFactory.newDefaultAsynchronousClientNetwork(config, new ConnectHandler() {
+
+            @Override
+            public void onConnect(@NotNull final AsynchronousSocketChannel channel) {
+                final BenchmarkConnection connection = new BenchmarkConnection(clientNetwork[0], channel);
+                connection.setOwner(new BenchmarkOwner(connection, packet -> echoes.add(packet.getTime())));
+                connection.startRead();
+                connected.complete(connection);
+            }
+
+            @Override
+            public void onFailed(@NotNull final Throwable exc) {
+                connected.completeExceptionally(exc);
+            }
+        });
+
+        clientNetwork[0].connect(new InetSocketAddress("127.0.0.1", port));
+
+        connection = connected.get(5, TimeUnit.SECONDS);
+        payload = new byte[payloadSize];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+        serverConnections.forEach(BenchmarkConnection::close);
+    }
+
+    /**
+     * Send a batch of packets and wait for receiving them by the server.
+     *
+     * @return the count of received packets.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public long throughput() {
+
+        for (int i = 0; i < BATCH; i++) {
+            connection.sendPacket(new EchoPacket(payload, 0));
+        }
+
+        sent += BATCH;
+
+        while (serverReceived.get() < sent) {
+            LockSupport.parkNanos(10_000);
+        }
+
+        return sent;
+    }
+
+    /**
+     * Send a packet and wait for its echo from the server.
+     *
+     * @return the round trip time in nanos.
+     * @throws InterruptedException if the thread was interrupted.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long latency() throws InterruptedException {
+
+        final long time = System.nanoTime();
+
+        connection.sendPacket(new EchoPacket(payload, time));
+
+        final Long echoed = echoes.poll(5, TimeUnit.SECONDS);
+
+        if (echoed == null || echoed != time) {
+            throw new IllegalStateException("not received the echo of the packet.");
+        }
+
+        return System.nanoTime() - time;
+    }
+}
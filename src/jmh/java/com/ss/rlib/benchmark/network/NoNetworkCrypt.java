@@ -0,0 +1,20 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.NetworkCrypt;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The network crypt of benchmarks which doesn't change data.
+ *
+ * @author JavaSaBr
+ */
+public class NoNetworkCrypt implements NetworkCrypt {
+
+    @Override
+    public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+    }
+
+    @Override
+    public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+    }
+}
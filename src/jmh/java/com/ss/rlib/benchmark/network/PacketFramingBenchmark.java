@@ -0,0 +1,182 @@
+package com.ss.rlib.benchmark.network;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import com.ss.rlib.network.NetworkConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of reading frames of received data and writing packets to a write buffer by a connection.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketFramingBenchmark {
+
+    /**
+     * The count of packets in received data.
+     */
+    private static final int PACKETS = 64;
+
+    /**
+     * The size of packet payload.
+     */
+    @Param({"16", "256", "1024"})
+    private int payloadSize;
+
+    /**
+     * The size of chunks to split received data to fragmented reads.
+     */
+    @Param({"1400"})
+    private int chunkSize;
+
+    /**
+     * The connection.
+     */
+    private BenchmarkConnection connection;
+
+    /**
+     * The packet to write.
+     */
+    private EchoPacket packet;
+
+    /**
+     * The encoded frames of packets.
+     */
+    private ByteBuffer frames;
+
+    /**
+     * The buffer to receive data.
+     */
+    private ByteBuffer readBuffer;
+
+    /**
+     * The buffer to write a packet.
+     */
+    private ByteBuffer writeBuffer;
+
+    /**
+     * The count of read packets.
+     */
+    private long readPackets;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        final BenchmarkNetwork network = new BenchmarkNetwork(new NetworkConfig() {
+
+            @Override
+            public int getReadBufferSize() {
+                return 64 * 1024;
+            }
+
+            @Override
+            public int getWriteBufferSize() {
+                return 4 * 1024;
+            }
+        });
+
+        EchoReadablePacket.TYPE.getId();
+
+        connection = new BenchmarkConnection(network, AsynchronousSocketChannel.open());
+        connection.setOwner(new BenchmarkOwner(connection, received -> readPackets++));
+
+        packet = new EchoPacket(new byte[payloadSize], 0);
+        writeBuffer = network.takeWriteBuffer();
+        readBuffer = network.takeReadBuffer();
+
+        frames = ByteBuffer.allocate(PACKETS * (payloadSize + 32)).order(LITTLE_ENDIAN);
+
+        for (int i = 0; i < PACKETS; i++) {
+            frames.put(connection.writePacketToBuffer(packet, writeBuffer));
+        }
+
+        frames.flip();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+    }
+
+    /**
+     * Read received data which contains only whole frames.
+     *
+     * @return the count of read packets.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public long readUnfragmented() {
+
+        final ByteBuffer buffer = readBuffer;
+        buffer.clear();
+        buffer.put(frames.duplicate());
+        buffer.flip();
+
+        connection.readPacket(buffer);
+
+        return readPackets;
+    }
+
+    /**
+     * Read received data by chunks, so frames are split between reads and their tails wait for next chunks.
+     *
+     * @return the count of read packets.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public long readFragmented() {
+
+        final ByteBuffer buffer = readBuffer;
+        buffer.clear();
+
+        final ByteBuffer source = frames.duplicate();
+        final int limit = source.limit();
+
+        while (source.position() < limit) {
+
+            source.limit(Math.min(source.position() + chunkSize, limit));
+
+            buffer.put(source);
+            buffer.flip();
+
+            connection.readPacket(buffer);
+
+            buffer.compact();
+        }
+
+        return readPackets;
+    }
+
+    /**
+     * Write a packet with the frame header to a write buffer.
+     *
+     * @return the write buffer.
+     */
+    @Benchmark
+    public ByteBuffer writePacket() {
+        return connection.writePacketToBuffer(packet, writeBuffer);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ss.rlib.benchmark.network;
+
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of creating readable packets by {@link ReadablePacketType#newInstance()} with reusing them by the
+ * pool of the type.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadablePacketTypeBenchmark {
+
+    /**
+     * The packet type.
+     */
+    private final ReadablePacketType<EchoReadablePacket> type = EchoReadablePacket.TYPE;
+
+    /**
+     * The example packet to create new packets.
+     */
+    private final EchoReadablePacket example = new EchoReadablePacket();
+
+    /**
+     * Take a packet from the pool of the type and return it back.
+     *
+     * @return the packet.
+     */
+    @Benchmark
+    public ReadablePacket pooled() {
+        final EchoReadablePacket packet = type.newInstance();
+        packet.notifyFinishedReading();
+        return packet;
+    }
+
+    /**
+     * Take a packet from the pool of the type and return it back by several threads.
+     *
+     * @return the packet.
+     */
+    @Benchmark
+    @Threads(4)
+    public ReadablePacket pooledContended() {
+        final EchoReadablePacket packet = type.newInstance();
+        packet.notifyFinishedReading();
+        return packet;
+    }
+
+    /**
+     * Create a new packet by the example without the pool as the type does when the pool is empty.
+     *
+     * @return the packet.
+     */
+    @Benchmark
+    public ReadablePacket created() {
+        return example.newInstance();
+    }
+}
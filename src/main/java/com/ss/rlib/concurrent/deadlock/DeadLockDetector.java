@@ -66,7 +66,7 @@ public class DeadLockDetector implements Runnable {
             throw new IllegalArgumentException("negative interval.");
         }
 
-        this.listeners = ArrayFactory.newConcurrentReentrantRWLockArray(DeadLockListener.class);
+        this.listeners = ArrayFactory.newConcurrentCopyOnWriteArray(DeadLockListener.class);
         this.mxThread = ManagementFactory.getThreadMXBean();
         this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.interval = interval;
@@ -104,9 +104,7 @@ public class DeadLockDetector implements Runnable {
             final ThreadInfo info = mxThread.getThreadInfo(id);
             if (listeners.isEmpty()) continue;
 
-            ArrayUtils.runInReadLock(listeners, info,
-                    (deadLockListeners, threadInfo) ->
-                            deadLockListeners.forEach(threadInfo, DeadLockListener::onDetected));
+            listeners.forEach(info, DeadLockListener::onDetected);
 
             LOGGER.warning("DeadLock detected! : " + info);
         }
@@ -0,0 +1,83 @@
+package com.ss.rlib.concurrent.executor;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.impl.ThreadPoolTaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.VirtualThreadTaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.WorkStealingTaskExecutor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The factory for creating new task executors.
+ *
+ * @author JavaSaBr
+ */
+public class ExecutorFactory {
+
+    /**
+     * Create a new {@link ThreadPoolTaskExecutor}.
+     *
+     * @param <L>           the type parameter
+     * @param threadFactory the thread factory.
+     * @param poolSize      the pool size.
+     * @param packetSize    the packet size.
+     * @param localFactory  the factory of local objects of threads.
+     * @return the new executor.
+     */
+    @NotNull
+    public static <L> TaskExecutor<L> newThreadPoolTaskExecutor(@NotNull final GroupThreadFactory threadFactory,
+                                                                final int poolSize, final int packetSize,
+                                                                @NotNull final Function<Thread, L> localFactory) {
+        return new ThreadPoolTaskExecutor<L>(threadFactory, poolSize, packetSize) {
+
+            @NotNull
+            @Override
+            protected L getLocalObjects(@NotNull final Thread thread) {
+                return localFactory.apply(thread);
+            }
+        };
+    }
+
+    /**
+     * Create a new {@link WorkStealingTaskExecutor}.
+     *
+     * @param <L>           the type parameter
+     * @param threadFactory the thread factory.
+     * @param poolSize      the pool size.
+     * @param packetSize    the packet size.
+     * @param localFactory  the factory of local objects of threads.
+     * @return the new executor.
+     */
+    @NotNull
+    public static <L> TaskExecutor<L> newWorkStealingTaskExecutor(@NotNull final GroupThreadFactory threadFactory,
+                                                                  final int poolSize, final int packetSize,
+                                                                  @NotNull final Function<Thread, L> localFactory) {
+        return new WorkStealingTaskExecutor<L>(threadFactory, poolSize, packetSize) {
+
+            @NotNull
+            @Override
+            protected L getLocalObjects(@NotNull final Thread thread) {
+                return localFactory.apply(thread);
+            }
+        };
+    }
+
+    /**
+     * Create a new {@link VirtualThreadTaskExecutor} for blocking tasks, it uses virtual threads if the runtime
+     * supports them and a bounded pool of threads otherwise.
+     *
+     * @param <L>            the type parameter
+     * @param name           the name of threads.
+     * @param maxConcurrency the max count of executing tasks.
+     * @param localFactory   the factory of local objects.
+     * @return the new executor.
+     */
+    @NotNull
+    public static <L> TaskExecutor<L> newVirtualThreadTaskExecutor(@NotNull final String name,
+                                                                   final int maxConcurrency,
+                                                                   @NotNull final Supplier<L> localFactory) {
+        return new VirtualThreadTaskExecutor<>(name, maxConcurrency, localFactory);
+    }
+}
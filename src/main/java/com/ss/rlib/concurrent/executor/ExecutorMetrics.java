@@ -0,0 +1,98 @@
+package com.ss.rlib.concurrent.executor;
+
+import com.ss.rlib.monitoring.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * The interface to implement metrics of a task executor.
+ *
+ * @author JavaSaBr
+ */
+public interface ExecutorMetrics {
+
+    /**
+     * Gets submitted tasks.
+     *
+     * @return the count of submitted tasks.
+     */
+    long getSubmittedTasks();
+
+    /**
+     * Gets completed tasks.
+     *
+     * @return the count of completed task executions.
+     */
+    long getCompletedTasks();
+
+    /**
+     * Gets failed tasks.
+     *
+     * @return the count of task executions which have finished with an exception.
+     */
+    long getFailedTasks();
+
+    /**
+     * Gets wait tasks.
+     *
+     * @return the count of waiting tasks, for periodic executors it's the count of registered tasks.
+     */
+    long getWaitTasks();
+
+    /**
+     * Gets wait time.
+     *
+     * @return the histogram of time from submitting a task to starting executing it.
+     */
+    @NotNull
+    LatencyHistogram getWaitTime();
+
+    /**
+     * Gets execution time.
+     *
+     * @return the histogram of execution time of all tasks.
+     */
+    @NotNull
+    LatencyHistogram getExecutionTime();
+
+    /**
+     * Get execution time of the task class.
+     *
+     * @param taskClass the task class.
+     * @return the histogram of execution time of tasks of the class or null.
+     */
+    @Nullable
+    LatencyHistogram getExecutionTime(@NotNull Class<?> taskClass);
+
+    /**
+     * Gets execution times.
+     *
+     * @return the histograms of execution time by task classes.
+     */
+    @NotNull
+    Map<Class<?>, LatencyHistogram> getExecutionTimes();
+
+    /**
+     * Gets ticks.
+     *
+     * @return the count of ticks of a periodic executor.
+     */
+    long getTicks();
+
+    /**
+     * Gets tick overruns.
+     *
+     * @return the count of ticks of a periodic executor which took more time than its interval.
+     */
+    long getTickOverruns();
+
+    /**
+     * Gets tick time.
+     *
+     * @return the histogram of actual time of ticks of a periodic executor.
+     */
+    @NotNull
+    LatencyHistogram getTickTime();
+}
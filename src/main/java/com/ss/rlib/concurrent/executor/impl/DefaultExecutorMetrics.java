@@ -0,0 +1,335 @@
+package com.ss.rlib.concurrent.executor.impl;
+
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
+import com.ss.rlib.concurrent.task.CallableTask;
+import com.ss.rlib.monitoring.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The base implementation of the {@link ExecutorMetrics}.
+ *
+ * @author JavaSaBr
+ */
+public class DefaultExecutorMetrics implements ExecutorMetrics {
+
+    /**
+     * The task which remembers the time of submitting to measure the time of waiting.
+     *
+     * @param <L> the type parameter
+     */
+    private static final class QueuedTask<L> implements CallableTask<Object, L> {
+
+        /**
+         * The metrics of an executor.
+         */
+        @NotNull
+        private final DefaultExecutorMetrics metrics;
+
+        /**
+         * The submitted task.
+         */
+        @NotNull
+        private final CallableTask<?, L> task;
+
+        /**
+         * The time of submitting in nanoseconds.
+         */
+        private final long queuedTime;
+
+        private QueuedTask(@NotNull final DefaultExecutorMetrics metrics, @NotNull final CallableTask<?, L> task) {
+            this.metrics = metrics;
+            this.task = task;
+            this.queuedTime = System.nanoTime();
+        }
+
+        @Nullable
+        @Override
+        public Object call(@NotNull final L local, final long currentTime) {
+            metrics.addWaitTasks(-1);
+            metrics.addWaitTime(System.nanoTime() - queuedTime);
+            return metrics.call(task, local, currentTime);
+        }
+    }
+
+    /**
+     * The histograms of execution time by task classes.
+     */
+    @NotNull
+    private final ConcurrentMap<Class<?>, LatencyHistogram> executionTimes;
+
+    /**
+     * The count of submitted tasks.
+     */
+    @NotNull
+    private final LongAdder submittedTasks;
+
+    /**
+     * The count of completed tasks.
+     */
+    @NotNull
+    private final LongAdder completedTasks;
+
+    /**
+     * The count of failed tasks.
+     */
+    @NotNull
+    private final LongAdder failedTasks;
+
+    /**
+     * The count of wait tasks.
+     */
+    @NotNull
+    private final LongAdder waitTasks;
+
+    /**
+     * The count of ticks.
+     */
+    @NotNull
+    private final LongAdder ticks;
+
+    /**
+     * The count of tick overruns.
+     */
+    @NotNull
+    private final LongAdder tickOverruns;
+
+    /**
+     * The histogram of wait time.
+     */
+    @NotNull
+    private final LatencyHistogram waitTime;
+
+    /**
+     * The histogram of execution time.
+     */
+    @NotNull
+    private final LatencyHistogram executionTime;
+
+    /**
+     * The histogram of tick time.
+     */
+    @NotNull
+    private final LatencyHistogram tickTime;
+
+    /**
+     * Instantiates new metrics of an executor.
+     */
+    public DefaultExecutorMetrics() {
+        this.executionTimes = new ConcurrentHashMap<>();
+        this.submittedTasks = new LongAdder();
+        this.completedTasks = new LongAdder();
+        this.failedTasks = new LongAdder();
+        this.waitTasks = new LongAdder();
+        this.ticks = new LongAdder();
+        this.tickOverruns = new LongAdder();
+        this.waitTime = new LatencyHistogram();
+        this.executionTime = new LatencyHistogram();
+        this.tickTime = new LatencyHistogram();
+    }
+
+    /**
+     * Register the submitted task and wrap it to measure the time of waiting, the wrapped task should be added to the
+     * queue of an executor instead of the submitted task.
+     *
+     * @param <L>  the type parameter
+     * @param task the submitted task.
+     * @return the wrapped task.
+     */
+    @NotNull
+    public <L> CallableTask<?, L> submit(@NotNull final CallableTask<?, L> task) {
+        addSubmittedTask();
+        addWaitTasks(1);
+        return new QueuedTask<>(this, task);
+    }
+
+    /**
+     * Execute the task and measure the time of executing.
+     *
+     * @param <R>         the type parameter
+     * @param <L>         the type parameter
+     * @param task        the task.
+     * @param local       the thread local container.
+     * @param currentTime the current time.
+     * @return the result of the task.
+     */
+    @Nullable
+    public <R, L> R call(@NotNull final CallableTask<R, L> task, @NotNull final L local, final long currentTime) {
+
+        final long startTime = System.nanoTime();
+
+        try {
+
+            final R result = task.call(local, currentTime);
+
+            completedTasks.increment();
+            addExecutionTime(task.getClass(), System.nanoTime() - startTime);
+
+            return result;
+
+        } catch (final RuntimeException | Error e) {
+            failedTasks.increment();
+            addExecutionTime(task.getClass(), System.nanoTime() - startTime);
+            throw e;
+        }
+    }
+
+    /**
+     * Add a submitted task.
+     */
+    public void addSubmittedTask() {
+        submittedTasks.increment();
+    }
+
+    /**
+     * Add wait tasks.
+     *
+     * @param count the count of added tasks or negative count of removed tasks.
+     */
+    public void addWaitTasks(final int count) {
+        waitTasks.add(count);
+    }
+
+    /**
+     * Add a wait time.
+     *
+     * @param time the time of waiting in nanoseconds.
+     */
+    public void addWaitTime(final long time) {
+        waitTime.record(time);
+    }
+
+    /**
+     * Add an execution time of a task.
+     *
+     * @param taskClass the task class.
+     * @param time      the time of executing in nanoseconds.
+     */
+    public void addExecutionTime(@NotNull final Class<?> taskClass, final long time) {
+
+        LatencyHistogram histogram = executionTimes.get(taskClass);
+
+        if (histogram == null) {
+            histogram = executionTimes.computeIfAbsent(taskClass, type -> new LatencyHistogram());
+        }
+
+        histogram.record(time);
+        executionTime.record(time);
+    }
+
+    /**
+     * Add a tick of a periodic executor.
+     *
+     * @param time     the actual time of the tick in nanoseconds.
+     * @param interval the configured interval in ms.
+     */
+    public void addTick(final long time, final long interval) {
+        ticks.increment();
+        tickTime.record(time);
+
+        if (interval > 0 && time > TimeUnit.MILLISECONDS.toNanos(interval)) {
+            tickOverruns.increment();
+        }
+    }
+
+    @Override
+    public long getSubmittedTasks() {
+        return submittedTasks.sum();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    @Override
+    public long getFailedTasks() {
+        return failedTasks.sum();
+    }
+
+    @Override
+    public long getWaitTasks() {
+        return waitTasks.sum();
+    }
+
+    @NotNull
+    @Override
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    @NotNull
+    @Override
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    @Nullable
+    @Override
+    public LatencyHistogram getExecutionTime(@NotNull final Class<?> taskClass) {
+        return executionTimes.get(taskClass);
+    }
+
+    @NotNull
+    @Override
+    public Map<Class<?>, LatencyHistogram> getExecutionTimes() {
+        return Collections.unmodifiableMap(executionTimes);
+    }
+
+    @Override
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    @Override
+    public long getTickOverruns() {
+        return tickOverruns.sum();
+    }
+
+    @NotNull
+    @Override
+    public LatencyHistogram getTickTime() {
+        return tickTime;
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder("DefaultExecutorMetrics{");
+        builder.append("submittedTasks=").append(submittedTasks);
+        builder.append(", completedTasks=").append(completedTasks);
+        builder.append(", failedTasks=").append(failedTasks);
+        builder.append(", waitTasks=").append(waitTasks);
+        builder.append(", waitTime=").append(waitTime);
+        builder.append(", executionTime=").append(executionTime);
+
+        if (ticks.sum() > 0) {
+            builder.append(", ticks=").append(ticks);
+            builder.append(", tickOverruns=").append(tickOverruns);
+            builder.append(", tickTime=").append(tickTime);
+        }
+
+        if (!executionTimes.isEmpty()) {
+
+            builder.append(", taskClasses=[");
+
+            int count = 0;
+
+            for (final Map.Entry<Class<?>, LatencyHistogram> entry : executionTimes.entrySet()) {
+                if (count++ > 0) builder.append(", ");
+                builder.append(entry.getKey().getName()).append(": ").append(entry.getValue());
+            }
+
+            builder.append(']');
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ss.rlib.concurrent.executor.impl;
 
 import static java.util.Objects.requireNonNull;
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
 import com.ss.rlib.concurrent.executor.PeriodicTaskExecutor;
 import com.ss.rlib.concurrent.lock.LockFactory;
 import com.ss.rlib.concurrent.task.PeriodicTask;
@@ -82,6 +83,12 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
     @NotNull
     private final Lock lock;
 
+    /**
+     * The metrics of this executor.
+     */
+    @Nullable
+    private volatile DefaultExecutorMetrics metrics;
+
     /**
      * The update interval.
      */
@@ -123,6 +130,13 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
 
             waitTasks.add(task);
 
+            final DefaultExecutorMetrics metrics = this.metrics;
+
+            if (metrics != null) {
+                metrics.addSubmittedTask();
+                metrics.addWaitTasks(1);
+            }
+
             if (wait.get()) {
                 synchronized (wait) {
                     if (wait.compareAndSet(true, false)) {
@@ -158,14 +172,56 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
      */
     protected void executeImpl(@NotNull final Array<T> executeTasks, @NotNull final Array<T> finishedTasks,
                                @NotNull final L local, final long startExecuteTime) {
+
+        final DefaultExecutorMetrics metrics = this.metrics;
+
         for (final T task : executeTasks.array()) {
             if (task == null) break;
-            if (task.call(local, startExecuteTime) == Boolean.TRUE) {
+
+            final Boolean result = metrics == null ? task.call(local, startExecuteTime) :
+                    metrics.call(task, local, startExecuteTime);
+
+            if (result == Boolean.TRUE) {
                 finishedTasks.add(task);
             }
         }
     }
 
+    /**
+     * Enable collecting metrics of this executor, tick overruns are counted against the interval.
+     *
+     * @return the metrics of this executor.
+     */
+    @NotNull
+    public ExecutorMetrics enableMetrics() {
+        lock();
+        try {
+
+            DefaultExecutorMetrics metrics = this.metrics;
+
+            if (metrics == null) {
+                metrics = new DefaultExecutorMetrics();
+                metrics.addWaitTasks(waitTasks.size());
+                this.metrics = metrics;
+            }
+
+            return metrics;
+
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets metrics.
+     *
+     * @return the metrics of this executor or null if collecting metrics isn't enabled.
+     */
+    @Nullable
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Gets execute tasks.
      *
@@ -254,7 +310,13 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
     public void removeTask(@NotNull final T task) {
         lock();
         try {
-            waitTasks.fastRemove(task);
+
+            final DefaultExecutorMetrics metrics = this.metrics;
+
+            if (waitTasks.fastRemove(task) && metrics != null) {
+                metrics.addWaitTasks(-1);
+            }
+
         } finally {
             unlock();
         }
@@ -300,6 +362,7 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
             if (executeTasks.isEmpty()) continue;
 
             final long startExecuteTime = System.currentTimeMillis();
+            final long startTickTime = System.nanoTime();
 
             preExecute(executeTasks, local, startExecuteTime);
             try {
@@ -315,7 +378,17 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
                 if (!finishedTasks.isEmpty()) {
                     lock();
                     try {
+
+                        final int size = waitTasks.size();
+
                         waitTasks.removeAll(finishedTasks);
+
+                        final DefaultExecutorMetrics metrics = this.metrics;
+
+                        if (metrics != null) {
+                            metrics.addWaitTasks(waitTasks.size() - size);
+                        }
+
                     } finally {
                         unlock();
                     }
@@ -327,6 +400,12 @@ public class SingleThreadPeriodicTaskExecutor<T extends PeriodicTask<L>, L> impl
                 LOGGER.warning(getClass(), e);
             }
 
+            final DefaultExecutorMetrics metrics = this.metrics;
+
+            if (metrics != null) {
+                metrics.addTick(System.nanoTime() - startTickTime, interval);
+            }
+
             if (interval < 1) continue;
             final int result = interval - (int) (System.currentTimeMillis() - startExecuteTime);
             if (result < 1) continue;
@@ -7,6 +7,7 @@ import com.ss.rlib.util.ClassUtils;
 import com.ss.rlib.util.array.ArrayFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
 import com.ss.rlib.concurrent.executor.TaskExecutor;
 import com.ss.rlib.concurrent.lock.Lockable;
 import com.ss.rlib.concurrent.task.CallableTask;
@@ -69,6 +70,12 @@ public class SingleThreadTaskExecutor<L> implements TaskExecutor<L>, Runnable, L
     @NotNull
     private final Lock lock;
 
+    /**
+     * The metrics of this executor.
+     */
+    @Nullable
+    private volatile DefaultExecutorMetrics metrics;
+
     /**
      * Instantiates a new Single thread task executor.
      *
@@ -79,8 +86,8 @@ public class SingleThreadTaskExecutor<L> implements TaskExecutor<L>, Runnable, L
      */
     public SingleThreadTaskExecutor(@NotNull final Class<? extends Thread> threadClass, final int priority,
                                     @NotNull final String name, @Nullable final L local) {
-        this.waitTasks = ArrayFactory.newArray(SimpleTask.class);
-        this.executeTasks = ArrayFactory.newArray(SimpleTask.class);
+        this.waitTasks = ArrayFactory.newArray(CallableTask.class);
+        this.executeTasks = ArrayFactory.newArray(CallableTask.class);
         this.wait = new AtomicBoolean();
         this.lock = LockFactory.newAtomicLock();
 
@@ -107,10 +114,14 @@ public class SingleThreadTaskExecutor<L> implements TaskExecutor<L>, Runnable, L
 
     @Override
     public void execute(@NotNull final SimpleTask<L> task) {
+
+        final DefaultExecutorMetrics metrics = this.metrics;
+        final CallableTask<?, L> waitTask = metrics == null ? task : metrics.submit(task);
+
         lock();
         try {
 
-            waitTasks.add(task);
+            waitTasks.add(waitTask);
 
             if (wait.get()) {
                 synchronized (wait) {
@@ -125,6 +136,40 @@ public class SingleThreadTaskExecutor<L> implements TaskExecutor<L>, Runnable, L
         }
     }
 
+    /**
+     * Enable collecting metrics of this executor, tasks which were added before aren't measured.
+     *
+     * @return the metrics of this executor.
+     */
+    @NotNull
+    public ExecutorMetrics enableMetrics() {
+        lock();
+        try {
+
+            DefaultExecutorMetrics metrics = this.metrics;
+
+            if (metrics == null) {
+                metrics = new DefaultExecutorMetrics();
+                this.metrics = metrics;
+            }
+
+            return metrics;
+
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets metrics.
+     *
+     * @return the metrics of this executor or null if collecting metrics isn't enabled.
+     */
+    @Nullable
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Gets execute tasks.
      *
@@ -206,17 +251,16 @@ public class SingleThreadTaskExecutor<L> implements TaskExecutor<L>, Runnable, L
 
             if (executeTasks.isEmpty()) continue;
 
-            try {
-
-                final long currentTime = System.currentTimeMillis();
+            final long currentTime = System.currentTimeMillis();
 
-                for (final CallableTask<?, L> task : executeTasks.array()) {
-                    if (task == null) break;
+            // a failed task shouldn't interrupt executing of the rest of the packet
+            for (final CallableTask<?, L> task : executeTasks.array()) {
+                if (task == null) break;
+                try {
                     task.call(local, currentTime);
+                } catch (final Exception e) {
+                    LOGGER.warning(e);
                 }
-
-            } catch (final Exception e) {
-                LOGGER.warning(e);
             }
         }
     }
@@ -1,6 +1,7 @@
 package com.ss.rlib.concurrent.executor.impl;
 
 import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
 import com.ss.rlib.concurrent.executor.TaskExecutor;
 import com.ss.rlib.concurrent.lock.LockFactory;
 import com.ss.rlib.concurrent.lock.Lockable;
@@ -14,6 +15,7 @@ import com.ss.rlib.util.array.ArrayFactory;
 import com.ss.rlib.util.linkedlist.LinkedList;
 import com.ss.rlib.util.linkedlist.LinkedListFactory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -65,6 +67,12 @@ public class ThreadPoolTaskExecutor<L> implements TaskExecutor<L>, Runnable, Loc
      */
     private final int packetSize;
 
+    /**
+     * The metrics of this executor.
+     */
+    @Nullable
+    private volatile DefaultExecutorMetrics metrics;
+
     /**
      * Instantiates a new Thread pool task executor.
      *
@@ -91,10 +99,14 @@ public class ThreadPoolTaskExecutor<L> implements TaskExecutor<L>, Runnable, Loc
 
     @Override
     public void execute(@NotNull final SimpleTask<L> task) {
+
+        final DefaultExecutorMetrics metrics = this.metrics;
+        final CallableTask<?, L> waitTask = metrics == null ? task : metrics.submit(task);
+
         lock();
         try {
 
-            waitTasks.add(task);
+            waitTasks.add(waitTask);
 
             if (wait.get()) {
                 synchronized (wait) {
@@ -109,6 +121,40 @@ public class ThreadPoolTaskExecutor<L> implements TaskExecutor<L>, Runnable, Loc
         }
     }
 
+    /**
+     * Enable collecting metrics of this executor, tasks which were added before aren't measured.
+     *
+     * @return the metrics of this executor.
+     */
+    @NotNull
+    public ExecutorMetrics enableMetrics() {
+        lock();
+        try {
+
+            DefaultExecutorMetrics metrics = this.metrics;
+
+            if (metrics == null) {
+                metrics = new DefaultExecutorMetrics();
+                this.metrics = metrics;
+            }
+
+            return metrics;
+
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets metrics.
+     *
+     * @return the metrics of this executor or null if collecting metrics isn't enabled.
+     */
+    @Nullable
+    public ExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Get a local object container.
      *
@@ -193,17 +239,16 @@ public class ThreadPoolTaskExecutor<L> implements TaskExecutor<L>, Runnable, Loc
             }
 
             if (executeTasks.isEmpty()) continue;
-            try {
-
-                final long currentTime = System.currentTimeMillis();
+            final long currentTime = System.currentTimeMillis();
 
-                for (final CallableTask<?, L> task : executeTasks.array()) {
-                    if (task == null) break;
+            // a failed task shouldn't interrupt executing of the rest of the packet
+            for (final CallableTask<?, L> task : executeTasks.array()) {
+                if (task == null) break;
+                try {
                     task.call(local, currentTime);
+                } catch (final Exception e) {
+                    LOGGER.warning(e);
                 }
-
-            } catch (final Exception e) {
-                LOGGER.warning(e);
             }
         }
     }
@@ -0,0 +1,544 @@
+package com.ss.rlib.concurrent.executor.impl;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.PeriodicTaskExecutor;
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
+import com.ss.rlib.concurrent.task.PeriodicTask;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.ClassUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The implementation of a periodic task executor based on hierarchical timing wheels. Every task is executed with own
+ * {@link PeriodicTask#getPeriod()} and is placed to a wheel by the tick of its next execution, so a tick touches only
+ * tasks which should be executed in this tick. Adding and removing tasks cost O(1). Tasks are spread between threads
+ * by {@link PeriodicTask#getExecutorKey()}, every thread has own wheels and local objects. To get local objects of
+ * threads, the method {@link #getLocalObjects(Thread)} should be overridden.
+ *
+ * @param <T> the type parameter
+ * @param <L> the type parameter
+ * @author JavaSaBr
+ */
+public class TimingWheelPeriodicTaskExecutor<T extends PeriodicTask<L>, L> implements PeriodicTaskExecutor<T, L> {
+
+    /**
+     * The constant LOGGER.
+     */
+    protected static final Logger LOGGER = LoggerManager.getLogger(TimingWheelPeriodicTaskExecutor.class);
+
+    /**
+     * The count of bits of an index of a slot of a wheel.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * The count of slots of a wheel.
+     */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * The mask to get an index of a slot.
+     */
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /**
+     * The count of wheels, the last wheel covers 2^24 ticks.
+     */
+    private static final int LEVELS = 4;
+
+    /**
+     * The max distance in ticks to place a task to the wheels.
+     */
+    private static final long MAX_DISTANCE = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * The entry of a task.
+     */
+    private final class Entry {
+
+        /**
+         * The task.
+         */
+        @NotNull
+        private final T task;
+
+        /**
+         * The shard which executes the task.
+         */
+        @NotNull
+        private final Shard shard;
+
+        /**
+         * The previous entry in the slot.
+         */
+        @Nullable
+        private Entry prev;
+
+        /**
+         * The next entry in the slot.
+         */
+        @Nullable
+        private Entry next;
+
+        /**
+         * The tick of the next executing.
+         */
+        private long deadlineTick;
+
+        /**
+         * The index of the slot in all wheels or -1.
+         */
+        private int slot;
+
+        /**
+         * The flag of removing the task.
+         */
+        private volatile boolean cancelled;
+
+        private Entry(@NotNull final T task, @NotNull final Shard shard) {
+            this.task = task;
+            this.shard = shard;
+            this.slot = -1;
+        }
+    }
+
+    /**
+     * The thread with own timing wheels.
+     */
+    private final class Shard implements Runnable {
+
+        /**
+         * The queue of added and removed entries.
+         */
+        @NotNull
+        private final MPSCLinkedQueue<Entry> changes;
+
+        /**
+         * The slots of all wheels.
+         */
+        @NotNull
+        private final Entry[] slots;
+
+        /**
+         * The thread of this shard.
+         */
+        @NotNull
+        private final Thread thread;
+
+        /**
+         * The next tick to process.
+         */
+        private long currentTick;
+
+        /**
+         * The count of tasks in the wheels.
+         */
+        private int size;
+
+        /**
+         * The flag of sleeping without tasks.
+         */
+        private volatile boolean sleeping;
+
+        private Shard(@NotNull final GroupThreadFactory threadFactory) {
+            this.changes = new MPSCLinkedQueue<>();
+            this.slots = ClassUtils.unsafeCast(new TimingWheelPeriodicTaskExecutor<?, ?>.Entry[SLOTS * LEVELS]);
+            this.thread = threadFactory.newThread(this);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Notify this shard about added or removed task.
+         *
+         * @param entry the entry of the task.
+         */
+        private void notifyChange(@NotNull final Entry entry) {
+
+            changes.offer(entry);
+
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            final L local = getLocalObjects(thread);
+
+            while (true) {
+                try {
+
+                    final long now = getCurrentTime();
+                    final long targetTick = (now - startTime) / tickDuration;
+
+                    applyChanges(targetTick);
+
+                    if (size < 1) {
+                        // the wheels are empty, so ticks can be skipped
+                        currentTick = targetTick + 1;
+                        await();
+                        continue;
+                    }
+
+                    while (currentTick <= targetTick) {
+                        processTick(local, now, targetTick);
+                    }
+
+                    final long delay = startTime + currentTick * tickDuration - getCurrentTime();
+
+                    if (delay > 0) {
+                        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(delay));
+                    }
+
+                } catch (final Exception e) {
+                    LOGGER.warning(TimingWheelPeriodicTaskExecutor.this, e);
+                }
+            }
+        }
+
+        /**
+         * Wait for new tasks.
+         */
+        private void await() {
+
+            sleeping = true;
+            try {
+                // a task could be added before this shard was marked as sleeping
+                if (changes.isEmpty()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                sleeping = false;
+            }
+        }
+
+        /**
+         * Put added entries to the wheels and remove cancelled entries from the wheels.
+         *
+         * @param targetTick the current tick.
+         */
+        private void applyChanges(final long targetTick) {
+            for (Entry entry = changes.poll(); entry != null; entry = changes.poll()) {
+                if (entry.cancelled) {
+                    if (entry.slot != -1) remove(entry);
+                } else if (entry.slot == -1) {
+                    entry.deadlineTick = Math.max(targetTick, currentTick);
+                    add(entry);
+                }
+            }
+        }
+
+        /**
+         * Process the next tick.
+         *
+         * @param local      the thread local objects.
+         * @param now        the current time.
+         * @param targetTick the current tick.
+         */
+        private void processTick(@NotNull final L local, final long now, final long targetTick) {
+
+            final long tick = currentTick;
+            final int index = (int) (tick & SLOT_MASK);
+
+            // move tasks from the upper wheel when this wheel makes a full turn
+            for (int level = 1; level < LEVELS; level++) {
+
+                if (((tick >>> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0) break;
+
+                cascade(level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            }
+
+            Entry entry = slots[index];
+
+            // the slot is detached before executing, so the tasks can be added back to the wheels
+            slots[index] = null;
+            currentTick = tick + 1;
+
+            while (entry != null) {
+
+                final Entry next = entry.next;
+
+                entry.prev = null;
+                entry.next = null;
+                entry.slot = -1;
+                size--;
+
+                if (entry.cancelled) {
+                    entry = next;
+                    continue;
+                } else if (entry.deadlineTick > tick) {
+                    add(entry);
+                    entry = next;
+                    continue;
+                }
+
+                execute(entry, local, now, targetTick);
+                entry = next;
+            }
+        }
+
+        /**
+         * Execute the task of the entry and schedule its next executing.
+         *
+         * @param entry      the entry.
+         * @param local      the thread local objects.
+         * @param now        the current time.
+         * @param targetTick the current tick.
+         */
+        private void execute(@NotNull final Entry entry, @NotNull final L local, final long now,
+                             final long targetTick) {
+
+            final T task = entry.task;
+
+            boolean finished = false;
+            try {
+                finished = task.call(local, now) == Boolean.TRUE;
+            } catch (final Exception e) {
+                LOGGER.warning(TimingWheelPeriodicTaskExecutor.this, e);
+            }
+
+            if (!finished && !entry.cancelled) {
+                entry.deadlineTick = Math.max(targetTick, entry.deadlineTick) + toTicks(task.getPeriod());
+                add(entry);
+                return;
+            }
+
+            entries.remove(task, entry);
+
+            if (!finished) {
+                return;
+            }
+
+            try {
+                task.onFinish(local);
+            } catch (final Exception e) {
+                LOGGER.warning(TimingWheelPeriodicTaskExecutor.this, e);
+            }
+        }
+
+        /**
+         * Move all entries from the slot of an upper wheel to lower wheels.
+         *
+         * @param slot the index of the slot.
+         */
+        private void cascade(final int slot) {
+
+            Entry entry = slots[slot];
+            slots[slot] = null;
+
+            while (entry != null) {
+
+                final Entry next = entry.next;
+
+                entry.prev = null;
+                entry.next = null;
+                entry.slot = -1;
+                size--;
+
+                if (!entry.cancelled) {
+                    add(entry);
+                }
+
+                entry = next;
+            }
+        }
+
+        /**
+         * Put the entry to a slot by its deadline.
+         *
+         * @param entry the entry.
+         */
+        private void add(@NotNull final Entry entry) {
+
+            final long currentTick = this.currentTick;
+            final long distance = entry.deadlineTick - currentTick;
+
+            // entries which are too far are placed to the last slots and are moved again when they come
+            final long tick = distance < 0 ? currentTick : currentTick + Math.min(distance, MAX_DISTANCE);
+            final long range = Math.max(tick - currentTick, 0);
+
+            int level = 0;
+
+            while (level < LEVELS - 1 && range >= 1L << (SLOT_BITS * (level + 1))) {
+                level++;
+            }
+
+            final int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            final Entry head = slots[slot];
+
+            entry.slot = slot;
+            entry.prev = null;
+            entry.next = head;
+
+            if (head != null) {
+                head.prev = entry;
+            }
+
+            slots[slot] = entry;
+            size++;
+        }
+
+        /**
+         * Remove the entry from its slot.
+         *
+         * @param entry the entry.
+         */
+        private void remove(@NotNull final Entry entry) {
+
+            final Entry prev = entry.prev;
+            final Entry next = entry.next;
+
+            if (prev == null) {
+                slots[entry.slot] = next;
+            } else {
+                prev.next = next;
+            }
+
+            if (next != null) {
+                next.prev = prev;
+            }
+
+            entry.prev = null;
+            entry.next = null;
+            entry.slot = -1;
+            size--;
+        }
+    }
+
+    /**
+     * The entries of added tasks.
+     */
+    @NotNull
+    private final ConcurrentHashMap<T, Entry> entries;
+
+    /**
+     * The shards of tasks.
+     */
+    @NotNull
+    private final Shard[] shards;
+
+    /**
+     * The duration of a tick in ms.
+     */
+    private final long tickDuration;
+
+    /**
+     * The time of the zero tick.
+     */
+    private final long startTime;
+
+    /**
+     * Instantiates a new Timing wheel periodic task executor.
+     *
+     * @param threadFactory the thread factory.
+     * @param poolSize      the count of threads.
+     * @param tickDuration  the duration of a tick in ms, it's the precision of periods of tasks.
+     */
+    public TimingWheelPeriodicTaskExecutor(@NotNull final GroupThreadFactory threadFactory, final int poolSize,
+                                           final long tickDuration) {
+
+        if (poolSize < 1 || tickDuration < 1) {
+            throw new IllegalArgumentException("the pool size and the tick duration should be more than 0.");
+        }
+
+        this.entries = new ConcurrentHashMap<>();
+        this.tickDuration = tickDuration;
+        this.startTime = getCurrentTime();
+        this.shards = ClassUtils.unsafeCast(new TimingWheelPeriodicTaskExecutor<?, ?>.Shard[poolSize]);
+
+        for (int i = 0; i < poolSize; i++) {
+            shards[i] = new Shard(threadFactory);
+        }
+
+        for (final Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Convert the period to a count of ticks.
+     *
+     * @param period the period in ms.
+     * @return the count of ticks.
+     */
+    private long toTicks(final long period) {
+        return Math.max((period + tickDuration - 1) / tickDuration, 1);
+    }
+
+    @Override
+    public void addTask(@NotNull final T task) {
+
+        final Shard shard = shards[(task.getExecutorKey() & Integer.MAX_VALUE) % shards.length];
+        final Entry entry = new Entry(task, shard);
+
+        if (entries.putIfAbsent(task, entry) == null) {
+            shard.notifyChange(entry);
+        }
+    }
+
+    @Override
+    public void removeTask(@NotNull final T task) {
+
+        final Entry entry = entries.remove(task);
+
+        if (entry != null) {
+            entry.cancelled = true;
+            entry.shard.notifyChange(entry);
+        }
+    }
+
+    /**
+     * Get a local object container.
+     *
+     * @param thread the thread.
+     * @return the local object container of the thread.
+     */
+    @NotNull
+    protected L getLocalObjects(@NotNull final Thread thread) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets current time. It's called by the constructor to get the time of the zero tick, so an overridden method
+     * shouldn't use fields of a subclass.
+     *
+     * @return the current time in ms.
+     */
+    protected long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Gets tick duration.
+     *
+     * @return the duration of a tick in ms.
+     */
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Get a count of added tasks.
+     *
+     * @return the count of added tasks.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TimingWheelPeriodicTaskExecutor{" +
+                "poolSize=" + shards.length +
+                ", tickDuration=" + tickDuration +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,214 @@
+package com.ss.rlib.concurrent.executor.impl;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.TaskExecutor;
+import com.ss.rlib.concurrent.task.CallableTask;
+import com.ss.rlib.concurrent.task.SimpleTask;
+import com.ss.rlib.concurrent.util.ThreadUtils;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.pools.Pool;
+import com.ss.rlib.util.pools.PoolFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The implementation of a task executor for blocking tasks which runs every task on a new virtual thread if the
+ * runtime supports them, otherwise tasks are executed by a bounded pool of daemon threads. The count of executing
+ * tasks is limited by a semaphore, so this executor never uses more than the max concurrency count of local objects,
+ * local objects are taken from a pool before executing a task and are returned to the pool after that.
+ *
+ * @param <L> the type parameter
+ * @author JavaSaBr
+ */
+public class VirtualThreadTaskExecutor<L> implements TaskExecutor<L> {
+
+    /**
+     * The constant LOGGER.
+     */
+    protected static final Logger LOGGER = LoggerManager.getLogger(VirtualThreadTaskExecutor.class);
+
+    /**
+     * The executor which starts threads for tasks.
+     */
+    @NotNull
+    private final Executor executor;
+
+    /**
+     * The semaphore to limit the count of executing tasks.
+     */
+    @NotNull
+    private final Semaphore semaphore;
+
+    /**
+     * The pool of local objects.
+     */
+    @NotNull
+    private final Pool<L> locals;
+
+    /**
+     * The factory of local objects.
+     */
+    @NotNull
+    private final Supplier<L> localFactory;
+
+    /**
+     * The max count of executing tasks.
+     */
+    private final int maxConcurrency;
+
+    /**
+     * The flag of using virtual threads.
+     */
+    private final boolean virtual;
+
+    /**
+     * Instantiates a new Virtual thread task executor.
+     *
+     * @param name           the name of threads
+     * @param maxConcurrency the max count of executing tasks
+     * @param localFactory   the factory of local objects
+     */
+    public VirtualThreadTaskExecutor(@NotNull final String name, final int maxConcurrency,
+                                     @NotNull final Supplier<L> localFactory) {
+
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("the max concurrency should be more than 0.");
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        this.localFactory = localFactory;
+        this.semaphore = new Semaphore(maxConcurrency);
+        this.locals = PoolFactory.newConcurrentAtomicARSWLockPool(Object.class);
+
+        final ThreadFactory virtualFactory = ThreadUtils.newVirtualThreadFactory(name);
+
+        if (virtualFactory != null) {
+            this.virtual = true;
+            this.executor = runnable -> virtualFactory.newThread(runnable).start();
+        } else {
+            this.virtual = false;
+            this.executor = newThreadPool(name, maxConcurrency);
+        }
+    }
+
+    /**
+     * Create a bounded pool of daemon threads.
+     *
+     * @param name     the name of threads.
+     * @param poolSize the pool size.
+     * @return the new pool.
+     */
+    @NotNull
+    private static ThreadPoolExecutor newThreadPool(@NotNull final String name, final int poolSize) {
+
+        final GroupThreadFactory groupFactory = new GroupThreadFactory(name, Thread.class, Thread.NORM_PRIORITY);
+
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = groupFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public void execute(@NotNull final SimpleTask<L> task) {
+        executor.execute(() -> run(task));
+    }
+
+    @NotNull
+    @Override
+    public <R> Future<R> submit(@NotNull final CallableTask<R, L> task) {
+
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        executor.execute(() -> run((local, currentTime) -> {
+
+            // the future could be cancelled while the task was waiting
+            if (future.isDone()) return null;
+
+            try {
+                future.complete(task.call(local, currentTime));
+            } catch (final Throwable e) {
+                future.completeExceptionally(e);
+            }
+
+            return null;
+        }));
+
+        return future;
+    }
+
+    /**
+     * Execute the task with a pooled local object.
+     *
+     * @param task the task.
+     */
+    private void run(@NotNull final CallableTask<?, L> task) {
+
+        semaphore.acquireUninterruptibly();
+        try {
+
+            final L local = locals.take(localFactory);
+            try {
+                task.call(local, System.currentTimeMillis());
+            } catch (final Exception e) {
+                LOGGER.warning(e);
+            } finally {
+                locals.put(local);
+            }
+
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Is virtual boolean.
+     *
+     * @return true if tasks are executed on virtual threads.
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Gets max concurrency.
+     *
+     * @return the max count of executing tasks.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Get a count of executing tasks.
+     *
+     * @return the count of executing tasks.
+     */
+    public int getExecutingTasks() {
+        return maxConcurrency - semaphore.availablePermits();
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadTaskExecutor{" +
+                "maxConcurrency=" + maxConcurrency +
+                ", virtual=" + virtual +
+                ", executingTasks=" + getExecutingTasks() +
+                '}';
+    }
+}
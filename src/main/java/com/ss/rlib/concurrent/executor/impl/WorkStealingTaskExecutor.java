@@ -0,0 +1,395 @@
+package com.ss.rlib.concurrent.executor.impl;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.TaskExecutor;
+import com.ss.rlib.concurrent.task.CallableTask;
+import com.ss.rlib.concurrent.task.SimpleTask;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.util.ClassUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The implementation of a multi-thread task executor where every thread has own deque of tasks. A thread executes
+ * tasks from own deque by packets and steals tasks from deques of other threads when own deque is empty, so
+ * submitting tasks doesn't contend on one shared list. Only one idle thread is woken up per a submitted task. To get
+ * local objects of threads, the method {@link #getLocalObjects(Thread)} should be overridden.
+ *
+ * @param <L> the type parameter
+ * @author JavaSaBr
+ */
+public class WorkStealingTaskExecutor<L> implements TaskExecutor<L> {
+
+    /**
+     * The constant LOGGER.
+     */
+    protected static final Logger LOGGER = LoggerManager.getLogger(WorkStealingTaskExecutor.class);
+
+    /**
+     * The working thread with own deque of tasks.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The deque of waiting tasks of this worker.
+         */
+        @NotNull
+        private final Deque<CallableTask<?, L>> tasks;
+
+        /**
+         * The flag of waiting for new tasks.
+         */
+        @NotNull
+        private final AtomicBoolean idle;
+
+        /**
+         * The thread of this worker.
+         */
+        @NotNull
+        private final Thread thread;
+
+        private Worker(@NotNull final GroupThreadFactory threadFactory) {
+            this.tasks = new ConcurrentLinkedDeque<>();
+            this.idle = new AtomicBoolean();
+            this.thread = threadFactory.newThread(this);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Wake up this worker if it's waiting for new tasks.
+         *
+         * @return true if this worker was woken up by this call.
+         */
+        private boolean wakeUp() {
+
+            if (!idle.get() || !idle.compareAndSet(true, false)) {
+                return false;
+            }
+
+            idleWorkers.decrementAndGet();
+            LockSupport.unpark(thread);
+            return true;
+        }
+
+        /**
+         * Wait for new tasks.
+         */
+        private void await() {
+
+            idle.set(true);
+            idleWorkers.incrementAndGet();
+
+            // a task could be added before this worker was marked as idle
+            if (hasTasks() && idle.compareAndSet(true, false)) {
+                idleWorkers.decrementAndGet();
+                return;
+            }
+
+            while (idle.get()) {
+                LockSupport.park(this);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            currentWorker.set(this);
+
+            final Array<CallableTask<?, L>> executeTasks = ArrayFactory.newArray(CallableTask.class);
+            final L local = getLocalObjects(thread);
+
+            while (true) {
+
+                executeTasks.clear();
+
+                if (!pollTasks(executeTasks) && !stealTasks(executeTasks)) {
+                    await();
+                    continue;
+                }
+
+                final long currentTime = System.currentTimeMillis();
+
+                for (final CallableTask<?, L> task : executeTasks.array()) {
+                    if (task == null) break;
+                    try {
+                        task.call(local, currentTime);
+                    } catch (final Exception e) {
+                        LOGGER.warning(e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Take a packet of tasks from own deque.
+         *
+         * @param container the container of tasks.
+         * @return true if some tasks were taken.
+         */
+        private boolean pollTasks(@NotNull final Array<CallableTask<?, L>> container) {
+
+            for (int i = 0; i < packetSize; i++) {
+
+                final CallableTask<?, L> task = tasks.pollFirst();
+                if (task == null) break;
+
+                container.add(task);
+            }
+
+            return !container.isEmpty();
+        }
+
+        /**
+         * Steal a half of a packet of the newest tasks from a deque of other worker.
+         *
+         * @param container the container of tasks.
+         * @return true if some tasks were stolen.
+         */
+        private boolean stealTasks(@NotNull final Array<CallableTask<?, L>> container) {
+
+            final Worker[] workers = WorkStealingTaskExecutor.this.workers;
+            final int length = workers.length;
+            final int start = ThreadLocalRandom.current().nextInt(length);
+            final int limit = Math.max(packetSize >> 1, 1);
+
+            for (int i = 0; i < length; i++) {
+
+                final Worker victim = workers[(start + i) % length];
+                if (victim == this) continue;
+
+                for (int g = 0; g < limit; g++) {
+
+                    final CallableTask<?, L> task = victim.tasks.pollLast();
+                    if (task == null) break;
+
+                    container.add(task);
+                }
+
+                if (!container.isEmpty()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The worker of the current thread.
+     */
+    @NotNull
+    private final ThreadLocal<Worker> currentWorker;
+
+    /**
+     * The workers.
+     */
+    @NotNull
+    private final Worker[] workers;
+
+    /**
+     * The count of idle workers.
+     */
+    @NotNull
+    private final AtomicInteger idleWorkers;
+
+    /**
+     * The count of executing tasks per thread.
+     */
+    private final int packetSize;
+
+    /**
+     * Instantiates a new Work stealing task executor.
+     *
+     * @param threadFactory the thread factory
+     * @param poolSize      the pool size
+     * @param packetSize    the packet size
+     */
+    public WorkStealingTaskExecutor(@NotNull final GroupThreadFactory threadFactory, final int poolSize,
+                                    final int packetSize) {
+
+        if (poolSize < 1 || packetSize < 1) {
+            throw new IllegalArgumentException("the pool size and the packet size should be more than 0.");
+        }
+
+        this.currentWorker = new ThreadLocal<>();
+        this.idleWorkers = new AtomicInteger();
+        this.packetSize = packetSize;
+        this.workers = ClassUtils.unsafeCast(new WorkStealingTaskExecutor<?>.Worker[poolSize]);
+
+        for (int i = 0; i < poolSize; i++) {
+            workers[i] = new Worker(threadFactory);
+        }
+
+        for (final Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void execute(@NotNull final SimpleTask<L> task) {
+        addTask(task);
+    }
+
+    /**
+     * Add the task to a deque of a worker and wake up an idle worker if it's needed.
+     *
+     * @param task the task.
+     */
+    private void addTask(@NotNull final CallableTask<?, L> task) {
+
+        // tasks of a working thread are added to own deque, other tasks are added to an idle worker if there is one
+        Worker target = currentWorker.get();
+
+        if (target == null) {
+            target = idleWorkers.get() > 0 ? findIdleWorker() : null;
+        }
+
+        if (target == null) {
+            target = workers[ThreadLocalRandom.current().nextInt(workers.length)];
+        }
+
+        target.tasks.offerLast(task);
+
+        if (idleWorkers.get() > 0 && !target.wakeUp()) {
+            wakeUpWorker();
+        }
+    }
+
+    /**
+     * Find an idle worker.
+     *
+     * @return the idle worker or null.
+     */
+    @Nullable
+    private Worker findIdleWorker() {
+
+        final Worker[] workers = this.workers;
+        final int length = workers.length;
+        final int start = ThreadLocalRandom.current().nextInt(length);
+
+        for (int i = 0; i < length; i++) {
+            final Worker worker = workers[(start + i) % length];
+            if (worker.idle.get()) return worker;
+        }
+
+        return null;
+    }
+
+    /**
+     * Wake up one idle worker.
+     */
+    private void wakeUpWorker() {
+
+        final Worker[] workers = this.workers;
+        final int length = workers.length;
+        final int start = ThreadLocalRandom.current().nextInt(length);
+
+        for (int i = 0; i < length && idleWorkers.get() > 0; i++) {
+            if (workers[(start + i) % length].wakeUp()) return;
+        }
+    }
+
+    /**
+     * Check existing of waiting tasks.
+     *
+     * @return true if any worker has waiting tasks.
+     */
+    private boolean hasTasks() {
+
+        for (final Worker worker : workers) {
+            if (!worker.tasks.isEmpty()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Get a local object container.
+     *
+     * @param thread the thread.
+     * @return the local object container of the thread.
+     */
+    @NotNull
+    protected L getLocalObjects(@NotNull final Thread thread) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets packet size.
+     *
+     * @return the count of executing tasks per thread.
+     */
+    public int getPacketSize() {
+        return packetSize;
+    }
+
+    /**
+     * Gets pool size.
+     *
+     * @return the count of working threads.
+     */
+    public int getPoolSize() {
+        return workers.length;
+    }
+
+    /**
+     * Get a count of waiting tasks.
+     *
+     * @return the count of waiting tasks.
+     */
+    public int getWaitTasks() {
+
+        int count = 0;
+
+        for (final Worker worker : workers) {
+            count += worker.tasks.size();
+        }
+
+        return count;
+    }
+
+    @NotNull
+    @Override
+    public <R> Future<R> submit(@NotNull final CallableTask<R, L> task) {
+
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        addTask((local, currentTime) -> {
+
+            // the future could be cancelled while the task was waiting
+            if (future.isDone()) return null;
+
+            try {
+                future.complete(task.call(local, currentTime));
+            } catch (final Throwable e) {
+                future.completeExceptionally(e);
+            }
+
+            return null;
+        });
+
+        return future;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingTaskExecutor{" +
+                "poolSize=" + workers.length +
+                ", packetSize=" + packetSize +
+                ", idleWorkers=" + idleWorkers +
+                ", waitTasks=" + getWaitTasks() +
+                '}';
+    }
+}
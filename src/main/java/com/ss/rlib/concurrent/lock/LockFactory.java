@@ -22,6 +22,15 @@ public class LockFactory {
         return new ReentrantARSWLock();
     }
 
+    /**
+     * Create a new {@link StripedARSWLock}.
+     *
+     * @return the new lock.
+     */
+    public static AsyncReadSyncWriteLock newStripedARSWLock() {
+        return new StripedARSWLock();
+    }
+
     /**
      * Create a new {@link FinalStampedLock}.
      *
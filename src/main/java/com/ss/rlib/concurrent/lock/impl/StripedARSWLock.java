@@ -0,0 +1,298 @@
+package com.ss.rlib.concurrent.lock.impl;
+
+import com.ss.rlib.concurrent.lock.AsyncReadSyncWriteLock;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The implementation of the {@link AsyncReadSyncWriteLock} with striped counters of readers. Every reader changes
+ * only a counter of own stripe, so readers on different cores don't contend on one cache line, and a writer waits for
+ * zero sum of all counters. Waiting threads spin a bounded adaptive count of iterations and then park.
+ * <p>
+ * A pending writer stops new readers, so writers aren't starved by readers. Readers which waited for a writer enter
+ * before the next writer, so readers aren't starved by writers. Reentrant calls aren't supported and a read lock
+ * should be released by the same thread which acquired it.
+ *
+ * @author JavaSaBr
+ */
+public class StripedARSWLock implements AsyncReadSyncWriteLock {
+
+    /**
+     * The count of long elements between counters of stripes to place them to different cache lines.
+     */
+    private static final int PADDING = 16;
+
+    /**
+     * The max count of stripes.
+     */
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * The min count of spins before parking.
+     */
+    private static final int MIN_SPINS = 1 << 4;
+
+    /**
+     * The max count of spins before parking.
+     */
+    private static final int MAX_SPINS = 1 << 10;
+
+    private static final int STATUS_WRITE_UNLOCKED = 0;
+    private static final int STATUS_WRITE_LOCKED = 1;
+
+    /**
+     * The counters of readers by stripes.
+     */
+    @NotNull
+    private final AtomicLongArray readers;
+
+    /**
+     * The count of readers which are waiting for a writer.
+     */
+    @NotNull
+    private final AtomicInteger waitingReaders;
+
+    /**
+     * The parked readers.
+     */
+    @NotNull
+    private final Queue<Thread> parkedReaders;
+
+    /**
+     * The lock to order writers.
+     */
+    @NotNull
+    private final Lock writerLock;
+
+    /**
+     * The mask to get a stripe.
+     */
+    private final int mask;
+
+    /**
+     * The current writer or null.
+     */
+    @Nullable
+    private volatile Thread writer;
+
+    /**
+     * The status of writing.
+     */
+    private volatile int writeStatus;
+
+    /**
+     * The flag of giving a turn to readers which waited for the previous writer.
+     */
+    private volatile boolean readerTurn;
+
+    /**
+     * The adaptive count of spins before parking.
+     */
+    private int spins;
+
+    /**
+     * Instantiates a new Striped ARSW lock with stripes by count of available processors.
+     */
+    public StripedARSWLock() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Instantiates a new Striped ARSW lock.
+     *
+     * @param stripes the min count of stripes.
+     */
+    public StripedARSWLock(final int stripes) {
+
+        int size = 1;
+
+        while (size < stripes && size < MAX_STRIPES) {
+            size <<= 1;
+        }
+
+        this.readers = new AtomicLongArray(size * PADDING);
+        this.waitingReaders = new AtomicInteger();
+        this.parkedReaders = new ConcurrentLinkedQueue<>();
+        this.writerLock = new ReentrantLock();
+        this.mask = size - 1;
+        this.spins = MIN_SPINS;
+    }
+
+    /**
+     * Get an index of a counter of the current thread.
+     *
+     * @return the index of the counter.
+     */
+    private int getIndex() {
+        final long id = Thread.currentThread().getId();
+        return ((int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask) * PADDING;
+    }
+
+    @Override
+    public void asyncLock() {
+
+        final int index = getIndex();
+
+        if (!tryAsyncLock(index)) {
+            awaitReading(index);
+        }
+    }
+
+    /**
+     * Try to lock reading if there is no writer.
+     *
+     * @param index the index of the counter of the current thread.
+     * @return true if reading was locked.
+     */
+    private boolean tryAsyncLock(final int index) {
+
+        if (writeStatus != STATUS_WRITE_UNLOCKED) {
+            return false;
+        }
+
+        readers.incrementAndGet(index);
+
+        if (writeStatus == STATUS_WRITE_UNLOCKED) {
+            return true;
+        }
+
+        // a writer has come, so it should be notified about leaving this reader
+        readers.decrementAndGet(index);
+        unparkWriter();
+
+        return false;
+    }
+
+    /**
+     * Wait for unlocking writing and lock reading.
+     *
+     * @param index the index of the counter of the current thread.
+     */
+    private void awaitReading(final int index) {
+
+        final Thread thread = Thread.currentThread();
+        final int spins = this.spins;
+
+        waitingReaders.incrementAndGet();
+        try {
+
+            for (int i = 0; ; i++) {
+
+                if (tryAsyncLock(index)) {
+                    if (i <= spins) this.spins = Math.min(spins << 1, MAX_SPINS);
+                    return;
+                } else if (i < spins) {
+                    continue;
+                }
+
+                parkedReaders.add(thread);
+
+                if (writeStatus == STATUS_WRITE_UNLOCKED) {
+                    parkedReaders.remove(thread);
+                    continue;
+                }
+
+                this.spins = Math.max(spins >>> 1, MIN_SPINS);
+                LockSupport.park(this);
+            }
+
+        } finally {
+            if (waitingReaders.decrementAndGet() == 0 && readerTurn) {
+                unparkWriter();
+            }
+        }
+    }
+
+    @Override
+    public void asyncUnlock() {
+
+        readers.decrementAndGet(getIndex());
+
+        if (writeStatus != STATUS_WRITE_UNLOCKED) {
+            unparkWriter();
+        }
+    }
+
+    /**
+     * Unpark a writer which is waiting for readers.
+     */
+    private void unparkWriter() {
+
+        final Thread writer = this.writer;
+
+        if (writer != null) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Get a count of readers.
+     *
+     * @return the count of readers.
+     */
+    private long getReaders() {
+
+        final AtomicLongArray readers = this.readers;
+
+        long sum = 0;
+
+        for (int i = 0, length = readers.length(); i < length; i += PADDING) {
+            sum += readers.get(i);
+        }
+
+        return sum;
+    }
+
+    @Override
+    public void syncLock() {
+
+        writerLock.lock();
+
+        writer = Thread.currentThread();
+
+        final int spins = this.spins;
+
+        // readers which waited for the previous writer go first
+        for (int i = 0; readerTurn && waitingReaders.get() > 0; i++) {
+            if (i >= spins) LockSupport.park(this);
+        }
+
+        readerTurn = false;
+        writeStatus = STATUS_WRITE_LOCKED;
+
+        for (int i = 0; getReaders() != 0; i++) {
+            if (i >= spins) LockSupport.park(this);
+        }
+    }
+
+    @Override
+    public void syncUnlock() {
+
+        readerTurn = waitingReaders.get() > 0;
+        writeStatus = STATUS_WRITE_UNLOCKED;
+        writer = null;
+
+        for (Thread thread = parkedReaders.poll(); thread != null; thread = parkedReaders.poll()) {
+            LockSupport.unpark(thread);
+        }
+
+        writerLock.unlock();
+    }
+
+    @Override
+    public String toString() {
+        return "StripedARSWLock{" +
+                "readers=" + getReaders() +
+                ", waitingReaders=" + waitingReaders +
+                ", writeStatus=" + writeStatus +
+                '}';
+    }
+}
@@ -0,0 +1,131 @@
+package com.ss.rlib.concurrent.queue;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The lock-free unbounded queue for multiple producers and a single consumer. Any thread can add elements to this
+ * queue, but only one thread at the same time can take elements from this queue.
+ *
+ * @param <E> the type of elements
+ * @author JavaSaBr
+ */
+public class MPSCLinkedQueue<E> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MPSCLinkedQueue, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(MPSCLinkedQueue.class, Node.class, "head");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+    /**
+     * The node of this queue.
+     *
+     * @param <E> the type of an element
+     */
+    private static final class Node<E> {
+
+        /**
+         * The next node.
+         */
+        @Nullable
+        volatile Node<E> next;
+
+        /**
+         * The element.
+         */
+        @Nullable
+        E item;
+
+        Node(@Nullable final E item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * The last added node, it's updated by producers.
+     */
+    @NotNull
+    private volatile Node<E> head;
+
+    /**
+     * The last taken node, it's updated only by the consumer.
+     */
+    @NotNull
+    private Node<E> tail;
+
+    /**
+     * Instantiates a new MPSC linked queue.
+     */
+    public MPSCLinkedQueue() {
+        final Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = stub;
+    }
+
+    /**
+     * Add an element to the end of this queue. Can be called by any thread.
+     *
+     * @param element the element.
+     */
+    @SuppressWarnings("unchecked")
+    public void offer(@NotNull final E element) {
+        final Node<E> node = new Node<>(element);
+        final Node<E> prev = HEAD.getAndSet(this, node);
+        NEXT.lazySet(prev, node);
+    }
+
+    /**
+     * Take an element from the start of this queue. Can be called only by the consumer.
+     *
+     * @return the element or null if this queue is empty or the next element is not linked yet.
+     */
+    @Nullable
+    public E poll() {
+
+        final Node<E> next = tail.next;
+        if (next == null) return null;
+
+        final E item = next.item;
+        next.item = null;
+        tail = next;
+
+        return item;
+    }
+
+    /**
+     * Get an element from the start of this queue without removing. Can be called only by the consumer.
+     *
+     * @return the element or null if this queue is empty or the next element is not linked yet.
+     */
+    @Nullable
+    public E peek() {
+        final Node<E> next = tail.next;
+        return next == null ? null : next.item;
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return true if this queue doesn't have added elements including elements which are not linked yet.
+     */
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * Remove all elements from this queue. Can be called only by the consumer.
+     */
+    public void clear() {
+        while (poll() != null) ;
+    }
+
+    @Override
+    public String toString() {
+        return "MPSCLinkedQueue{" + "empty=" + isEmpty() + '}';
+    }
+}
@@ -16,6 +16,24 @@ public interface PeriodicTask<L> extends CallableTask<Boolean, L> {
         return Boolean.FALSE;
     }
 
+    /**
+     * Get a period of executing this task in ms, 0 means executing on every tick of an executor.
+     *
+     * @return the period of executing this task in ms.
+     */
+    default long getPeriod() {
+        return 0;
+    }
+
+    /**
+     * Get a key to choose a thread of an executor, tasks with the same key are executed by the same thread.
+     *
+     * @return the key of this task.
+     */
+    default int getExecutorKey() {
+        return hashCode();
+    }
+
     /**
      * Notify about finishing this task.
      *
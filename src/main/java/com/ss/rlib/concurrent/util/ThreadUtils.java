@@ -2,6 +2,11 @@ package com.ss.rlib.concurrent.util;
 
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * The class with utilities methods to work with threads.
@@ -24,4 +29,29 @@ public class ThreadUtils {
             LOGGER.warning(e);
         }
     }
+
+    /**
+     * Create a factory of virtual threads if the runtime supports them. The factory is looked up by reflection, so
+     * this method can be used on any version of Java.
+     *
+     * @param name the prefix of names of threads.
+     * @return the factory of virtual threads or null if virtual threads aren't supported.
+     */
+    public static @Nullable ThreadFactory newVirtualThreadFactory(@NotNull final String name) {
+        try {
+
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Method setName = builderType.getMethod("name", String.class, long.class);
+            final Method factory = builderType.getMethod("factory");
+
+            final Object builder = setName.invoke(ofVirtual.invoke(null), name + "-", 1L);
+
+            return (ThreadFactory) factory.invoke(builder);
+
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // virtual threads aren't available or they are a preview feature which isn't enabled
+            return null;
+        }
+    }
 }
@@ -65,13 +65,13 @@ public class LoggerManager {
      * The list of listeners.
      */
     @NotNull
-    private static final ConcurrentArray<LoggerListener> LISTENERS = ArrayFactory.newConcurrentAtomicARSWLockArray(LoggerListener.class);
+    private static final ConcurrentArray<LoggerListener> LISTENERS = ArrayFactory.newConcurrentCopyOnWriteArray(LoggerListener.class);
 
     /**
      * The list of writers.
      */
     @NotNull
-    private static final ConcurrentArray<Writer> WRITERS = ArrayFactory.newConcurrentAtomicARSWLockArray(Writer.class);
+    private static final ConcurrentArray<Writer> WRITERS = ArrayFactory.newConcurrentCopyOnWriteArray(Writer.class);
 
     /**
      * The date time formatter.
@@ -260,11 +260,9 @@ public class LoggerManager {
         final ConcurrentArray<LoggerListener> listeners = getListeners();
         final ConcurrentArray<Writer> writers = getWriters();
 
-        ArrayUtils.runInReadLock(listeners, resultMessage,
-                (array, string) -> array.forEach(string, LoggerListener::println));
-
-        ArrayUtils.runInReadLock(writers, resultMessage,
-                (array, string) -> array.forEach(string, LoggerManager::append));
+        // the arrays are copied on write, so iterating them doesn't need read locks
+        listeners.forEach(resultMessage, LoggerListener::println);
+        writers.forEach(resultMessage, LoggerManager::append);
 
         System.err.println(resultMessage);
 
@@ -272,11 +270,8 @@ public class LoggerManager {
             return;
         }
 
-        ArrayUtils.runInReadLock(listeners,
-                array -> array.forEach(LoggerListener::flush));
-
-        ArrayUtils.runInReadLock(writers,
-                array -> array.forEach(LoggerManager::flush));
+        listeners.forEach(LoggerListener::flush);
+        writers.forEach(LoggerManager::flush);
     }
 
     private static @NotNull Logger createLogger(@NotNull final String name) {
@@ -0,0 +1,79 @@
+package com.ss.rlib.monitoring;
+
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The class to monitor registered task executors.
+ *
+ * @author JavaSaBr
+ */
+public class ExecutorMonitoring {
+
+    /**
+     * The metrics of registered task executors.
+     */
+    @NotNull
+    private final ConcurrentMap<String, ExecutorMetrics> metrics;
+
+    /**
+     * Instantiates a new Executor monitoring.
+     */
+    public ExecutorMonitoring() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register metrics of an executor.
+     *
+     * @param name    the name of the executor.
+     * @param metrics the metrics of the executor.
+     */
+    public void register(@NotNull final String name, @NotNull final ExecutorMetrics metrics) {
+        this.metrics.put(name, metrics);
+    }
+
+    /**
+     * Unregister metrics of an executor.
+     *
+     * @param name the name of the executor.
+     */
+    public void unregister(@NotNull final String name) {
+        this.metrics.remove(name);
+    }
+
+    /**
+     * Get metrics of an executor.
+     *
+     * @param name the name of the executor.
+     * @return the metrics or null.
+     */
+    @Nullable
+    public ExecutorMetrics getMetrics(@NotNull final String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return true if no executors are registered.
+     */
+    public boolean isEmpty() {
+        return metrics.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder();
+
+        metrics.forEach((name, executorMetrics) ->
+                builder.append(name).append(": ").append(executorMetrics).append('\n'));
+
+        return builder.toString();
+    }
+}
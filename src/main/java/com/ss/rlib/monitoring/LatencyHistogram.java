@@ -0,0 +1,162 @@
+package com.ss.rlib.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The histogram of latencies in nanoseconds with power of two buckets. Buckets are created lazily, so an unused
+ * histogram takes few memory.
+ *
+ * @author JavaSaBr
+ */
+public class LatencyHistogram {
+
+    /**
+     * The count of buckets.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * The buckets, a bucket with index N contains latencies from 2^(N-1) to 2^N - 1.
+     */
+    @NotNull
+    private final AtomicReferenceArray<LongAdder> buckets;
+
+    /**
+     * The count of latencies.
+     */
+    @NotNull
+    private final LongAdder count;
+
+    /**
+     * The sum of latencies.
+     */
+    @NotNull
+    private final LongAdder total;
+
+    /**
+     * The max latency.
+     */
+    @NotNull
+    private final LongAccumulator max;
+
+    /**
+     * Instantiates a new Latency histogram.
+     */
+    public LatencyHistogram() {
+        this.buckets = new AtomicReferenceArray<>(BUCKETS);
+        this.count = new LongAdder();
+        this.total = new LongAdder();
+        this.max = new LongAccumulator(Long::max, 0);
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param latency the latency in nanoseconds.
+     */
+    public void record(final long latency) {
+
+        final int index = latency > 0 ? BUCKETS - Long.numberOfLeadingZeros(latency) : 0;
+
+        LongAdder bucket = buckets.get(index);
+
+        if (bucket == null) {
+            buckets.compareAndSet(index, null, new LongAdder());
+            bucket = buckets.get(index);
+        }
+
+        bucket.increment();
+        count.increment();
+
+        if (latency > 0) {
+            total.add(latency);
+            max.accumulate(latency);
+        }
+    }
+
+    /**
+     * Gets count.
+     *
+     * @return the count of recorded latencies.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets average.
+     *
+     * @return the average latency in nanoseconds.
+     */
+    public long getAverage() {
+        final long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Gets max.
+     *
+     * @return the max latency in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get an upper bound of a percentile of latencies.
+     *
+     * @param percentile the percentile from 0 to 100.
+     * @return the upper bound of the bucket which contains the percentile in nanoseconds.
+     */
+    public long getPercentile(final double percentile) {
+
+        final long[] counts = getBuckets();
+
+        long sum = 0;
+
+        for (final long value : counts) {
+            sum += value;
+        }
+
+        if (sum == 0) return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(sum * percentile / 100D));
+
+        long current = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            current += counts[i];
+            if (current >= target) return i == 0 ? 0 : Math.min((1L << i) - 1, getMax());
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Gets buckets.
+     *
+     * @return the snapshot of counts of latencies, an index N contains latencies from 2^(N-1) to 2^N - 1 nanoseconds.
+     */
+    @NotNull
+    public long[] getBuckets() {
+
+        final long[] result = new long[BUCKETS];
+
+        for (int i = 0; i < BUCKETS; i++) {
+            final LongAdder bucket = buckets.get(i);
+            result[i] = bucket == null ? 0 : bucket.sum();
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" + "count=" + getCount() + ", average=" + getAverage() + ", p50=" +
+                getPercentile(50) + ", p99=" + getPercentile(99) + ", max=" + getMax() + '}';
+    }
+}
@@ -40,10 +40,24 @@ public final class MonitoringManager {
     @NotNull
     private final ThreadMonitoring threadMonitoring;
 
+    /**
+     * The networks monitoring.
+     */
+    @NotNull
+    private final NetworkMonitoring networkMonitoring;
+
+    /**
+     * The task executors monitoring.
+     */
+    @NotNull
+    private final ExecutorMonitoring executorMonitoring;
+
     private MonitoringManager() {
         this.memoryMonitoring = new MemoryMonitoring();
         this.runtimeMonitoring = new RuntimeMonitoring();
         this.threadMonitoring = new ThreadMonitoring();
+        this.networkMonitoring = new NetworkMonitoring();
+        this.executorMonitoring = new ExecutorMonitoring();
     }
 
     /**
@@ -76,6 +90,26 @@ public final class MonitoringManager {
         return threadMonitoring;
     }
 
+    /**
+     * Gets network monitoring.
+     *
+     * @return the networks monitoring.
+     */
+    @NotNull
+    public NetworkMonitoring getNetworkMonitoring() {
+        return networkMonitoring;
+    }
+
+    /**
+     * Gets executor monitoring.
+     *
+     * @return the task executors monitoring.
+     */
+    @NotNull
+    public ExecutorMonitoring getExecutorMonitoring() {
+        return executorMonitoring;
+    }
+
     @Override
     public String toString() {
 
@@ -85,6 +119,21 @@ public final class MonitoringManager {
         builder.append('\n').append(getMemoryMonitoring()).append('\n');
         builder.append("#============Runtime Info=============#");
         builder.append('\n').append(getRuntimeMonitoring()).append('\n');
+
+        final NetworkMonitoring networkMonitoring = getNetworkMonitoring();
+
+        if (!networkMonitoring.isEmpty()) {
+            builder.append("#============Network Info=============#");
+            builder.append('\n').append(networkMonitoring);
+        }
+
+        final ExecutorMonitoring executorMonitoring = getExecutorMonitoring();
+
+        if (!executorMonitoring.isEmpty()) {
+            builder.append("#============Executor Info============#");
+            builder.append('\n').append(executorMonitoring);
+        }
+
         // builder.append("#============Current state============#");
         // builder.append('\n').append(getThreadMonitoring()).append('\n');
         builder.append("#=====================================#");
@@ -0,0 +1,79 @@
+package com.ss.rlib.monitoring;
+
+import com.ss.rlib.network.NetworkMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The class to monitor registered networks.
+ *
+ * @author JavaSaBr
+ */
+public class NetworkMonitoring {
+
+    /**
+     * The metrics of registered networks.
+     */
+    @NotNull
+    private final ConcurrentMap<String, NetworkMetrics> metrics;
+
+    /**
+     * Instantiates a new Network monitoring.
+     */
+    public NetworkMonitoring() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register metrics of a network.
+     *
+     * @param name    the name of the network.
+     * @param metrics the metrics of the network.
+     */
+    public void register(@NotNull final String name, @NotNull final NetworkMetrics metrics) {
+        this.metrics.put(name, metrics);
+    }
+
+    /**
+     * Unregister metrics of a network.
+     *
+     * @param name the name of the network.
+     */
+    public void unregister(@NotNull final String name) {
+        this.metrics.remove(name);
+    }
+
+    /**
+     * Get metrics of a network.
+     *
+     * @param name the name of the network.
+     * @return the metrics or null.
+     */
+    @Nullable
+    public NetworkMetrics getMetrics(@NotNull final String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return true if no networks are registered.
+     */
+    public boolean isEmpty() {
+        return metrics.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder();
+
+        metrics.forEach((name, networkMetrics) ->
+                builder.append(name).append(": ").append(networkMetrics).append('\n'));
+
+        return builder.toString();
+    }
+}
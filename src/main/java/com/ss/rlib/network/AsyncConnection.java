@@ -46,6 +46,24 @@ public interface AsyncConnection extends Lockable {
      */
     void setLastActivity(long lastActivity);
 
+    /**
+     * Get time of last reading.
+     *
+     * @return the time of last reading.
+     */
+    default long getLastReadTime() {
+        return getLastActivity();
+    }
+
+    /**
+     * Get time of last writing.
+     *
+     * @return the time of last writing.
+     */
+    default long getLastWriteTime() {
+        return getLastActivity();
+    }
+
     /**
      * Is closed boolean.
      *
@@ -53,6 +71,14 @@ public interface AsyncConnection extends Lockable {
      */
     boolean isClosed();
 
+    /**
+     * Get metrics of this connection.
+     *
+     * @return the metrics.
+     */
+    @NotNull
+    NetworkMetrics getMetrics();
+
     /**
      * Add a packet to queue to send.
      *
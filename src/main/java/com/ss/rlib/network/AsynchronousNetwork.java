@@ -1,6 +1,8 @@
 package com.ss.rlib.network;
 
+import com.ss.rlib.util.pools.ByteBufferArena;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 
@@ -19,6 +21,37 @@ public interface AsynchronousNetwork {
     @NotNull
     NetworkConfig getConfig();
 
+    /**
+     * Get metrics of this network, they include metrics of all its connections.
+     *
+     * @return the metrics.
+     */
+    @NotNull
+    NetworkMetrics getMetrics();
+
+    /**
+     * Get a manager to detect idle connections of this network.
+     *
+     * @return the idle state manager or null.
+     */
+    @Nullable
+    IdleStateManager getIdleStateManager();
+
+    /**
+     * Set a manager to detect idle connections, new connections of this network are registered in it.
+     *
+     * @param idleStateManager the idle state manager or null.
+     */
+    void setIdleStateManager(@Nullable IdleStateManager idleStateManager);
+
+    /**
+     * Get an arena of read and write buffers of this network.
+     *
+     * @return the buffer arena.
+     */
+    @NotNull
+    ByteBufferArena getBufferArena();
+
     /**
      * Get a new read buffer to use.
      *
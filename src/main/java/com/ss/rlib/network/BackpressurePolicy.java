@@ -0,0 +1,26 @@
+package com.ss.rlib.network;
+
+/**
+ * The list of policies to handle reaching limits of packets which are waiting to be sent by a connection.
+ *
+ * @author JavaSaBr
+ */
+public enum BackpressurePolicy {
+    /**
+     * The oldest waiting packets are dropped to add the new packet.
+     */
+    DROP_OLDEST,
+    /**
+     * The new packet is dropped.
+     */
+    DROP_NEW,
+    /**
+     * The new packet replaces a waiting packet of the same class, the new packet is dropped if there are no waiting
+     * packets of the same class.
+     */
+    COALESCE,
+    /**
+     * The new packet is dropped and the connection is closed.
+     */
+    DISCONNECT
+}
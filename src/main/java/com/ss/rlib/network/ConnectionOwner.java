@@ -44,6 +44,15 @@ public interface ConnectionOwner {
     @NotNull
     AsyncConnection getConnection();
 
+    /**
+     * Is stream crypt boolean.
+     *
+     * @return true if the whole stream of bytes including frame headers is decrypted and encrypted at once.
+     */
+    default boolean isStreamCrypt() {
+        return false;
+    }
+
     /**
      * Is connected boolean.
      *
@@ -65,4 +74,13 @@ public interface ConnectionOwner {
      * @param packet the packet.
      */
     void sendPacket(@NotNull SendablePacket packet);
+
+    /**
+     * Notify about reaching limits of waiting packets of the connection.
+     *
+     * @param packet the dropped or replaced packet.
+     * @param policy the applied policy.
+     */
+    default void notifyWaitLimit(@NotNull final SendablePacket packet, @NotNull final BackpressurePolicy policy) {
+    }
 }
@@ -0,0 +1,68 @@
+package com.ss.rlib.network;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface to implement a codec of frame headers of packets. A frame contains a header with a size of packet
+ * data and the packet data which starts with a packet type id.
+ *
+ * @author JavaSaBr
+ */
+public interface FrameCodec {
+
+    /**
+     * Gets max header size.
+     *
+     * @return the count of bytes which should be reserved before packet data to write a frame header.
+     */
+    int getMaxHeaderSize();
+
+    /**
+     * Gets max frame size.
+     *
+     * @return the max size of a frame with the header which can be written by this codec.
+     */
+    default int getMaxFrameSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Read a size of packet data from a frame header at the current position of the buffer, the position is moved to
+     * the start of the packet data.
+     *
+     * @param buffer the buffer with received data.
+     * @return the size of packet data, -1 if the header isn't received completely or a value which is larger than any
+     * packet if the header is invalid.
+     */
+    int readPacketSize(@NotNull ByteBuffer buffer);
+
+    /**
+     * Read a packet type id at the current position of the buffer.
+     *
+     * @param buffer the buffer with packet data.
+     * @return the packet type id.
+     */
+    int readPacketTypeId(@NotNull ByteBuffer buffer);
+
+    /**
+     * Encode a packet type id which was written by a packet as a short at the start of packet data.
+     *
+     * @param buffer    the buffer with packet data.
+     * @param dataStart the start of packet data.
+     * @return the new start of packet data.
+     */
+    int writePacketTypeId(@NotNull ByteBuffer buffer, int dataStart);
+
+    /**
+     * Write a frame header before packet data.
+     *
+     * @param buffer    the buffer with packet data.
+     * @param dataStart the start of packet data.
+     * @param dataEnd   the end of packet data.
+     * @return the start of the frame.
+     * @throws IllegalArgumentException if the frame is larger than {@link #getMaxFrameSize()}.
+     */
+    int writePacketSize(@NotNull ByteBuffer buffer, int dataStart, int dataEnd);
+}
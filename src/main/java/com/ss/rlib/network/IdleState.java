@@ -0,0 +1,21 @@
+package com.ss.rlib.network;
+
+/**
+ * The list of idle states of a connection.
+ *
+ * @author JavaSaBr
+ */
+public enum IdleState {
+    /**
+     * Nothing was read from the connection during the read idle time.
+     */
+    READ_IDLE,
+    /**
+     * Nothing was written to the connection during the write idle time.
+     */
+    WRITE_IDLE,
+    /**
+     * Nothing was read or written during the all idle time.
+     */
+    ALL_IDLE
+}
@@ -0,0 +1,21 @@
+package com.ss.rlib.network;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a listener of idle connections. The listener can close the connection or send a
+ * keep-alive packet to it.
+ *
+ * @author JavaSaBr
+ */
+@FunctionalInterface
+public interface IdleStateListener {
+
+    /**
+     * Notify about an idle connection, it's called again after the same idle time if the connection is still idle.
+     *
+     * @param connection the connection.
+     * @param state      the idle state.
+     */
+    void onIdle(@NotNull AsyncConnection connection, @NotNull IdleState state);
+}
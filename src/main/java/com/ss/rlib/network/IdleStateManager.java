@@ -0,0 +1,37 @@
+package com.ss.rlib.network;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a manager to detect idle connections.
+ *
+ * @author JavaSaBr
+ */
+public interface IdleStateManager {
+
+    /**
+     * Start tracking a connection.
+     *
+     * @param connection the connection.
+     */
+    void register(@NotNull AsyncConnection connection);
+
+    /**
+     * Stop tracking a connection.
+     *
+     * @param connection the connection.
+     */
+    void unregister(@NotNull AsyncConnection connection);
+
+    /**
+     * Gets count of tracked connections.
+     *
+     * @return the count of tracked connections.
+     */
+    int size();
+
+    /**
+     * Shutdown this manager.
+     */
+    void shutdown();
+}
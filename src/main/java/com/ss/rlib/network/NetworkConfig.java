@@ -1,6 +1,7 @@
 package com.ss.rlib.network;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The interface to implement a network config.
@@ -37,6 +38,26 @@ public interface NetworkConfig {
         return 2048;
     }
 
+    /**
+     * Gets min read buffer size.
+     *
+     * @return the min size of read buffers of connections, read buffers are shrunk by halves after sustained small
+     * reads while they are larger than this size.
+     */
+    default int getMinReadBufferSize() {
+        return getReadBufferSize();
+    }
+
+    /**
+     * Gets max read buffer size.
+     *
+     * @return the max size of read buffers of connections, read buffers are grown by doubling after full reads or
+     * fragmented packets while they are smaller than this size.
+     */
+    default int getMaxReadBufferSize() {
+        return getReadBufferSize();
+    }
+
     /**
      * Is direct byte buffer boolean.
      *
@@ -74,6 +95,75 @@ public interface NetworkConfig {
         return 2048;
     }
 
+    /**
+     * Gets max write batch size.
+     *
+     * @return the max size in bytes of queued packets which can be written to a channel by one write operation, 0 if
+     * every packet should be written by a separate write operation.
+     */
+    default int getMaxWriteBatchSize() {
+        return 0;
+    }
+
+    /**
+     * Gets frame codec.
+     *
+     * @return the codec of frame headers of packets.
+     */
+    @NotNull
+    default FrameCodec getFrameCodec() {
+        return NetworkFactory.newShortSizeFrameCodec();
+    }
+
+    /**
+     * Gets max packet size.
+     *
+     * @return the max size of a received frame, read buffers are growing to receive frames which are larger than
+     * {@link #getReadBufferSize()}, 0 if frames should fit to read buffers.
+     */
+    default int getMaxPacketSize() {
+        return 0;
+    }
+
+    /**
+     * Gets packet compression.
+     *
+     * @return the settings of compressing large packets or null if packets aren't compressed, both sides of a
+     * connection should have the same settings.
+     */
+    @Nullable
+    default PacketCompression getPacketCompression() {
+        return null;
+    }
+
+    /**
+     * Gets max wait packets.
+     *
+     * @return the max count of packets which are waiting to be sent by a connection, 0 if it's unlimited.
+     */
+    default int getMaxWaitPackets() {
+        return 0;
+    }
+
+    /**
+     * Gets max wait bytes.
+     *
+     * @return the max estimated size in bytes of packets which are waiting to be sent by a connection, 0 if it's
+     * unlimited.
+     */
+    default long getMaxWaitBytes() {
+        return 0;
+    }
+
+    /**
+     * Gets backpressure policy.
+     *
+     * @return the policy to handle reaching limits of waiting packets.
+     */
+    default BackpressurePolicy getBackpressurePolicy() {
+        return BackpressurePolicy.DROP_NEW;
+    }
+
     /**
      * Is visible read exception boolean.
      *
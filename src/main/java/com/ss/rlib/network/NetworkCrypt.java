@@ -2,6 +2,8 @@ package com.ss.rlib.network;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * The interface to implement a network crypt.
  *
@@ -26,4 +28,88 @@ public interface NetworkCrypt {
      * @param length the byte count.
      */
     void encrypt(@NotNull byte[] data, int offset, int length);
+
+    /**
+     * Decrypt a region of a byte buffer in place, data of a direct buffer is decrypted by a copy by default.
+     *
+     * @param data   the byte buffer.
+     * @param offset the offset.
+     * @param length the byte count.
+     */
+    default void decrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
+
+        if (data.hasArray()) {
+            decrypt(data.array(), data.arrayOffset() + offset, length);
+            return;
+        }
+
+        final byte[] array = copy(data, offset, length);
+        decrypt(array, 0, length);
+        paste(data, offset, array);
+    }
+
+    /**
+     * Encrypt a region of a byte buffer in place, data of a direct buffer is encrypted by a copy by default.
+     *
+     * @param data   the byte buffer.
+     * @param offset the offset.
+     * @param length the byte count.
+     */
+    default void encrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
+
+        if (data.hasArray()) {
+            encrypt(data.array(), data.arrayOffset() + offset, length);
+            return;
+        }
+
+        final byte[] array = copy(data, offset, length);
+        encrypt(array, 0, length);
+        paste(data, offset, array);
+    }
+
+    /**
+     * Is stream boolean.
+     *
+     * @return true if this crypt processes the whole stream of bytes of a connection including frame headers, so all
+     * received or written data is processed by one call instead of a call per packet.
+     */
+    default boolean isStream() {
+        return false;
+    }
+
+    /**
+     * Copy a region of a byte buffer to a new array.
+     *
+     * @param data   the byte buffer.
+     * @param offset the offset.
+     * @param length the byte count.
+     * @return the new array.
+     */
+    @NotNull
+    static byte[] copy(@NotNull final ByteBuffer data, final int offset, final int length) {
+
+        final ByteBuffer source = data.duplicate();
+        source.limit(offset + length);
+        source.position(offset);
+
+        final byte[] array = new byte[length];
+        source.get(array);
+
+        return array;
+    }
+
+    /**
+     * Put an array to a byte buffer.
+     *
+     * @param data   the byte buffer.
+     * @param offset the offset.
+     * @param array  the array.
+     */
+    static void paste(@NotNull final ByteBuffer data, final int offset, @NotNull final byte[] array) {
+
+        final ByteBuffer target = data.duplicate();
+        target.limit(offset + array.length);
+        target.position(offset);
+        target.put(array);
+    }
 }
@@ -1,17 +1,32 @@
 package com.ss.rlib.network;
 
 import com.ss.rlib.logging.Logger;
+import com.ss.rlib.network.client.ClientConnectionFactory;
+import com.ss.rlib.network.client.ClientConnectionPool;
 import com.ss.rlib.network.client.ClientNetwork;
 import com.ss.rlib.network.client.ConnectHandler;
+import com.ss.rlib.network.client.ConnectionRouting;
+import com.ss.rlib.network.client.impl.DefaultClientConnectionPool;
 import com.ss.rlib.network.client.impl.DefaultClientNetwork;
+import com.ss.rlib.network.datagram.DatagramAcceptHandler;
+import com.ss.rlib.network.datagram.DatagramConfig;
+import com.ss.rlib.network.datagram.DatagramNetwork;
+import com.ss.rlib.network.datagram.impl.DefaultDatagramNetwork;
+import com.ss.rlib.network.impl.IntSizeFrameCodec;
+import com.ss.rlib.network.impl.ShortSizeFrameCodec;
+import com.ss.rlib.network.impl.TimingWheelIdleStateManager;
+import com.ss.rlib.network.impl.VarIntSizeFrameCodec;
+import com.ss.rlib.network.impl.WorkStealingPacketDispatcher;
 import com.ss.rlib.network.server.AcceptHandler;
 import com.ss.rlib.network.server.ServerNetwork;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.network.server.impl.DefaultServerNetwork;
+import com.ss.rlib.network.server.impl.SelectorServerNetwork;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 
 /**
  * The network factory.
@@ -23,6 +38,107 @@ public final class NetworkFactory {
     @NotNull
     private static final Logger LOGGER = LoggerManager.getLogger(NetworkFactory.class);
 
+    /**
+     * Create an idle state manager based on a timing wheel with 100 ms ticks.
+     *
+     * @param listener      the listener of idle connections.
+     * @param readIdleTime  the read idle time in ms or 0 to disable it.
+     * @param writeIdleTime the write idle time in ms or 0 to disable it.
+     * @param allIdleTime   the all idle time in ms or 0 to disable it.
+     * @return the idle state manager.
+     */
+    @NotNull
+    public static IdleStateManager newIdleStateManager(@NotNull final IdleStateListener listener,
+                                                       final long readIdleTime, final long writeIdleTime,
+                                                       final long allIdleTime) {
+        return new TimingWheelIdleStateManager(listener, readIdleTime, writeIdleTime, allIdleTime, 100, 512);
+    }
+
+    /**
+     * Create a packet dispatcher based on a work-stealing pool.
+     *
+     * @param name        the name of threads.
+     * @param parallelism the count of threads.
+     * @return the packet dispatcher.
+     */
+    @NotNull
+    public static PacketDispatcher newWorkStealingPacketDispatcher(@NotNull final String name, final int parallelism) {
+        return new WorkStealingPacketDispatcher(name, parallelism);
+    }
+
+    /**
+     * Create packet compression which compresses packets of all types if their data isn't less than the threshold.
+     *
+     * @param threshold the min size of packet data to compress.
+     * @return the packet compression.
+     */
+    @NotNull
+    public static PacketCompression newPacketCompression(final int threshold) {
+        return packetTypeId -> threshold;
+    }
+
+    /**
+     * Create a pool of connections to a server with health checks every second and reconnects with delays from 100 ms
+     * to 10 seconds.
+     *
+     * @param network the client network.
+     * @param address the address of the server.
+     * @param size    the count of connections.
+     * @param routing the way to choose a connection to send a packet.
+     * @param factory the factory of connections.
+     * @return the connection pool.
+     */
+    @NotNull
+    public static ClientConnectionPool newClientConnectionPool(@NotNull final ClientNetwork network,
+                                                               @NotNull final InetSocketAddress address,
+                                                               final int size, @NotNull final ConnectionRouting routing,
+                                                               @NotNull final ClientConnectionFactory factory) {
+        return new DefaultClientConnectionPool(network, address, factory, routing, size, 1000, 100, 10000, 0);
+    }
+
+    /**
+     * Create a frame codec with 2 bytes of a frame size and 2 bytes of a packet type id.
+     *
+     * @return the frame codec.
+     */
+    @NotNull
+    public static FrameCodec newShortSizeFrameCodec() {
+        return new ShortSizeFrameCodec(false);
+    }
+
+    /**
+     * Create a frame codec with 2 bytes of a frame size.
+     *
+     * @param varIntTypeId true if packet type ids should be varints.
+     * @return the frame codec.
+     */
+    @NotNull
+    public static FrameCodec newShortSizeFrameCodec(final boolean varIntTypeId) {
+        return new ShortSizeFrameCodec(varIntTypeId);
+    }
+
+    /**
+     * Create a frame codec with 4 bytes of a packet size.
+     *
+     * @param varIntTypeId true if packet type ids should be varints.
+     * @return the frame codec.
+     */
+    @NotNull
+    public static FrameCodec newIntSizeFrameCodec(final boolean varIntTypeId) {
+        return new IntSizeFrameCodec(varIntTypeId);
+    }
+
+    /**
+     * Create a frame codec with a varint packet size.
+     *
+     * @param varIntTypeId true if packet type ids should be varints.
+     * @return the frame codec.
+     */
+    @NotNull
+    public static FrameCodec newVarIntSizeFrameCodec(final boolean varIntTypeId) {
+        return new VarIntSizeFrameCodec(varIntTypeId);
+    }
+
     /**
      * Create a default asynchronous client network.
      *
@@ -61,6 +177,44 @@ public final class NetworkFactory {
         return null;
     }
 
+    /**
+     * Create a server network based on selector event loops.
+     *
+     * @param config        the network config.
+     * @param acceptHandler the accept handler.
+     * @return the server network or null.
+     */
+    @Nullable
+    public static ServerNetwork newSelectorServerNetwork(@NotNull final NetworkConfig config,
+                                                         @NotNull final AcceptHandler acceptHandler) {
+        try {
+            return new SelectorServerNetwork(config, acceptHandler);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Create a datagram network.
+     *
+     * @param config        the datagram config.
+     * @param acceptHandler the handler of new remote addresses or null to drop datagrams from unknown addresses.
+     * @return the datagram network or null.
+     */
+    @Nullable
+    public static DatagramNetwork newDatagramNetwork(@NotNull final DatagramConfig config,
+                                                     @Nullable final DatagramAcceptHandler acceptHandler) {
+        try {
+            return new DefaultDatagramNetwork(config, acceptHandler);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+
+        return null;
+    }
+
     private NetworkFactory() throws Exception {
         throw new Exception("no permission");
     }
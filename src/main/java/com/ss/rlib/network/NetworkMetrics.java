@@ -0,0 +1,92 @@
+package com.ss.rlib.network;
+
+import com.ss.rlib.monitoring.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement metrics of a network or a connection.
+ *
+ * @author JavaSaBr
+ */
+public interface NetworkMetrics {
+
+    /**
+     * Gets received bytes.
+     *
+     * @return the count of received bytes.
+     */
+    long getReceivedBytes();
+
+    /**
+     * Gets received packets.
+     *
+     * @return the count of received packets.
+     */
+    long getReceivedPackets();
+
+    /**
+     * Get received bytes of the packet type. It's collected only by metrics of a network.
+     *
+     * @param packetTypeId the id of the readable packet type.
+     * @return the count of received bytes of the packet type.
+     */
+    long getReceivedBytes(int packetTypeId);
+
+    /**
+     * Get received packets of the packet type. It's collected only by metrics of a network.
+     *
+     * @param packetTypeId the id of the readable packet type.
+     * @return the count of received packets of the packet type.
+     */
+    long getReceivedPackets(int packetTypeId);
+
+    /**
+     * Gets sent bytes.
+     *
+     * @return the count of sent bytes.
+     */
+    long getSentBytes();
+
+    /**
+     * Gets sent packets.
+     *
+     * @return the count of sent packets.
+     */
+    long getSentPackets();
+
+    /**
+     * Gets wait packets.
+     *
+     * @return the count of packets which are waiting to be sent.
+     */
+    long getWaitPackets();
+
+    /**
+     * Gets fragmented packets.
+     *
+     * @return the count of reads which have finished with a not completed packet.
+     */
+    long getFragmentedPackets();
+
+    /**
+     * Gets dropped segments.
+     *
+     * @return the count of dropped not completed packets because of the limit of segments.
+     */
+    long getDroppedSegments();
+
+    /**
+     * Gets dropped packets.
+     *
+     * @return the count of dropped or replaced packets because of limits of waiting packets.
+     */
+    long getDroppedPackets();
+
+    /**
+     * Gets write latency.
+     *
+     * @return the histogram of time from sending a packet to completion of writing it to a channel.
+     */
+    @NotNull
+    LatencyHistogram getWriteLatency();
+}
@@ -0,0 +1,32 @@
+package com.ss.rlib.network;
+
+import java.util.zip.Deflater;
+
+/**
+ * The interface to implement settings of compressing packets. Both sides of a connection should use compression to
+ * read frames correctly, every connection keeps own deflate context, so next packets are compressed using data of
+ * previous packets.
+ *
+ * @author JavaSaBr
+ */
+@FunctionalInterface
+public interface PacketCompression {
+
+    /**
+     * Gets threshold.
+     *
+     * @param packetTypeId the id of a packet type.
+     * @return the min size of packet data to compress packets of the type or {@link Integer#MAX_VALUE} to never
+     * compress them.
+     */
+    int getThreshold(int packetTypeId);
+
+    /**
+     * Gets level.
+     *
+     * @return the deflate level.
+     */
+    default int getLevel() {
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+}
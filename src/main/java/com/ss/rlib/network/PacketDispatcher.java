@@ -0,0 +1,33 @@
+package com.ss.rlib.network;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The interface to implement a dispatcher to execute received packets out of network threads.
+ *
+ * @author JavaSaBr
+ */
+public interface PacketDispatcher {
+
+    /**
+     * Create a new serial lane for a connection, all tasks of a lane are executed one by one in FIFO order.
+     *
+     * @return the new lane.
+     */
+    @NotNull
+    Executor newLane();
+
+    /**
+     * Execute a task without any order.
+     *
+     * @param task the task.
+     */
+    void dispatch(@NotNull Runnable task);
+
+    /**
+     * Shutdown this dispatcher.
+     */
+    void shutdown();
+}
@@ -0,0 +1,25 @@
+package com.ss.rlib.network.client;
+
+import com.ss.rlib.network.ConnectionOwner;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.AsynchronousSocketChannel;
+
+/**
+ * The interface to implement a factory of connections of a connection pool.
+ *
+ * @author JavaSaBr
+ */
+@FunctionalInterface
+public interface ClientConnectionFactory {
+
+    /**
+     * Create a connection and its owner for a connected channel and start reading the connection.
+     *
+     * @param network the client network.
+     * @param channel the connected channel.
+     * @return the owner of the new connection.
+     */
+    @NotNull
+    ConnectionOwner create(@NotNull ClientNetwork network, @NotNull AsynchronousSocketChannel channel);
+}
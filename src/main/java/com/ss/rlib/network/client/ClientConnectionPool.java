@@ -0,0 +1,55 @@
+package com.ss.rlib.network.client;
+
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.packet.SendablePacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The interface to implement a pool of several connections to a server, packets are routed between connections, so
+ * they are written by several channels in parallel. Lost connections are reconnected automatically.
+ *
+ * @author JavaSaBr
+ */
+public interface ClientConnectionPool {
+
+    /**
+     * Start connecting all connections of this pool.
+     */
+    void start();
+
+    /**
+     * Choose a connected connection to send a packet.
+     *
+     * @return the owner of the connection or null if there are no connected connections.
+     */
+    @Nullable
+    ConnectionOwner next();
+
+    /**
+     * Send a packet by a connected connection.
+     *
+     * @param packet the packet.
+     * @return false if there are no connected connections.
+     */
+    boolean sendPacket(@NotNull SendablePacket packet);
+
+    /**
+     * Gets size.
+     *
+     * @return the count of connections of this pool.
+     */
+    int size();
+
+    /**
+     * Gets connected count.
+     *
+     * @return the count of connected connections.
+     */
+    int getConnectedCount();
+
+    /**
+     * Stop reconnecting and close all connections of this pool.
+     */
+    void close();
+}
@@ -19,4 +19,16 @@ public interface ClientNetwork extends AsynchronousNetwork {
      * @param serverAddress the sever address.
      */
     void connect(@NotNull InetSocketAddress serverAddress);
+
+    /**
+     * Open a new channel to a server, previously opened channels are left as is, so several connections to servers
+     * can be used at the same time.
+     *
+     * @param serverAddress the sever address.
+     * @param handler       the handler of the new channel.
+     * @throws UnsupportedOperationException if the network doesn't support several channels.
+     */
+    default void connect(@NotNull InetSocketAddress serverAddress, @NotNull ConnectHandler handler) {
+        throw new UnsupportedOperationException();
+    }
 }
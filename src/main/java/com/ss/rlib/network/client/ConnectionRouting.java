@@ -0,0 +1,17 @@
+package com.ss.rlib.network.client;
+
+/**
+ * The list of ways to choose a connection of a connection pool to send a packet.
+ *
+ * @author JavaSaBr
+ */
+public enum ConnectionRouting {
+    /**
+     * Use connected connections by turns.
+     */
+    ROUND_ROBIN,
+    /**
+     * Use a connected connection with the least count of packets which are waiting to be sent.
+     */
+    LEAST_QUEUED
+}
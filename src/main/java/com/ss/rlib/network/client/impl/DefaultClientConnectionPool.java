@@ -0,0 +1,446 @@
+package com.ss.rlib.network.client.impl;
+
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.client.ClientConnectionFactory;
+import com.ss.rlib.network.client.ClientConnectionPool;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.client.ConnectHandler;
+import com.ss.rlib.network.client.ConnectionRouting;
+import com.ss.rlib.network.packet.SendablePacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The implementation of a connection pool which keeps a fixed count of connections to one server. Connections are
+ * checked periodically, closed and lost connections are reconnected with an exponential backoff.
+ *
+ * @author JavaSaBr
+ */
+public class DefaultClientConnectionPool implements ClientConnectionPool {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ClientConnectionPool.class);
+
+    /**
+     * The slot of a connection of the pool.
+     */
+    private final class Slot implements ConnectHandler {
+
+        /**
+         * The flag of connecting or waiting for reconnecting.
+         */
+        @NotNull
+        private final AtomicBoolean connecting;
+
+        /**
+         * The owner of the current connection.
+         */
+        @Nullable
+        private volatile ConnectionOwner owner;
+
+        /**
+         * The count of failed attempts to connect.
+         */
+        private volatile int attempts;
+
+        private Slot() {
+            this.connecting = new AtomicBoolean();
+        }
+
+        /**
+         * Start connecting if the slot isn't connecting yet.
+         */
+        private void connect() {
+            if (!closed && connecting.compareAndSet(false, true)) {
+                openChannel();
+            }
+        }
+
+        /**
+         * Open a new channel to the server, the slot is reconnected if the network can't start connecting.
+         */
+        private void openChannel() {
+            try {
+                network.connect(address, this);
+            } catch (final RuntimeException e) {
+                LOGGER.warning(DefaultClientConnectionPool.this, "can't connect to " + address + ", " + e);
+                reconnect();
+            }
+        }
+
+        /**
+         * Schedule connecting after a delay which is growing with every failed attempt.
+         */
+        private void reconnect() {
+
+            final int attempts = this.attempts;
+            final long delay = Math.min(maxReconnectDelay, minReconnectDelay << Math.min(attempts, 20));
+
+            this.attempts = attempts + 1;
+
+            try {
+                executor.schedule(() -> {
+                    if (closed) {
+                        connecting.set(false);
+                    } else {
+                        openChannel();
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                // the pool was closed
+                connecting.set(false);
+            }
+        }
+
+        @Override
+        public void onConnect(@NotNull final AsynchronousSocketChannel channel) {
+
+            if (closed) {
+                closeChannel(channel);
+                return;
+            }
+
+            try {
+                owner = factory.create(network, channel);
+            } catch (final RuntimeException e) {
+                LOGGER.warning(DefaultClientConnectionPool.this, e);
+                closeChannel(channel);
+                reconnect();
+                return;
+            }
+
+            attempts = 0;
+            connecting.set(false);
+
+            // the pool could be closed while the connection was being created
+            if (closed) {
+                close();
+            }
+        }
+
+        @Override
+        public void onFailed(@NotNull final Throwable exc) {
+            LOGGER.warning(DefaultClientConnectionPool.this, "can't connect to " + address + ", " +
+                    exc.getMessage());
+            reconnect();
+        }
+
+        /**
+         * Check the current connection and reconnect it if it's lost or doesn't receive data.
+         *
+         * @param currentTime the current time.
+         */
+        private void check(final long currentTime) {
+
+            final ConnectionOwner owner = this.owner;
+
+            if (owner == null) {
+                connect();
+                return;
+            }
+
+            if (owner.isConnected()) {
+
+                final AsyncConnection connection = owner.getConnection();
+
+                if (readTimeout < 1 || currentTime - connection.getLastReadTime() <= readTimeout) {
+                    return;
+                }
+
+                LOGGER.warning(DefaultClientConnectionPool.this, "the connection to " + address +
+                        " doesn't receive data, it will be reconnected.");
+                owner.close();
+            }
+
+            this.owner = null;
+
+            if (connecting.compareAndSet(false, true)) {
+                reconnect();
+            }
+        }
+
+        /**
+         * Close the current connection.
+         */
+        private void close() {
+
+            final ConnectionOwner owner = this.owner;
+
+            if (owner != null) {
+                this.owner = null;
+                owner.close();
+            }
+        }
+    }
+
+    /**
+     * The client network.
+     */
+    @NotNull
+    private final ClientNetwork network;
+
+    /**
+     * The address of the server.
+     */
+    @NotNull
+    private final InetSocketAddress address;
+
+    /**
+     * The factory of connections.
+     */
+    @NotNull
+    private final ClientConnectionFactory factory;
+
+    /**
+     * The way to choose a connection to send a packet.
+     */
+    @NotNull
+    private final ConnectionRouting routing;
+
+    /**
+     * The slots of connections.
+     */
+    @NotNull
+    private final Slot[] slots;
+
+    /**
+     * The counter to choose connections by turns.
+     */
+    @NotNull
+    private final AtomicInteger counter;
+
+    /**
+     * The flag of starting this pool.
+     */
+    @NotNull
+    private final AtomicBoolean started;
+
+    /**
+     * The executor of health checks and reconnects.
+     */
+    @NotNull
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The interval of health checks in ms.
+     */
+    private final long healthCheckInterval;
+
+    /**
+     * The delay of the first reconnect in ms.
+     */
+    private final long minReconnectDelay;
+
+    /**
+     * The max delay of reconnects in ms.
+     */
+    private final long maxReconnectDelay;
+
+    /**
+     * The max time without received data in ms or 0.
+     */
+    private final long readTimeout;
+
+    /**
+     * The flag of closing this pool.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new Default client connection pool.
+     *
+     * @param network             the client network.
+     * @param address             the address of the server.
+     * @param factory             the factory of connections.
+     * @param routing             the way to choose a connection to send a packet.
+     * @param size                the count of connections.
+     * @param healthCheckInterval the interval of health checks in ms.
+     * @param minReconnectDelay   the delay of the first reconnect in ms.
+     * @param maxReconnectDelay   the max delay of reconnects in ms.
+     * @param readTimeout         the max time without received data in ms to reconnect a connection or 0.
+     */
+    public DefaultClientConnectionPool(@NotNull final ClientNetwork network, @NotNull final InetSocketAddress address,
+                                       @NotNull final ClientConnectionFactory factory,
+                                       @NotNull final ConnectionRouting routing, final int size,
+                                       final long healthCheckInterval, final long minReconnectDelay,
+                                       final long maxReconnectDelay, final long readTimeout) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("the size of the pool should be more than 0.");
+        } else if (healthCheckInterval < 1 || minReconnectDelay < 1 || maxReconnectDelay < minReconnectDelay) {
+            throw new IllegalArgumentException("incorrect intervals of health checks or reconnects.");
+        }
+
+        this.network = network;
+        this.address = address;
+        this.factory = factory;
+        this.routing = routing;
+        this.slots = new Slot[size];
+        this.counter = new AtomicInteger();
+        this.started = new AtomicBoolean();
+        this.healthCheckInterval = healthCheckInterval;
+        this.minReconnectDelay = minReconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.readTimeout = Math.max(readTimeout, 0);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, DefaultClientConnectionPool.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    @Override
+    public void start() {
+
+        if (closed || !started.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (final Slot slot : slots) {
+            slot.connect();
+        }
+
+        executor.scheduleWithFixedDelay(this::checkHealth, healthCheckInterval, healthCheckInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check all connections of this pool.
+     */
+    protected void checkHealth() {
+        try {
+
+            final long currentTime = System.currentTimeMillis();
+
+            for (final Slot slot : slots) {
+                slot.check(currentTime);
+            }
+
+        } catch (final Exception e) {
+            LOGGER.warning(DefaultClientConnectionPool.this, e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public ConnectionOwner next() {
+
+        final Slot[] slots = this.slots;
+        final int length = slots.length;
+        final int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % length;
+
+        if (routing == ConnectionRouting.ROUND_ROBIN) {
+
+            for (int i = 0; i < length; i++) {
+
+                final ConnectionOwner owner = slots[(start + i) % length].owner;
+
+                if (owner != null && owner.isConnected()) {
+                    return owner;
+                }
+            }
+
+            return null;
+        }
+
+        ConnectionOwner result = null;
+        long minWaitPackets = Long.MAX_VALUE;
+
+        // starts from the next slot by turns to spread packets between connections with the same queues
+        for (int i = 0; i < length; i++) {
+
+            final ConnectionOwner owner = slots[(start + i) % length].owner;
+
+            if (owner == null || !owner.isConnected()) {
+                continue;
+            }
+
+            final long waitPackets = owner.getConnection().getMetrics().getWaitPackets();
+
+            if (waitPackets < minWaitPackets) {
+                minWaitPackets = waitPackets;
+                result = owner;
+                if (waitPackets == 0) break;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean sendPacket(@NotNull final SendablePacket packet) {
+
+        final ConnectionOwner owner = next();
+
+        if (owner == null) {
+            return false;
+        }
+
+        owner.sendPacket(packet);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return slots.length;
+    }
+
+    @Override
+    public int getConnectedCount() {
+
+        int count = 0;
+
+        for (final Slot slot : slots) {
+            final ConnectionOwner owner = slot.owner;
+            if (owner != null && owner.isConnected()) count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void close() {
+
+        closed = true;
+        executor.shutdownNow();
+
+        for (final Slot slot : slots) {
+            slot.close();
+        }
+    }
+
+    private static void closeChannel(@NotNull final AsynchronousSocketChannel channel) {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultClientConnectionPool{" +
+                "address=" + address +
+                ", routing=" + routing +
+                ", size=" + slots.length +
+                ", connected=" + getConnectedCount() +
+                '}';
+    }
+}
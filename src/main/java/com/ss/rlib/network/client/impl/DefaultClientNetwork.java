@@ -68,4 +68,30 @@ public final class DefaultClientNetwork extends AbstractAsynchronousNetwork impl
 
         channel.connect(serverAddress, channel, connectHandler);
     }
+
+    @Override
+    public void connect(@NotNull final InetSocketAddress serverAddress, @NotNull final ConnectHandler handler) {
+
+        final AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(group);
+        } catch (final IOException e) {
+            handler.onFailed(e);
+            return;
+        }
+
+        try {
+            channel.connect(serverAddress, channel, handler);
+        } catch (final RuntimeException e) {
+
+            // the channel isn't given to the handler, so it should be closed here
+            try {
+                channel.close();
+            } catch (final IOException ex) {
+                LOGGER.warning(this, ex);
+            }
+
+            throw e;
+        }
+    }
 }
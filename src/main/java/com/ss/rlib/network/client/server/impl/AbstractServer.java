@@ -1,7 +1,9 @@
 package com.ss.rlib.network.client.server.impl;
 
 import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.PacketDispatcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.network.AsyncConnection;
 import com.ss.rlib.network.client.server.Server;
 import com.ss.rlib.network.impl.AbstractConnectionOwner;
@@ -22,4 +24,16 @@ public abstract class AbstractServer extends AbstractConnectionOwner implements
     protected AbstractServer(@NotNull final AsyncConnection connection, @NotNull final NetworkCrypt crypt) {
         super(connection, crypt);
     }
+
+    /**
+     * Instantiates a new Abstract server.
+     *
+     * @param connection the connection
+     * @param crypt      the crypt
+     * @param dispatcher the dispatcher to execute received packets out of network threads.
+     */
+    protected AbstractServer(@NotNull final AsyncConnection connection, @NotNull final NetworkCrypt crypt,
+                             @Nullable final PacketDispatcher dispatcher) {
+        super(connection, crypt, dispatcher);
+    }
 }
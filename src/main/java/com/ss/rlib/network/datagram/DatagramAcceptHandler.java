@@ -0,0 +1,19 @@
+package com.ss.rlib.network.datagram;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a handler of datagrams from new remote addresses.
+ *
+ * @author JavaSaBr
+ */
+@FunctionalInterface
+public interface DatagramAcceptHandler {
+
+    /**
+     * Handle a new connection, the handler should set an owner to the connection to read its packets.
+     *
+     * @param connection the new connection.
+     */
+    void onAccept(@NotNull DatagramConnection connection);
+}
@@ -0,0 +1,71 @@
+package com.ss.rlib.network.datagram;
+
+import com.ss.rlib.network.NetworkConfig;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The interface to implement a config of a datagram network.
+ *
+ * @author JavaSaBr
+ */
+public interface DatagramConfig extends NetworkConfig {
+
+    /**
+     * Gets max datagram size.
+     *
+     * @return the max size of a datagram including its header, packets can't be fragmented.
+     */
+    default int getMaxDatagramSize() {
+        return 1400;
+    }
+
+    /**
+     * Gets retransmit interval.
+     *
+     * @return the time in ms to wait for acknowledgement of a reliable packet before sending it again.
+     */
+    default long getRetransmitInterval() {
+        return 200;
+    }
+
+    /**
+     * Gets max retransmits.
+     *
+     * @return the max count of sending a reliable packet again before dropping it.
+     */
+    default int getMaxRetransmits() {
+        return 5;
+    }
+
+    /**
+     * Gets max connections.
+     *
+     * @return the max count of connections which were accepted from new remote addresses, datagrams from new remote
+     * addresses are dropped after reaching it, 0 if the count isn't limited. Connections which were opened by
+     * {@link DatagramNetwork#connect(java.net.SocketAddress)} aren't counted.
+     */
+    default int getMaxConnections() {
+        return 1024;
+    }
+
+    /**
+     * Gets accepted idle timeout.
+     *
+     * @return the time in ms without activity to close connections which were accepted from new remote addresses, 0
+     * if they aren't closed.
+     */
+    default long getAcceptedIdleTimeout() {
+        return 60_000;
+    }
+
+    /**
+     * Gets delivery.
+     *
+     * @param packetTypeId the id of a packet type.
+     * @return the delivery mode of packets of the type.
+     */
+    @NotNull
+    default DatagramDelivery getDelivery(final int packetTypeId) {
+        return DatagramDelivery.UNRELIABLE;
+    }
+}
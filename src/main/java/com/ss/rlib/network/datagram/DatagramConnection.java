@@ -0,0 +1,29 @@
+package com.ss.rlib.network.datagram;
+
+import com.ss.rlib.network.AsyncConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.SocketAddress;
+
+/**
+ * The interface to implement a virtual connection with a remote address of a datagram network.
+ *
+ * @author JavaSaBr
+ */
+public interface DatagramConnection extends AsyncConnection {
+
+    /**
+     * Get a remote address of this connection.
+     *
+     * @return the remote address.
+     */
+    @NotNull
+    SocketAddress getRemoteAddress();
+
+    /**
+     * Get count of reliable packets which are waiting for acknowledgement.
+     *
+     * @return the count of not acknowledged reliable packets.
+     */
+    int getPendingReliablePackets();
+}
@@ -0,0 +1,22 @@
+package com.ss.rlib.network.datagram;
+
+/**
+ * The list of delivery modes of datagram packets.
+ *
+ * @author JavaSaBr
+ */
+public enum DatagramDelivery {
+    /**
+     * A packet can be lost, duplicated or reordered.
+     */
+    UNRELIABLE,
+    /**
+     * A packet can be lost, but packets older than the last received packet of the same type are dropped.
+     */
+    SEQUENCED,
+    /**
+     * A packet is acknowledged by the receiver and is sent again until acknowledgement, duplicates are dropped, but
+     * packets can be reordered.
+     */
+    RELIABLE
+}
@@ -0,0 +1,57 @@
+package com.ss.rlib.network.datagram;
+
+import com.ss.rlib.network.AsynchronousNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+
+/**
+ * The interface to implement a datagram network. Every remote address has own connection with own owner.
+ *
+ * @author JavaSaBr
+ */
+public interface DatagramNetwork extends AsynchronousNetwork {
+
+    /**
+     * Start receiving datagrams on a local address.
+     *
+     * @param address the local address.
+     * @throws IOException if the socket can't be bound.
+     */
+    void bind(@NotNull SocketAddress address) throws IOException;
+
+    /**
+     * Get or create a connection to a remote address, the network is bound to any local port if it isn't bound yet.
+     *
+     * @param address the remote address.
+     * @return the connection.
+     * @throws IOException if the socket can't be bound.
+     */
+    @NotNull
+    DatagramConnection connect(@NotNull SocketAddress address) throws IOException;
+
+    /**
+     * Get a local address of this network.
+     *
+     * @return the local address or null if the network isn't bound yet.
+     * @throws IOException the io exception
+     */
+    @Nullable
+    SocketAddress getLocalAddress() throws IOException;
+
+    /**
+     * Get a connection of a remote address.
+     *
+     * @param address the remote address.
+     * @return the connection or null.
+     */
+    @Nullable
+    DatagramConnection getConnection(@NotNull SocketAddress address);
+
+    /**
+     * Close all connections and the socket of this network.
+     */
+    void shutdown();
+}
@@ -0,0 +1,644 @@
+package com.ss.rlib.network.datagram.impl;
+
+import static com.ss.rlib.network.packet.ReadablePacketType.getPacketType;
+import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.IdleStateManager;
+import com.ss.rlib.network.NetworkMetrics;
+import com.ss.rlib.network.datagram.DatagramConfig;
+import com.ss.rlib.network.datagram.DatagramConnection;
+import com.ss.rlib.network.datagram.DatagramDelivery;
+import com.ss.rlib.network.impl.DefaultNetworkMetrics;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
+import com.ss.rlib.util.ClassUtils;
+import com.ss.rlib.util.dictionary.DictionaryFactory;
+import com.ss.rlib.util.dictionary.IntegerDictionary;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The base implementation of a datagram connection. A datagram has the header with flags and an optional sequence
+ * number and the packet data from its type id which is encrypted by the owner:
+ * <pre>
+ * [flags: 1 byte][sequence: 4 bytes, only for sequenced and reliable packets][type id: 2 bytes][data]
+ * </pre>
+ *
+ * @author JavaSaBr
+ */
+public class DefaultDatagramConnection implements DatagramConnection {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(DatagramConnection.class);
+
+    /**
+     * The max size of a datagram header.
+     */
+    static final int HEADER_SIZE = 5;
+
+    /**
+     * The flag of a sequenced packet.
+     */
+    static final byte FLAG_SEQUENCED = 0x1;
+
+    /**
+     * The flag of a reliable packet.
+     */
+    static final byte FLAG_RELIABLE = 0x2;
+
+    /**
+     * The flag of an acknowledgement.
+     */
+    static final byte FLAG_ACK = 0x4;
+
+    /**
+     * The size of the window to detect duplicated reliable packets.
+     */
+    private static final int RELIABLE_WINDOW = Long.SIZE;
+
+    /**
+     * The reliable packet which is waiting for acknowledgement.
+     */
+    private static final class PendingDatagram {
+
+        /**
+         * The datagram.
+         */
+        @NotNull
+        private final ByteBuffer buffer;
+
+        /**
+         * The time of last sending.
+         */
+        private long time;
+
+        /**
+         * The count of sending again.
+         */
+        private int retransmits;
+
+        /**
+         * The flag of returning the buffer.
+         */
+        private boolean released;
+
+        private PendingDatagram(@NotNull final ByteBuffer buffer, final long time) {
+            this.buffer = buffer;
+            this.time = time;
+        }
+    }
+
+    /**
+     * The network.
+     */
+    @NotNull
+    private final DefaultDatagramNetwork network;
+
+    /**
+     * The config.
+     */
+    @NotNull
+    private final DatagramConfig config;
+
+    /**
+     * The remote address.
+     */
+    @NotNull
+    private final SocketAddress remoteAddress;
+
+    /**
+     * The metrics of this connection.
+     */
+    @NotNull
+    private final DefaultNetworkMetrics metrics;
+
+    /**
+     * The lock.
+     */
+    @NotNull
+    private final Lock lock;
+
+    /**
+     * The closing state.
+     */
+    @NotNull
+    private final AtomicBoolean closed;
+
+    /**
+     * The last sequence number of sent sequenced packets.
+     */
+    @NotNull
+    private final AtomicInteger sequence;
+
+    /**
+     * The last sequence number of sent reliable packets.
+     */
+    @NotNull
+    private final AtomicInteger reliableSequence;
+
+    /**
+     * The reliable packets which are waiting for acknowledgement.
+     */
+    @NotNull
+    private final ConcurrentHashMap<Integer, PendingDatagram> pendingDatagrams;
+
+    /**
+     * The last sequence numbers of received sequenced packets by packet types, it's used only by the receive thread.
+     */
+    @NotNull
+    private final IntegerDictionary<int[]> lastSequences;
+
+    /**
+     * The first sequence number of the window of received reliable packets, all previous packets are received.
+     */
+    private int reliableBase;
+
+    /**
+     * The mask of received reliable packets in the window.
+     */
+    private long reliableMask;
+
+    /**
+     * The connection's owner.
+     */
+    @Nullable
+    private volatile ConnectionOwner owner;
+
+    /**
+     * True if this connection was accepted from a new remote address.
+     */
+    private volatile boolean accepted;
+
+    /**
+     * The time of last activity.
+     */
+    private volatile long lastActivity;
+
+    /**
+     * The time of last reading.
+     */
+    private volatile long lastReadTime;
+
+    /**
+     * The time of last writing.
+     */
+    private volatile long lastWriteTime;
+
+    /**
+     * Instantiates a new Default datagram connection.
+     *
+     * @param network       the network.
+     * @param remoteAddress the remote address.
+     */
+    public DefaultDatagramConnection(@NotNull final DefaultDatagramNetwork network,
+                                     @NotNull final SocketAddress remoteAddress) {
+        this.network = network;
+        this.config = network.getDatagramConfig();
+        this.remoteAddress = remoteAddress;
+        this.metrics = new DefaultNetworkMetrics((DefaultNetworkMetrics) network.getMetrics());
+        this.lock = LockFactory.newReentrantLock();
+        this.closed = new AtomicBoolean();
+        this.sequence = new AtomicInteger();
+        this.reliableSequence = new AtomicInteger();
+        this.pendingDatagrams = new ConcurrentHashMap<>();
+        this.lastSequences = DictionaryFactory.newIntegerDictionary();
+        this.reliableBase = 1;
+
+        final long currentTime = System.currentTimeMillis();
+
+        this.lastActivity = currentTime;
+        this.lastReadTime = currentTime;
+        this.lastWriteTime = currentTime;
+
+        final IdleStateManager idleStateManager = network.getIdleStateManager();
+
+        if (idleStateManager != null) {
+            idleStateManager.register(this);
+        }
+    }
+
+    /**
+     * Handle a received datagram, can be called only by the receive thread.
+     *
+     * @param buffer the datagram.
+     */
+    void receive(@NotNull final ByteBuffer buffer) {
+        if (isClosed()) return;
+
+        final long currentTime = System.currentTimeMillis();
+        final int size = buffer.remaining();
+
+        setLastActivity(currentTime);
+        lastReadTime = currentTime;
+        metrics.addReceivedBytes(size);
+
+        if (size < 1) {
+            metrics.addDroppedSegment();
+            return;
+        }
+
+        final byte flags = buffer.get();
+
+        if ((flags & FLAG_ACK) != 0) {
+            while (buffer.remaining() >= Integer.BYTES) acknowledge(buffer.getInt());
+            return;
+        }
+
+        final boolean hasSequence = (flags & (FLAG_SEQUENCED | FLAG_RELIABLE)) != 0;
+        final int sequence = hasSequence && buffer.remaining() >= Integer.BYTES ? buffer.getInt() : 0;
+        final ConnectionOwner owner = getOwner();
+
+        if (owner == null || buffer.remaining() < Short.BYTES || hasSequence && sequence == 0) {
+            metrics.addDroppedSegment();
+            return;
+        }
+
+        if ((flags & FLAG_RELIABLE) != 0) {
+
+            try {
+                network.sendAck(sequence, remoteAddress);
+            } catch (final IOException e) {
+                if (config.isVisibleWriteException()) LOGGER.warning(this, e);
+            }
+
+            if (!registerReliable(sequence)) {
+                metrics.addDroppedSegment();
+                return;
+            }
+        }
+
+        owner.decrypt(buffer, buffer.position(), buffer.remaining());
+
+        final int packetTypeId = buffer.getShort() & 0xFFFF;
+
+        if ((flags & FLAG_SEQUENCED) != 0 && isStale(packetTypeId, sequence)) {
+            metrics.addDroppedSegment();
+            return;
+        }
+
+        final ReadablePacketType<ReadablePacket> packetType = getPacketType(packetTypeId);
+        final ReadablePacket packet = ClassUtils.unsafeCast(packetType.newInstance());
+
+        metrics.addReceivedPacket(packetTypeId, size);
+        owner.readPacket(packet, buffer);
+    }
+
+    /**
+     * Check and update the last sequence number of received packets of the type.
+     *
+     * @param packetTypeId the packet type id.
+     * @param sequence     the sequence number of a received packet.
+     * @return true if a newer packet of the type was already received.
+     */
+    private boolean isStale(final int packetTypeId, final int sequence) {
+
+        final int[] last = lastSequences.get(packetTypeId);
+
+        if (last == null) {
+            lastSequences.put(packetTypeId, new int[]{sequence});
+            return false;
+        } else if (sequence - last[0] <= 0) {
+            return true;
+        }
+
+        last[0] = sequence;
+        return false;
+    }
+
+    /**
+     * Register a received reliable packet in the window of received packets.
+     *
+     * @param sequence the sequence number of the packet.
+     * @return false if the packet is a duplicate.
+     */
+    private boolean registerReliable(final int sequence) {
+
+        int offset = sequence - reliableBase;
+
+        if (offset < 0) {
+            return false;
+        } else if (offset >= RELIABLE_WINDOW) {
+            // too old not received packets are considered as lost
+            final int shift = offset - RELIABLE_WINDOW + 1;
+            reliableMask = shift >= RELIABLE_WINDOW ? 0 : reliableMask >>> shift;
+            reliableBase += shift;
+            offset -= shift;
+        }
+
+        final long bit = 1L << offset;
+
+        if ((reliableMask & bit) != 0) {
+            return false;
+        }
+
+        reliableMask |= bit;
+
+        while ((reliableMask & 1) != 0) {
+            reliableMask >>>= 1;
+            reliableBase++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Handle an acknowledgement of a reliable packet.
+     *
+     * @param sequence the sequence number of the packet.
+     */
+    private void acknowledge(final int sequence) {
+
+        final PendingDatagram datagram = pendingDatagrams.remove(sequence);
+
+        if (datagram != null) {
+            release(datagram);
+        }
+    }
+
+    /**
+     * Send not acknowledged reliable packets again.
+     *
+     * @param currentTime the current time.
+     */
+    void retransmit(final long currentTime) {
+
+        final long interval = config.getRetransmitInterval();
+        final int maxRetransmits = config.getMaxRetransmits();
+
+        for (final Integer sequence : pendingDatagrams.keySet()) {
+
+            final PendingDatagram datagram = pendingDatagrams.get(sequence);
+
+            if (datagram == null || currentTime - datagram.time < interval) {
+                continue;
+            } else if (datagram.retransmits >= maxRetransmits) {
+                if (pendingDatagrams.remove(sequence, datagram)) {
+                    metrics.addDroppedPacket();
+                    release(datagram);
+                }
+                continue;
+            }
+
+            synchronized (datagram) {
+                if (datagram.released) continue;
+                datagram.retransmits++;
+                datagram.time = currentTime;
+                send(datagram.buffer.duplicate());
+            }
+        }
+    }
+
+    /**
+     * Return the buffer of an acknowledged or dropped reliable packet.
+     *
+     * @param datagram the reliable packet.
+     */
+    private void release(@NotNull final PendingDatagram datagram) {
+        synchronized (datagram) {
+            if (datagram.released) return;
+            datagram.released = true;
+            network.putWriteBuffer(datagram.buffer);
+        }
+    }
+
+    @Override
+    public void sendPacket(@NotNull final SendablePacket packet) {
+
+        final ConnectionOwner owner = getOwner();
+        final int maxSize = config.getMaxDatagramSize();
+
+        if (isClosed() || owner == null || packet.getEstimatedSize() > maxSize - HEADER_SIZE) {
+            if (!isClosed()) LOGGER.warning(this, "can't send the packet " + packet);
+            metrics.addDroppedPacket();
+            completed(packet);
+            return;
+        }
+
+        final ByteBuffer buffer = network.getBufferArena().take(maxSize);
+        final DatagramDelivery delivery;
+        try {
+
+            buffer.clear();
+            buffer.limit(maxSize);
+            buffer.position(HEADER_SIZE);
+
+            packet.write(buffer);
+            buffer.flip();
+
+            delivery = config.getDelivery(buffer.getShort(HEADER_SIZE) & 0xFFFF);
+
+            owner.encrypt(buffer, HEADER_SIZE, buffer.limit() - HEADER_SIZE);
+
+        } catch (final RuntimeException e) {
+            LOGGER.warning(this, new Exception("incorrect write packet " + packet, e));
+            network.putWriteBuffer(buffer);
+            metrics.addDroppedPacket();
+            completed(packet);
+            return;
+        }
+
+        metrics.addSentPackets(1);
+
+        if (delivery == DatagramDelivery.UNRELIABLE) {
+            buffer.put(HEADER_SIZE - 1, (byte) 0);
+            buffer.position(HEADER_SIZE - 1);
+            send(buffer);
+            network.putWriteBuffer(buffer);
+        } else if (delivery == DatagramDelivery.SEQUENCED) {
+            buffer.put(0, FLAG_SEQUENCED);
+            buffer.putInt(1, nextSequence(this.sequence));
+            send(buffer);
+            network.putWriteBuffer(buffer);
+        } else {
+
+            final int sequence = nextSequence(reliableSequence);
+            final PendingDatagram datagram = new PendingDatagram(buffer, System.currentTimeMillis());
+
+            buffer.put(0, FLAG_RELIABLE);
+            buffer.putInt(1, sequence);
+
+            pendingDatagrams.put(sequence, datagram);
+
+            // the connection could be closed after the check above, so its pending datagrams were already released
+            if (isClosed()) {
+                pendingDatagrams.remove(sequence, datagram);
+                release(datagram);
+            }
+
+            synchronized (datagram) {
+                if (!datagram.released) send(buffer.duplicate());
+            }
+        }
+
+        completed(packet);
+    }
+
+    /**
+     * Get a next sequence number, the zero number is skipped.
+     *
+     * @param counter the counter of sequence numbers.
+     * @return the next sequence number.
+     */
+    private static int nextSequence(@NotNull final AtomicInteger counter) {
+        final int sequence = counter.incrementAndGet();
+        return sequence == 0 ? counter.incrementAndGet() : sequence;
+    }
+
+    /**
+     * Send a datagram to the remote address.
+     *
+     * @param buffer the datagram.
+     */
+    private void send(@NotNull final ByteBuffer buffer) {
+        try {
+
+            final int sent = network.send(buffer, remoteAddress);
+            final long currentTime = System.currentTimeMillis();
+
+            setLastActivity(currentTime);
+            lastWriteTime = currentTime;
+            metrics.addSentBytes(sent);
+
+        } catch (final IOException e) {
+            if (config.isVisibleWriteException()) LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Handle a completed packet.
+     *
+     * @param packet the sent packet.
+     */
+    protected void completed(@NotNull final SendablePacket packet) {
+        if (packet instanceof AbstractReusableSendablePacket) {
+            ((AbstractReusableSendablePacket) packet).complete();
+        }
+    }
+
+    @NotNull
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public int getPendingReliablePackets() {
+        return pendingDatagrams.size();
+    }
+
+    @Nullable
+    @Override
+    public ConnectionOwner getOwner() {
+        return owner;
+    }
+
+    @Override
+    public void setOwner(@Nullable final ConnectionOwner owner) {
+
+        if (owner != null && owner.isStreamCrypt()) {
+            throw new IllegalArgumentException("stream crypts can't be used with datagrams.");
+        }
+
+        this.owner = owner;
+    }
+
+    @Override
+    public void close() {
+
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        network.remove(this);
+
+        for (final Integer sequence : pendingDatagrams.keySet()) {
+            final PendingDatagram datagram = pendingDatagrams.remove(sequence);
+            if (datagram != null) release(datagram);
+        }
+
+        final IdleStateManager idleStateManager = network.getIdleStateManager();
+        if (idleStateManager != null) idleStateManager.unregister(this);
+    }
+
+    /**
+     * Is accepted boolean.
+     *
+     * @return true if this connection was accepted from a new remote address.
+     */
+    boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Sets accepted.
+     *
+     * @param accepted true if this connection was accepted from a new remote address.
+     */
+    void setAccepted(final boolean accepted) {
+        this.accepted = accepted;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    @Override
+    public void setLastActivity(final long lastActivity) {
+        this.lastActivity = lastActivity;
+    }
+
+    @Override
+    public long getLastReadTime() {
+        return lastReadTime;
+    }
+
+    @Override
+    public long getLastWriteTime() {
+        return lastWriteTime;
+    }
+
+    @NotNull
+    @Override
+    public NetworkMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void startRead() {
+        // datagrams are received by the network
+    }
+
+    @Override
+    public void lock() {
+        lock.lock();
+    }
+
+    @Override
+    public void unlock() {
+        lock.unlock();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultDatagramConnection{" + "remoteAddress=" + remoteAddress + ", closed=" + closed +
+                ", pendingDatagrams=" + pendingDatagrams.size() + '}';
+    }
+}
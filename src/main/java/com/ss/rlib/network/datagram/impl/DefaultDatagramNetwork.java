@@ -0,0 +1,336 @@
+package com.ss.rlib.network.datagram.impl;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.datagram.DatagramAcceptHandler;
+import com.ss.rlib.network.datagram.DatagramConfig;
+import com.ss.rlib.network.datagram.DatagramConnection;
+import com.ss.rlib.network.datagram.DatagramNetwork;
+import com.ss.rlib.network.impl.AbstractAsynchronousNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The base implementation of a datagram network. All datagrams are received by one thread which reads packets of
+ * connections, packets are sent directly by threads which send them.
+ *
+ * @author JavaSaBr
+ */
+public class DefaultDatagramNetwork extends AbstractAsynchronousNetwork implements DatagramNetwork, Runnable {
+
+    /**
+     * The datagram config.
+     */
+    @NotNull
+    private final DatagramConfig datagramConfig;
+
+    /**
+     * The datagram channel.
+     */
+    @NotNull
+    private final DatagramChannel channel;
+
+    /**
+     * The connections by remote addresses.
+     */
+    @NotNull
+    private final ConcurrentHashMap<SocketAddress, DefaultDatagramConnection> connections;
+
+    /**
+     * The count of connections which were accepted from new remote addresses.
+     */
+    @NotNull
+    private final AtomicInteger acceptedConnections;
+
+    /**
+     * The executor to send not acknowledged reliable packets again.
+     */
+    @NotNull
+    private final ScheduledExecutorService retransmitExecutor;
+
+    /**
+     * The thread to receive datagrams.
+     */
+    @NotNull
+    private final Thread receiveThread;
+
+    /**
+     * The buffer to send acknowledgements, it's used only by the receive thread.
+     */
+    @NotNull
+    private final ByteBuffer ackBuffer;
+
+    /**
+     * The handler of new remote addresses or null if datagrams from unknown addresses are dropped.
+     */
+    @Nullable
+    private final DatagramAcceptHandler acceptHandler;
+
+    /**
+     * The flag of running this network.
+     */
+    private volatile boolean running;
+
+    /**
+     * Instantiates a new Default datagram network.
+     *
+     * @param config        the config
+     * @param acceptHandler the handler of new remote addresses or null.
+     * @throws IOException the io exception
+     */
+    public DefaultDatagramNetwork(@NotNull final DatagramConfig config,
+                                  @Nullable final DatagramAcceptHandler acceptHandler) throws IOException {
+        super(config);
+
+        final GroupThreadFactory threadFactory = new GroupThreadFactory(config.getGroupName(),
+                config.getThreadClass(), config.getThreadPriority());
+
+        final long interval = Math.max(config.getRetransmitInterval() / 2, 10);
+
+        this.datagramConfig = config;
+        this.acceptHandler = acceptHandler;
+        this.channel = DatagramChannel.open();
+        this.connections = new ConcurrentHashMap<>();
+        this.acceptedConnections = new AtomicInteger();
+        this.ackBuffer = bufferArena.take(DefaultDatagramConnection.HEADER_SIZE + Integer.BYTES);
+        this.receiveThread = threadFactory.newThread(this);
+        this.retransmitExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, config.getGroupName() + "-retransmit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retransmitExecutor.scheduleWithFixedDelay(this::retransmit, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets datagram config.
+     *
+     * @return the datagram config.
+     */
+    @NotNull
+    public DatagramConfig getDatagramConfig() {
+        return datagramConfig;
+    }
+
+    @Override
+    public synchronized void bind(@NotNull final SocketAddress address) throws IOException {
+        channel.bind(address);
+        start();
+    }
+
+    @NotNull
+    @Override
+    public synchronized DatagramConnection connect(@NotNull final SocketAddress address) throws IOException {
+
+        if (channel.getLocalAddress() == null) {
+            channel.bind(null);
+            start();
+        }
+
+        return connections.computeIfAbsent(address, remote -> new DefaultDatagramConnection(this, remote));
+    }
+
+    /**
+     * Start receiving datagrams.
+     */
+    private void start() {
+        running = true;
+        receiveThread.start();
+    }
+
+    @Nullable
+    @Override
+    public SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Nullable
+    @Override
+    public DatagramConnection getConnection(@NotNull final SocketAddress address) {
+        return connections.get(address);
+    }
+
+    @Override
+    public void run() {
+
+        final int maxSize = datagramConfig.getMaxDatagramSize();
+        final ByteBuffer buffer = bufferArena.take(maxSize);
+
+        while (running) {
+            try {
+
+                buffer.clear();
+                buffer.limit(maxSize);
+
+                final SocketAddress address = channel.receive(buffer);
+                if (address == null) continue;
+
+                buffer.flip();
+                receive(address, buffer);
+
+            } catch (final ClosedChannelException e) {
+                break;
+            } catch (final Exception e) {
+                if (config.isVisibleReadException()) LOGGER.warning(this, e);
+            }
+        }
+
+        bufferArena.put(buffer);
+    }
+
+    /**
+     * Handle a received datagram.
+     *
+     * @param address the remote address.
+     * @param buffer  the datagram.
+     */
+    private void receive(@NotNull final SocketAddress address, @NotNull final ByteBuffer buffer) {
+
+        DefaultDatagramConnection connection = connections.get(address);
+
+        if (connection == null) {
+
+            final DatagramAcceptHandler acceptHandler = this.acceptHandler;
+
+            final int maxConnections = datagramConfig.getMaxConnections();
+
+            // connections are accepted only by this thread, so the limit can't be exceeded, connections which were
+            // opened by connect() aren't counted
+            if (acceptHandler == null || maxConnections > 0 && acceptedConnections.get() >= maxConnections) {
+                metrics.addDroppedSegment();
+                return;
+            }
+
+            final DefaultDatagramConnection newConnection = new DefaultDatagramConnection(this, address);
+            newConnection.setAccepted(true);
+
+            connection = connections.putIfAbsent(address, newConnection);
+
+            if (connection == null) {
+                acceptedConnections.incrementAndGet();
+                connection = newConnection;
+                acceptHandler.onAccept(connection);
+            }
+        }
+
+        connection.receive(buffer);
+    }
+
+    /**
+     * Send a datagram.
+     *
+     * @param buffer  the datagram.
+     * @param address the remote address.
+     * @return the count of sent bytes.
+     * @throws IOException the io exception
+     */
+    int send(@NotNull final ByteBuffer buffer, @NotNull final SocketAddress address) throws IOException {
+        return channel.send(buffer, address);
+    }
+
+    /**
+     * Send an acknowledgement of a reliable packet, can be called only by the receive thread.
+     *
+     * @param sequence the sequence number of the packet.
+     * @param address  the remote address.
+     * @throws IOException the io exception
+     */
+    void sendAck(final int sequence, @NotNull final SocketAddress address) throws IOException {
+
+        final ByteBuffer buffer = ackBuffer;
+        buffer.clear();
+        buffer.put(DefaultDatagramConnection.FLAG_ACK);
+        buffer.putInt(sequence);
+        buffer.flip();
+
+        channel.send(buffer, address);
+    }
+
+    /**
+     * Send not acknowledged reliable packets of all connections again and close idle accepted connections.
+     */
+    private void retransmit() {
+
+        final long currentTime = System.currentTimeMillis();
+        final long idleTimeout = datagramConfig.getAcceptedIdleTimeout();
+
+        for (final DefaultDatagramConnection connection : connections.values()) {
+            try {
+
+                if (idleTimeout > 0 && connection.isAccepted() &&
+                        currentTime - connection.getLastActivity() > idleTimeout) {
+                    closeIdle(connection);
+                    continue;
+                }
+
+                connection.retransmit(currentTime);
+
+            } catch (final Exception e) {
+                LOGGER.warning(this, e);
+            }
+        }
+    }
+
+    /**
+     * Close an idle accepted connection by its owner if it has it.
+     *
+     * @param connection the connection.
+     */
+    private void closeIdle(@NotNull final DefaultDatagramConnection connection) {
+
+        final ConnectionOwner owner = connection.getOwner();
+
+        if (owner != null) {
+            owner.close();
+        }
+
+        connection.close();
+    }
+
+    /**
+     * Remove a closed connection.
+     *
+     * @param connection the connection.
+     */
+    void remove(@NotNull final DefaultDatagramConnection connection) {
+        if (connections.remove(connection.getRemoteAddress(), connection) && connection.isAccepted()) {
+            acceptedConnections.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+
+        running = false;
+        retransmitExecutor.shutdownNow();
+
+        for (final DefaultDatagramConnection connection : connections.values()) {
+            connection.close();
+        }
+
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultDatagramNetwork{" +
+                "channel=" + channel +
+                ", connections=" + connections.size() +
+                "} " + super.toString();
+    }
+}
@@ -3,19 +3,25 @@ package com.ss.rlib.network.impl;
 import static com.ss.rlib.network.packet.ReadablePacketType.getPacketType;
 import static java.util.Objects.requireNonNull;
 import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.network.AsyncConnection;
 import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.BackpressurePolicy;
 import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.FrameCodec;
+import com.ss.rlib.network.IdleStateManager;
 import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkMetrics;
+import com.ss.rlib.network.PacketCompression;
 import com.ss.rlib.network.packet.ReadablePacket;
 import com.ss.rlib.network.packet.ReadablePacketType;
 import com.ss.rlib.network.packet.SendablePacket;
 import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
 import com.ss.rlib.util.ClassUtils;
-import com.ss.rlib.util.linkedlist.LinkedList;
-import com.ss.rlib.util.linkedlist.LinkedListFactory;
+import com.ss.rlib.util.array.ArrayFactory;
+import com.ss.rlib.util.array.LongArray;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -23,9 +29,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousSocketChannel;
 import java.nio.channels.CompletionHandler;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.zip.DataFormatException;
 
 /**
  * The base implementation of the Async Connection.
@@ -39,10 +49,6 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
      */
     protected static final Logger LOGGER = LoggerManager.getLogger(AsyncConnection.class);
 
-    /**
-     * The constant SIZE_BYTES_SIZE.
-     */
-    protected static final int SIZE_BYTES_SIZE = 2;
     /**
      * The constant READ_PACKET_LIMIT.
      */
@@ -51,6 +57,14 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
      * The constant WAIT_SEGMENT_LIMIT.
      */
     protected static final int WAIT_SEGMENT_LIMIT = 10;
+    /**
+     * The count of consecutive reads which end with a not completed packet to grow the read buffer.
+     */
+    protected static final int GROW_FRAGMENTED_READS = 2;
+    /**
+     * The count of consecutive small reads to shrink the read buffer.
+     */
+    protected static final int SHRINK_SMALL_READS = 16;
 
     /**
      * The network.
@@ -59,10 +73,56 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     protected final AsynchronousNetwork network;
 
     /**
-     * The list of waited packets.
+     * The queue of waited packets.
+     */
+    @NotNull
+    protected final MPSCLinkedQueue<WaitPacket> waitPackets;
+
+    /**
+     * The count of waited packets, it's updated only if limits of waited packets are enabled.
+     */
+    @NotNull
+    protected final AtomicInteger waitSize;
+
+    /**
+     * The estimated size of waited packets, it's updated only if limits of waited packets are enabled.
+     */
+    @NotNull
+    protected final AtomicLong waitBytes;
+
+    /**
+     * The last waited packets by packet classes to coalesce them.
+     */
+    @Nullable
+    protected final ConcurrentMap<Class<?>, WaitPacket> lastWaitPackets;
+
+    /**
+     * The lock to take packets from the queue by several threads if limits of waited packets are enabled.
+     */
+    @NotNull
+    protected final Lock pollLock;
+
+    /**
+     * True if limits of waited packets are enabled.
+     */
+    protected final boolean bounded;
+
+    /**
+     * The average size of written packets.
+     */
+    protected volatile int averagePacketSize;
+
+    /**
+     * The times of adding to the queue of packets which are being written, in nanoseconds.
+     */
+    @NotNull
+    protected final LongArray writingTimes;
+
+    /**
+     * The metrics of this connection.
      */
     @NotNull
-    protected final LinkedList<SendablePacket> waitPackets;
+    protected final DefaultNetworkMetrics metrics;
 
     /**
      * The channel.
@@ -71,10 +131,11 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     protected final AsynchronousSocketChannel channel;
 
     /**
-     * The read buffer.
+     * The read buffer which accumulates received data until a whole packet is available, it's replaced by a larger
+     * buffer to receive a packet which is larger than the read buffer.
      */
     @NotNull
-    protected final ByteBuffer readBuffer;
+    protected volatile ByteBuffer readBuffer;
 
     /**
      * The write buffer.
@@ -83,13 +144,66 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     protected final ByteBuffer writeBuffer;
 
     /**
-     * The wait buffer to receive a large packet.
+     * The buffer which is being written to the channel, it's the write buffer or a separate buffer of a large packet.
      */
     @NotNull
-    protected final ByteBuffer waitBuffer;
+    protected volatile ByteBuffer writingBuffer;
 
     /**
-     * The count of received segments of a large packet.
+     * The codec of frame headers.
+     */
+    @NotNull
+    protected final FrameCodec codec;
+
+    /**
+     * The settings of compressing packets or null.
+     */
+    @Nullable
+    protected final PacketCompression compression;
+
+    /**
+     * The context of compressing packets or null.
+     */
+    @Nullable
+    protected final DeflateContext deflateContext;
+
+    /**
+     * The count of bytes which are reserved before packet data for the frame header and the compression flag.
+     */
+    protected final int reservedSize;
+
+    /**
+     * The size of a not completed received frame or 0.
+     */
+    protected int waitPacketSize;
+
+    /**
+     * The min size of the read buffer.
+     */
+    protected final int minReadBufferSize;
+
+    /**
+     * The max size of the read buffer.
+     */
+    protected final int maxReadBufferSize;
+
+    /**
+     * The size of the read buffer which is adapted to received data.
+     */
+    protected int readBufferSize;
+
+    /**
+     * The count of consecutive reads which ended with a not completed packet.
+     */
+    protected int fragmentedReads;
+
+    /**
+     * The count of consecutive reads which were much smaller than the read buffer.
+     */
+    protected int smallReads;
+
+    /**
+     * The count of received segments of a not completed packet.
      */
     @NotNull
     protected final AtomicInteger waitCount;
@@ -129,6 +243,16 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
      */
     protected volatile long lastActivity;
 
+    /**
+     * The time of last reading.
+     */
+    protected volatile long lastReadTime;
+
+    /**
+     * The time of last writing.
+     */
+    protected volatile long lastWriteTime;
+
     /**
      * The read handler.
      */
@@ -137,20 +261,50 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
 
         @Override
         public void completed(@NotNull final Integer result, @NotNull final AbstractAsyncConnection connection) {
-            setLastActivity(System.currentTimeMillis());
+
+            final long currentTime = System.currentTimeMillis();
+
+            setLastActivity(currentTime);
+            lastReadTime = currentTime;
 
             if (result == -1) {
                 finish();
                 return;
             }
 
+            metrics.addReceivedBytes(result);
+
             final ByteBuffer buffer = getReadBuffer();
+            final ConnectionOwner owner = getOwner();
+            final boolean fullRead = !buffer.hasRemaining();
+
+            // all received data is decrypted at once before reading frames
+            if (owner != null && owner.isStreamCrypt()) {
+                owner.decrypt(buffer, buffer.position() - result, result);
+            }
+
             buffer.flip();
             try {
-                if (isReady(buffer)) readPacket(buffer);
+
+                if (isReady(buffer)) {
+
+                    readPacket(buffer);
+
+                    // frames which were left after the limit of read packets are read before the next read
+                    while (hasCompletedFrame(buffer)) {
+                        readPacket(buffer);
+                    }
+
+                    // moves a tail of a not completed packet to the start of the buffer
+                    buffer.compact();
+                    adaptReadBufferSize(result, fullRead, buffer.position() > 0);
+                    resizeReadBuffer(buffer);
+                } else {
+                    buffer.clear();
+                }
+
             } catch (final Exception e) {
                 LOGGER.error(this, e);
-            } finally {
                 buffer.clear();
             }
 
@@ -172,20 +326,29 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
 
         @Override
         public void completed(@NotNull final Integer result, @NotNull final SendablePacket packet) {
-            setLastActivity(System.currentTimeMillis());
+
+            final long currentTime = System.currentTimeMillis();
+
+            setLastActivity(currentTime);
+            lastWriteTime = currentTime;
 
             if (result == -1) {
                 finish();
                 return;
             }
 
-            final ByteBuffer buffer = getWriteBuffer();
+            metrics.addSentBytes(result);
+
+            final ByteBuffer buffer = writingBuffer;
 
             if (buffer.remaining() > 0) {
                 channel.write(buffer, packet, this);
                 return;
             }
 
+            completedWriting();
+            releaseWritingBuffer();
+
             if (isWriting.compareAndSet(true, false)) writeNextPacket();
         }
 
@@ -196,7 +359,9 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
                 LOGGER.warning(this, new Exception("incorrect write packet " + packet, exc));
             }
 
-            if (isClosed()) return;
+            writingTimes.clear();
+            releaseWritingBuffer();
+
             if (isWriting.compareAndSet(true, false)) writeNextPacket();
         }
     };
@@ -212,27 +377,241 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
                                    @NotNull final Class<? extends SendablePacket> sendableType) {
         this.lock = LockFactory.newReentrantLock();
         this.channel = channel;
-        this.waitPackets = LinkedListFactory.newLinkedList(sendableType);
+        this.waitPackets = new MPSCLinkedQueue<>();
         this.network = network;
         this.readBuffer = network.takeReadBuffer();
         this.readBuffer.clear();
         this.writeBuffer = network.takeWriteBuffer();
+        this.writingBuffer = writeBuffer;
         this.config = network.getConfig();
+        this.codec = config.getFrameCodec();
+        this.compression = config.getPacketCompression();
+        this.deflateContext = compression == null ? null : new DeflateContext(compression.getLevel());
+        this.reservedSize = codec.getMaxHeaderSize() + (compression == null ? 0 : 1);
+        this.readBufferSize = config.getReadBufferSize();
+        this.minReadBufferSize = Math.min(config.getMinReadBufferSize(), readBufferSize);
+        this.maxReadBufferSize = Math.max(config.getMaxReadBufferSize(), readBufferSize);
         this.isWriting = new AtomicBoolean(false);
         this.closed = new AtomicBoolean(false);
-        this.waitBuffer = network.takeReadBuffer();
         this.waitCount = new AtomicInteger();
+        this.writingTimes = ArrayFactory.newLongArray();
+        this.waitSize = new AtomicInteger();
+        this.waitBytes = new AtomicLong();
+        this.pollLock = LockFactory.newAtomicLock();
+        this.bounded = config.getMaxWaitPackets() > 0 || config.getMaxWaitBytes() > 0;
+        this.lastWaitPackets = bounded && config.getBackpressurePolicy() == BackpressurePolicy.COALESCE ?
+                new ConcurrentHashMap<>() : null;
+        this.averagePacketSize = config.getWriteBufferSize();
+
+        final NetworkMetrics networkMetrics = network.getMetrics();
+
+        this.metrics = networkMetrics instanceof DefaultNetworkMetrics ?
+                new DefaultNetworkMetrics((DefaultNetworkMetrics) networkMetrics) : new DefaultNetworkMetrics(null);
+
+        final long currentTime = System.currentTimeMillis();
+
+        this.lastActivity = currentTime;
+        this.lastReadTime = currentTime;
+        this.lastWriteTime = currentTime;
+
+        final IdleStateManager idleStateManager = network.getIdleStateManager();
+
+        if (idleStateManager != null) {
+            idleStateManager.register(this);
+        }
     }
 
     /**
-     * Clear waited packets.
+     * Clear waited packets, can be called only by a thread which holds the writing state. Every packet is completed
+     * only once, because the same reusable packet can be waited by several connections.
      */
     protected void clearWaitPackets() {
+        for (WaitPacket waitPacket = pollWaitPacket(); waitPacket != null; waitPacket = pollWaitPacket()) {
+            completed(waitPacket.getPacket());
+        }
+    }
+
+    /**
+     * Take a next waited packet from the queue.
+     *
+     * @return the waited packet or null.
+     */
+    @Nullable
+    protected WaitPacket pollWaitPacket() {
+
+        if (!bounded) {
+            return pollWaitPacketImpl();
+        }
+
+        pollLock.lock();
+        try {
+            return pollWaitPacketImpl();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Take a next waited packet from the queue if its estimated size isn't larger than the max size.
+     *
+     * @param maxSize the max estimated size of the packet.
+     * @return the waited packet or null.
+     */
+    @Nullable
+    protected WaitPacket pollWaitPacket(final int maxSize) {
+
+        if (!bounded) {
+            final WaitPacket waitPacket = waitPackets.peek();
+            if (waitPacket == null || waitPacket.getPacket().getEstimatedSize() > maxSize) return null;
+            return pollWaitPacketImpl();
+        }
+
+        pollLock.lock();
+        try {
+
+            final WaitPacket waitPacket = waitPackets.peek();
+            if (waitPacket == null || waitPacket.getPacket().getEstimatedSize() > maxSize) return null;
+
+            return pollWaitPacketImpl();
+
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    /**
+     * Take a next waited packet from the queue, the poll lock should be held if limits of waited packets are enabled.
+     *
+     * @return the waited packet or null.
+     */
+    @Nullable
+    private WaitPacket pollWaitPacketImpl() {
+
+        final WaitPacket waitPacket = waitPackets.poll();
+        if (waitPacket == null) return null;
+
+        metrics.addWaitPackets(-1);
+
+        if (!bounded) {
+            return waitPacket;
+        }
 
-        waitPackets.forEach(packet -> packet instanceof AbstractReusableSendablePacket,
-                packet -> ((AbstractReusableSendablePacket) packet).forceComplete());
+        waitSize.decrementAndGet();
+        waitBytes.addAndGet(-waitPacket.getSize());
 
-        waitPackets.clear();
+        if (lastWaitPackets != null) {
+            lastWaitPackets.remove(waitPacket.getPacket().getClass(), waitPacket);
+        }
+
+        return waitPacket;
+    }
+
+    /**
+     * Check limits of waited packets.
+     *
+     * @param size the estimated size of a new packet.
+     * @return true if the new packet exceeds the limits.
+     */
+    protected boolean isWaitLimitReached(final int size) {
+        final int maxPackets = config.getMaxWaitPackets();
+        final long maxBytes = config.getMaxWaitBytes();
+        return maxPackets > 0 && waitSize.get() >= maxPackets || maxBytes > 0 && waitBytes.get() + size > maxBytes;
+    }
+
+    /**
+     * Handle reaching limits of waited packets.
+     *
+     * @param packet the new packet.
+     * @param size   the estimated size of the new packet.
+     * @return true if the new packet should be added to the queue.
+     */
+    protected boolean handleWaitLimit(@NotNull final SendablePacket packet, final int size) {
+
+        final BackpressurePolicy policy = config.getBackpressurePolicy();
+
+        switch (policy) {
+            case DROP_OLDEST: {
+
+                while (isWaitLimitReached(size)) {
+
+                    final WaitPacket oldest = pollWaitPacket();
+                    if (oldest == null) break;
+
+                    droppedPacket(oldest.getPacket(), policy);
+                }
+
+                return true;
+            }
+            case COALESCE: {
+
+                SendablePacket replaced = null;
+
+                pollLock.lock();
+                try {
+
+                    final WaitPacket last = requireNonNull(lastWaitPackets).get(packet.getClass());
+
+                    if (last != null) {
+                        replaced = last.getPacket();
+                        waitBytes.addAndGet(size - last.getSize());
+                        last.setPacket(packet, size);
+                    }
+
+                } finally {
+                    pollLock.unlock();
+                }
+
+                droppedPacket(replaced == null ? packet : replaced, policy);
+                return false;
+            }
+            case DISCONNECT: {
+                droppedPacket(packet, policy);
+                finish();
+                return false;
+            }
+            default: {
+                droppedPacket(packet, policy);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Handle a packet which was dropped because of limits of waited packets.
+     *
+     * @param packet the dropped packet.
+     * @param policy the applied policy.
+     */
+    protected void droppedPacket(@NotNull final SendablePacket packet, @NotNull final BackpressurePolicy policy) {
+        metrics.addDroppedPacket();
+
+        final ConnectionOwner owner = getOwner();
+        if (owner != null) owner.notifyWaitLimit(packet, policy);
+
+        completed(packet);
+    }
+
+    /**
+     * Handle a packet which can't be written to a write buffer, the packet is dropped.
+     *
+     * @param packet the dropped packet.
+     * @param exc    the exception of writing.
+     */
+    protected void failedPacket(@NotNull final SendablePacket packet, @NotNull final Exception exc) {
+        LOGGER.warning(this, new Exception("incorrect write packet " + packet, exc));
+        metrics.addDroppedPacket();
+        completed(packet);
+    }
+
+    /**
+     * Get an estimated size of a packet to check limits of waited packets.
+     *
+     * @param packet the packet.
+     * @return the estimated size.
+     */
+    protected int getEstimatedSize(@NotNull final SendablePacket packet) {
+        final int size = packet.getEstimatedSize();
+        return size > 0 ? size : averagePacketSize;
     }
 
     @Override
@@ -257,12 +636,18 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
             final AsynchronousSocketChannel channel = getChannel();
             if (channel.isOpen()) channel.close();
 
-            clearWaitPackets();
+            final IdleStateManager idleStateManager = network.getIdleStateManager();
+            if (idleStateManager != null) idleStateManager.unregister(this);
+
+            // waited packets will be cleared by a current writer or right now
+            writeNextPacket();
 
             final AsynchronousNetwork network = getNetwork();
             network.putReadBuffer(getReadBuffer());
             network.putWriteBuffer(getWriteBuffer());
-            network.putReadBuffer(getWaitBuffer());
+
+            final DeflateContext deflateContext = this.deflateContext;
+            if (deflateContext != null) deflateContext.release();
 
         } catch (final IOException e) {
             LOGGER.warning(this, e);
@@ -279,16 +664,6 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
         if (owner != null) owner.close();
     }
 
-    /**
-     * Gets wait buffer.
-     *
-     * @return the wait buffer to receive a large packet.
-     */
-    @NotNull
-    protected ByteBuffer getWaitBuffer() {
-        return waitBuffer;
-    }
-
     /**
      * Gets remote address.
      *
@@ -308,19 +683,19 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     }
 
     /**
-     * Get data size of the packet.
+     * Gets codec.
      *
-     * @param buffer the packet data buffer.
-     * @return the packet size.
+     * @return the codec of frame headers.
      */
-    protected int getPacketSize(@NotNull final ByteBuffer buffer) {
-        return buffer.getShort() & 0xFFFF;
+    @NotNull
+    protected FrameCodec getCodec() {
+        return codec;
     }
 
     /**
      * Gets wait count.
      *
-     * @return the count of received segments of a large packet.
+     * @return the count of received segments of a not completed packet.
      */
     @NotNull
     protected AtomicInteger getWaitCount() {
@@ -347,6 +722,16 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
         this.lastActivity = lastActivity;
     }
 
+    @Override
+    public final long getLastReadTime() {
+        return lastReadTime;
+    }
+
+    @Override
+    public final long getLastWriteTime() {
+        return lastWriteTime;
+    }
+
     /**
      * Gets lock.
      *
@@ -390,10 +775,10 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     /**
      * Gets wait packets.
      *
-     * @return the list of waited packets.
+     * @return the queue of waited packets.
      */
     @NotNull
-    protected LinkedList<SendablePacket> getWaitPackets() {
+    protected MPSCLinkedQueue<WaitPacket> getWaitPackets() {
         return waitPackets;
     }
 
@@ -417,6 +802,12 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
         return writeHandler;
     }
 
+    @NotNull
+    @Override
+    public NetworkMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public final boolean isClosed() {
         return closed.get();
@@ -452,109 +843,326 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     }
 
     /**
-     * Read the buffer with received data.
+     * Read the buffer with received data. Packets are read directly from the buffer, the tail of a not completed
+     * packet is left at the current position of the buffer to be completed by the next received data.
      *
      * @param buffer the buffer with received data
      */
     protected void readPacket(@NotNull final ByteBuffer buffer) {
 
         final ConnectionOwner owner = requireNonNull(getOwner());
-        final ByteBuffer waitBuffer = getWaitBuffer();
         final AtomicInteger waitCount = getWaitCount();
+        final FrameCodec codec = getCodec();
+        final int maxPacketSize = Math.max(config.getMaxPacketSize(), config.getReadBufferSize());
+        final boolean streamCrypt = owner.isStreamCrypt();
 
-        int currentCount = waitCount.get();
-
-        if (currentCount > WAIT_SEGMENT_LIMIT) {
-            waitBuffer.clear();
-            LOGGER.error(this, "crowded limit segments.");
-        }
+        waitPacketSize = 0;
 
-        // если есть кусок пакета ожидающего
-        if (waitBuffer.position() > 0) {
+        for (int i = 0; buffer.hasRemaining() && i < READ_PACKET_LIMIT; i++) {
 
-            // вливаем весь новый буффер
-            waitBuffer.put(buffer.array(), buffer.position(), buffer.limit() - buffer.position());
-            waitBuffer.flip();
+            final int start = buffer.position();
+            final int size = codec.readPacketSize(buffer);
+            final int dataStart = buffer.position();
+            final int frameSize = dataStart - start + size;
 
-            // очищаем пришедший буффер и вливаем в него новый итоговый буффер
-            buffer.clear();
-            buffer.put(waitBuffer.array(), 0, waitBuffer.limit());
-            buffer.flip();
+            if (size < -1 || size > maxPacketSize || frameSize > maxPacketSize) {
+                LOGGER.error(this, "incorrect packet size " + size + ", the received data will be skipped.");
+                buffer.position(buffer.limit());
+                waitCount.set(0);
+                return;
+            }
 
-            // очищаем ожидающий буффер
-            waitBuffer.clear();
-        }
+            // если пакет еще не пришел полностью, оставляем его в буффере до следующего чтения
+            if (size == -1 || dataStart + size > buffer.limit()) {
 
-        for (int i = 0, limit = 0, size = 0; buffer.remaining() >= SIZE_BYTES_SIZE && i < READ_PACKET_LIMIT; i++) {
+                buffer.position(start);
 
-            size = getPacketSize(buffer);
+                metrics.addFragmentedPacket();
 
-            limit += size;
+                if (waitCount.incrementAndGet() > WAIT_SEGMENT_LIMIT + frameSize / config.getReadBufferSize()) {
+                    LOGGER.error(this, "crowded limit segments.");
+                    metrics.addDroppedSegment();
+                    buffer.position(buffer.limit());
+                    waitCount.set(0);
+                    return;
+                }
 
-            // если пакет не вместился в этот буффер, складываем его в ожидающий
-            // и выходим из цикла
-            if (limit > buffer.limit()) {
+                waitPacketSize = size == -1 ? 0 : frameSize;
+                return;
+            }
 
-                final int offset = buffer.position() - SIZE_BYTES_SIZE;
-                final int length = buffer.limit() - offset;
+            final int end = dataStart + size;
 
-                waitBuffer.put(buffer.array(), offset, length);
-                waitCount.incrementAndGet();
-                return;
+            if (waitCount.get() > 0) {
+                waitCount.set(0);
             }
 
-            owner.decrypt(buffer, buffer.position(), size - SIZE_BYTES_SIZE);
+            if (size < 1) {
+                buffer.position(end);
+                continue;
+            }
 
-            final ReadablePacket packet = createPacketFor(buffer);
+            if (!streamCrypt) {
+                owner.decrypt(buffer, dataStart, size);
+            }
 
-            if (currentCount > 0) {
-                waitCount.getAndSet(0);
-                currentCount = 0;
+            final byte flag = deflateContext == null ? DeflateContext.RAW : buffer.get();
+            final int packetTypeId = codec.readPacketTypeId(buffer);
+
+            ByteBuffer packetBuffer = buffer;
+
+            if (flag != DeflateContext.RAW) {
+                try {
+                    packetBuffer = requireNonNull(deflateContext)
+                            .decompress(buffer, buffer.position(), end, flag, maxPacketSize);
+                } catch (final DataFormatException e) {
+                    LOGGER.error(this, "can't decompress the packet " + packetTypeId + ", " + e.getMessage());
+                    metrics.addDroppedSegment();
+                    buffer.position(end);
+                    continue;
+                }
             }
 
+            final ReadablePacket packet = createPacketFor(packetBuffer, packetTypeId);
+
+            metrics.addReceivedPacket(packetTypeId, frameSize);
+
             if (packet != null) {
-                owner.readPacket(packet, buffer);
+                owner.readPacket(packet, packetBuffer);
             }
 
-            buffer.position(limit);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Check a buffer on a completed frame at the current position, the position of the buffer isn't changed. A frame
+     * with an incorrect size is reported as completed to be skipped by {@link #readPacket(ByteBuffer)}.
+     *
+     * @param buffer the buffer with received data.
+     * @return true if the buffer has a completed frame.
+     */
+    protected boolean hasCompletedFrame(@NotNull final ByteBuffer buffer) {
+
+        if (!buffer.hasRemaining()) {
+            return false;
         }
+
+        final int start = buffer.position();
+        final int size = getCodec().readPacketSize(buffer);
+        final int end = buffer.position() + size;
+
+        buffer.position(start);
+
+        return size != -1 && end <= buffer.limit();
     }
 
     /**
-     * Write a packet to a write buffer.
+     * Adapt the size of the read buffer to received data. The size is doubled after a read which filled the whole
+     * buffer or after several reads which ended with a not completed packet, and it's halved after sustained reads
+     * which used less than a quarter of the buffer. Sizes are changed by powers of two to match size classes of the
+     * buffer arena.
+     *
+     * @param received   the count of received bytes.
+     * @param fullRead   true if the received data filled the whole buffer.
+     * @param fragmented true if the received data ended with a not completed packet.
+     */
+    protected void adaptReadBufferSize(final int received, final boolean fullRead, final boolean fragmented) {
+
+        if (minReadBufferSize == maxReadBufferSize) {
+            return;
+        }
+
+        final int size = readBufferSize;
+
+        fragmentedReads = fragmented ? fragmentedReads + 1 : 0;
+
+        if (fullRead || fragmentedReads >= GROW_FRAGMENTED_READS) {
+
+            if (size < maxReadBufferSize) {
+                readBufferSize = Math.min(size << 1, maxReadBufferSize);
+            }
+
+            fragmentedReads = 0;
+            smallReads = 0;
+            return;
+        }
+
+        if (fragmented || received > size >>> 2) {
+            smallReads = 0;
+        } else if (++smallReads >= SHRINK_SMALL_READS) {
+            readBufferSize = Math.max(size >>> 1, minReadBufferSize);
+            smallReads = 0;
+        }
+    }
+
+    /**
+     * Replace the read buffer by a larger buffer to receive a large packet or by a buffer of the adapted size after
+     * receiving large packets or changing the adapted size.
+     *
+     * @param buffer the compacted read buffer.
+     */
+    protected void resizeReadBuffer(@NotNull final ByteBuffer buffer) {
+
+        final int targetSize = readBufferSize;
+        final int required = waitPacketSize;
+
+        final ByteBuffer newBuffer;
+
+        if (required > buffer.capacity()) {
+            newBuffer = network.getBufferArena().take(Math.max(required, targetSize));
+        } else if (buffer.capacity() != targetSize && required <= targetSize && buffer.position() <= targetSize) {
+            newBuffer = network.getBufferArena().take(targetSize);
+        } else {
+            return;
+        }
+
+        buffer.flip();
+
+        newBuffer.clear();
+        newBuffer.put(buffer);
+
+        this.readBuffer = newBuffer;
+
+        network.putReadBuffer(buffer);
+    }
+
+    /**
+     * Write a packet to a write buffer, the packet data is written after reserved bytes of the frame header. Data
+     * after the packet type id is compressed if the connection has packet compression and the data is large enough.
      *
      * @param packet the packet.
      * @param buffer the write buffer.
-     * @return the write buffer.
+     * @return the write buffer with the position at the start of the frame.
      */
     @NotNull
     protected ByteBuffer writePacketToBuffer(@NotNull final SendablePacket packet, final @NotNull ByteBuffer buffer) {
         buffer.clear();
 
-        packet.prepareWritePosition(buffer);
-        packet.write(buffer);
+        final FrameCodec codec = getCodec();
+
+        final int reservedSize = this.reservedSize;
 
+        buffer.position(reservedSize);
+        packet.write(buffer);
         buffer.flip();
 
-        packet.writePacketSize(buffer, buffer.limit());
+        final int packetTypeId = buffer.getShort(reservedSize) & 0xFFFF;
 
-        final ConnectionOwner owner = requireNonNull(getOwner());
-        owner.encrypt(buffer, SIZE_BYTES_SIZE, buffer.limit() - SIZE_BYTES_SIZE);
+        int dataStart = codec.writePacketTypeId(buffer, reservedSize);
+
+        final PacketCompression compression = this.compression;
+
+        byte flag = DeflateContext.RAW;
+
+        if (compression != null) {
+
+            final int payloadStart = reservedSize + Short.BYTES;
+            final int payloadSize = buffer.limit() - payloadStart;
+
+            if (payloadSize >= compression.getThreshold(packetTypeId)) {
+                flag = requireNonNull(deflateContext).compress(buffer, payloadStart);
+            }
+
+            dataStart--;
+            buffer.put(dataStart, flag);
+        }
+
+        try {
+
+            final ConnectionOwner owner = requireNonNull(getOwner());
+
+            if (!owner.isStreamCrypt()) {
+                owner.encrypt(buffer, dataStart, buffer.limit() - dataStart);
+            }
+
+            buffer.position(codec.writePacketSize(buffer, dataStart, buffer.limit()));
+
+        } catch (final RuntimeException e) {
+
+            // the compressed data won't be sent, so the deflater should forget it to compress next packets correctly
+            if (flag != DeflateContext.RAW) {
+                requireNonNull(deflateContext).resetDeflater();
+            }
+
+            throw e;
+        }
+
+        if (bounded) {
+            averagePacketSize += (buffer.remaining() - averagePacketSize) / 8;
+        }
 
         return buffer;
     }
 
+    /**
+     * Write a packet and next waiting packets to a write buffer while their total size is less than {@link
+     * NetworkConfig#getMaxWriteBatchSize()}. Every packet is written to own slice of the buffer, so it has at least
+     * {@link NetworkConfig#getWriteBufferSize()} bytes to write its data.
+     *
+     * @param waitPacket the first packet.
+     * @param buffer     the write buffer.
+     * @return the write buffer.
+     */
+    @NotNull
+    protected ByteBuffer writePacketsToBuffer(@NotNull final WaitPacket waitPacket, @NotNull final ByteBuffer buffer) {
+        buffer.clear();
+
+        final MPSCLinkedQueue<WaitPacket> waitPackets = getWaitPackets();
+        final int batchSize = config.getMaxWriteBatchSize();
+        final int packetSize = config.getWriteBufferSize();
+        final int maxDataSize = packetSize - reservedSize;
+
+        WaitPacket next = waitPacket;
+
+        while (true) {
+
+            final ByteBuffer slice = buffer.slice().order(buffer.order());
+            final SendablePacket packet = next.getPacket();
+
+            try {
+
+                writePacketToBuffer(packet, slice);
+
+                // removes not used reserved bytes of the frame header
+                if (slice.position() > 0) {
+                    slice.compact().flip();
+                }
+
+                buffer.position(buffer.position() + slice.limit());
+                writingTimes.add(next.getTime());
+                completed(packet);
+
+            } catch (final RuntimeException e) {
+                failedPacket(packet, e);
+            }
+
+            if (buffer.position() >= batchSize || buffer.remaining() < packetSize) {
+                break;
+            }
+
+            next = pollWaitPacket(maxDataSize);
+
+            if (next == null) {
+                break;
+            }
+        }
+
+        metrics.addSentPackets(writingTimes.size());
+
+        buffer.flip();
+        return buffer;
+    }
+
     /**
      * Create a packet to read the data buffer.
      *
-     * @param buffer the buffer
+     * @param buffer       the buffer
+     * @param packetTypeId the packet type id
      * @return the readable packet
      */
     @Nullable
-    protected ReadablePacket createPacketFor(@NotNull final ByteBuffer buffer) {
-        if (buffer.remaining() < SIZE_BYTES_SIZE) return null;
-
-        final int packetTypeId = buffer.getShort() & 0xFFFF;
+    protected ReadablePacket createPacketFor(@NotNull final ByteBuffer buffer, final int packetTypeId) {
         final ReadablePacketType<ReadablePacket> packetType = getPacketType(packetTypeId);
 
         return ClassUtils.unsafeCast(packetType.newInstance());
@@ -571,18 +1179,82 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
         }
     }
 
+    /**
+     * Encrypt all data of the buffer at once if the owner has a stream crypt, data of every packet is already
+     * encrypted otherwise.
+     *
+     * @param buffer the buffer to write to the channel.
+     * @return the buffer.
+     */
+    @NotNull
+    protected ByteBuffer encryptStream(@NotNull final ByteBuffer buffer) {
+
+        final ConnectionOwner owner = requireNonNull(getOwner());
+
+        if (owner.isStreamCrypt()) {
+            owner.encrypt(buffer, buffer.position(), buffer.remaining());
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Return a separate buffer of a large packet after writing it.
+     */
+    protected void releaseWritingBuffer() {
+
+        final ByteBuffer buffer = writingBuffer;
+
+        if (buffer != writeBuffer) {
+            writingBuffer = writeBuffer;
+            network.putWriteBuffer(buffer);
+        }
+    }
+
+    /**
+     * Handle completion of writing packets to the channel.
+     */
+    protected void completedWriting() {
+
+        final long[] times = writingTimes.array();
+        final long currentTime = System.nanoTime();
+
+        for (int i = 0, length = writingTimes.size(); i < length; i++) {
+            metrics.addWriteLatency(currentTime - times[i]);
+        }
+
+        writingTimes.clear();
+    }
+
     @Override
     public final void sendPacket(@NotNull final SendablePacket packet) {
-        if (isClosed()) return;
 
-        lock();
-        try {
-            if (isClosed()) return;
-            waitPackets.add(packet);
-        } finally {
-            unlock();
+        if (isClosed()) {
+            completed(packet);
+            return;
+        }
+
+        final int size = bounded ? getEstimatedSize(packet) : 0;
+
+        // the limits can be exceeded a little by concurrent senders
+        if (bounded && isWaitLimitReached(size) && !handleWaitLimit(packet, size)) {
+            return;
+        }
+
+        final WaitPacket waitPacket = new WaitPacket(packet, System.nanoTime(), size);
+
+        if (bounded) {
+            waitSize.incrementAndGet();
+            waitBytes.addAndGet(size);
+        }
+
+        // the last packet is registered before adding to the queue to be removed after polling it
+        if (lastWaitPackets != null) {
+            lastWaitPackets.put(packet.getClass(), waitPacket);
         }
 
+        metrics.addWaitPackets(1);
+        waitPackets.offer(waitPacket);
         writeNextPacket();
     }
 
@@ -592,30 +1264,70 @@ public abstract class AbstractAsyncConnection implements AsyncConnection {
     }
 
     /**
-     * Write a next packet.
+     * Write a next packet. Only a thread which has changed the writing state can take packets from the queue.
      */
     protected final void writeNextPacket() {
-        lock();
-        try {
 
-            if (isClosed() || !isWriting.compareAndSet(false, true)) {
-                return;
-            }
+        if (!isWriting.compareAndSet(false, true)) {
+            return;
+        }
 
-            final SendablePacket waitPacket = waitPackets.poll();
+        if (isClosed()) {
+            clearWaitPackets();
+            isWriting.set(false);
+            return;
+        }
 
-            if (waitPacket == null) {
-                isWriting.set(false);
-                return;
+        final AsynchronousSocketChannel channel = getChannel();
+        final int reservedSize = this.reservedSize;
+
+        // packets which can't be written are dropped and the next packets are taken
+        for (WaitPacket waitPacket = pollWaitPacket(); waitPacket != null; waitPacket = pollWaitPacket()) {
+
+            final SendablePacket packet = waitPacket.getPacket();
+            final int dataSize = packet.getEstimatedSize();
+
+            ByteBuffer buffer = getWriteBuffer();
+
+            // a large packet is written from a separate buffer
+            if (dataSize > config.getWriteBufferSize() - reservedSize) {
+                buffer = network.getBufferArena().take(dataSize + reservedSize);
+            } else if (config.getMaxWriteBatchSize() > 0) {
+
+                writePacketsToBuffer(waitPacket, buffer);
+
+                if (buffer.hasRemaining()) {
+                    channel.write(encryptStream(buffer), packet, getWriteHandler());
+                    return;
+                }
+
+                continue;
             }
 
-            final AsynchronousSocketChannel channel = getChannel();
-            channel.write(writePacketToBuffer(waitPacket, getWriteBuffer()), waitPacket, getWriteHandler());
+            try {
+                writePacketToBuffer(packet, buffer);
+            } catch (final RuntimeException e) {
+                if (buffer != getWriteBuffer()) network.putWriteBuffer(buffer);
+                failedPacket(packet, e);
+                continue;
+            }
 
-            completed(waitPacket);
+            writingTimes.add(waitPacket.getTime());
+            metrics.addSentPackets(1);
 
-        } finally {
-            unlock();
+            writingBuffer = buffer;
+            channel.write(encryptStream(buffer), packet, getWriteHandler());
+
+            completed(packet);
+            return;
+        }
+
+        isWriting.set(false);
+
+        // a packet can be added after polling, but before releasing the writing state, a packet which is not
+        // linked yet will be written by its sender after linking
+        if (waitPackets.peek() != null) {
+            writeNextPacket();
         }
     }
 
@@ -1,18 +1,21 @@
 package com.ss.rlib.network.impl;
 
-import static java.nio.ByteBuffer.allocate;
-import static java.nio.ByteBuffer.allocateDirect;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.IdleStateManager;
 import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkMetrics;
+import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.pools.ByteBufferArena;
 import com.ss.rlib.util.pools.PoolFactory;
 import org.jetbrains.annotations.NotNull;
-import com.ss.rlib.util.pools.Pool;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
-import java.util.function.Function;
 
 /**
  * The base implementation of a async network.
@@ -28,16 +31,16 @@ public abstract class AbstractAsynchronousNetwork implements AsynchronousNetwork
     protected static final Logger LOGGER = LoggerManager.getLogger(AsynchronousNetwork.class);
 
     /**
-     * The pool with read buffers.
+     * The arena of read and write buffers.
      */
     @NotNull
-    protected final Pool<ByteBuffer> readBufferPool;
+    protected final ByteBufferArena bufferArena;
 
     /**
-     * The pool with write buffers.
+     * The metrics of this network.
      */
     @NotNull
-    protected final Pool<ByteBuffer> writeBufferPool;
+    protected final DefaultNetworkMetrics metrics;
 
     /**
      * The network config.
@@ -45,15 +48,30 @@ public abstract class AbstractAsynchronousNetwork implements AsynchronousNetwork
     @NotNull
     protected final NetworkConfig config;
 
+    /**
+     * The manager to detect idle connections.
+     */
+    @Nullable
+    protected volatile IdleStateManager idleStateManager;
+
     /**
      * Instantiates a new Abstract asynchronous network.
      *
      * @param config the config
+     * @throws IllegalArgumentException if the max packet size is larger than the max frame size of the codec.
      */
     protected AbstractAsynchronousNetwork(@NotNull final NetworkConfig config) {
+
+        final int maxFrameSize = config.getFrameCodec().getMaxFrameSize();
+
+        if (config.getMaxPacketSize() > maxFrameSize) {
+            throw new IllegalArgumentException("the max packet size " + config.getMaxPacketSize() +
+                    " is larger than the max frame size " + maxFrameSize + " of the frame codec.");
+        }
+
         this.config = config;
-        this.readBufferPool = PoolFactory.newConcurrentAtomicARSWLockPool(ByteBuffer.class);
-        this.writeBufferPool = PoolFactory.newConcurrentAtomicARSWLockPool(ByteBuffer.class);
+        this.bufferArena = PoolFactory.newByteBufferArena(config.isDirectByteBuffer(), LITTLE_ENDIAN);
+        this.metrics = new DefaultNetworkMetrics();
     }
 
     @NotNull
@@ -64,59 +82,83 @@ public abstract class AbstractAsynchronousNetwork implements AsynchronousNetwork
 
     @NotNull
     @Override
-    public ByteBuffer takeReadBuffer() {
+    public NetworkMetrics getMetrics() {
+        return metrics;
+    }
 
-        final ByteBuffer buffer = readBufferPool.take(config, readBufferFactory());
-        buffer.clear();
+    @Nullable
+    @Override
+    public IdleStateManager getIdleStateManager() {
+        return idleStateManager;
+    }
 
-        return buffer;
+    @Override
+    public void setIdleStateManager(@Nullable final IdleStateManager idleStateManager) {
+        this.idleStateManager = idleStateManager;
     }
 
-    /**
-     * Read buffer factory function.
-     *
-     * @return the read buffer factory.
-     */
     @NotNull
-    protected Function<NetworkConfig, ByteBuffer> readBufferFactory() {
-        return conf -> (conf.isDirectByteBuffer() ?
-                allocateDirect(conf.getReadBufferSize()) : allocate(conf.getReadBufferSize())).order(LITTLE_ENDIAN);
+    @Override
+    public ByteBufferArena getBufferArena() {
+        return bufferArena;
     }
 
     @NotNull
     @Override
-    public ByteBuffer takeWriteBuffer() {
-
-        final ByteBuffer buffer = writeBufferPool.take(config, writeBufferFactory());
-        buffer.clear();
-
-        return buffer;
+    public ByteBuffer takeReadBuffer() {
+        return bufferArena.take(config.getReadBufferSize());
     }
 
-    /**
-     * Write buffer factory function.
-     *
-     * @return the write buffer factory.
-     */
-    protected Function<NetworkConfig, ByteBuffer> writeBufferFactory() {
-        return conf -> (conf.isDirectByteBuffer() ?
-                allocateDirect(conf.getWriteBufferSize()) : allocate(conf.getWriteBufferSize())).order(LITTLE_ENDIAN);
+    @NotNull
+    @Override
+    public ByteBuffer takeWriteBuffer() {
+        return bufferArena.take(config.getWriteBufferSize() + config.getMaxWriteBatchSize());
     }
 
     @Override
     public void putReadBuffer(@NotNull final ByteBuffer buffer) {
-        readBufferPool.put(buffer);
+        bufferArena.put(buffer);
     }
 
     @Override
     public void putWriteBuffer(@NotNull final ByteBuffer buffer) {
-        writeBufferPool.put(buffer);
+        bufferArena.put(buffer);
+    }
+
+    /**
+     * Send a packet to several connection owners. The packet is written only once to a shared write buffer which is
+     * returned to the pool after completion of the packet. Owners which can't send the packet complete it.
+     *
+     * @param packet the packet.
+     * @param owners the connection owners.
+     * @throws IllegalArgumentException if the packet is larger than a write buffer, the packet is completed.
+     */
+    public void broadcast(@NotNull final AbstractReusableSendablePacket packet,
+                          @NotNull final Array<? extends ConnectionOwner> owners) {
+
+        // holds the packet while it is being added to the connections
+        packet.increaseSends();
+        try {
+
+            packet.writeSharedData(takeWriteBuffer(), this::putWriteBuffer);
+
+            for (final ConnectionOwner owner : owners.array()) {
+                if (owner == null) break;
+                if (!owner.isConnected()) continue;
+                packet.increaseSends();
+                owner.sendPacket(packet);
+            }
+
+        } finally {
+            packet.complete();
+        }
     }
 
     @Override
     public String toString() {
         return "AbstractAsynchronousNetwork{" +
                 "config=" + config +
+                ", bufferArena=" + bufferArena +
                 '}';
     }
 }
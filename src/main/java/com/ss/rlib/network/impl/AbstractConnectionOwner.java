@@ -4,13 +4,17 @@ import com.ss.rlib.logging.Logger;
 import com.ss.rlib.logging.LoggerManager;
 import com.ss.rlib.network.ConnectionOwner;
 import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.PacketDispatcher;
 import com.ss.rlib.network.client.server.Server;
 import com.ss.rlib.network.packet.ReadablePacket;
 import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.network.AsyncConnection;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 /**
  * The base implementation of a connection owner.
@@ -37,6 +41,18 @@ public abstract class AbstractConnectionOwner implements ConnectionOwner {
     @NotNull
     protected final NetworkCrypt crypt;
 
+    /**
+     * The dispatcher to execute received packets or null if packets are executed in network threads.
+     */
+    @Nullable
+    protected final PacketDispatcher dispatcher;
+
+    /**
+     * The serial lane of ordered packets of this owner.
+     */
+    @Nullable
+    protected final Executor lane;
+
     /**
      * The flag of closing connection.
      */
@@ -49,8 +65,22 @@ public abstract class AbstractConnectionOwner implements ConnectionOwner {
      * @param crypt      the crypt
      */
     protected AbstractConnectionOwner(@NotNull final AsyncConnection connection, @NotNull final NetworkCrypt crypt) {
+        this(connection, crypt, null);
+    }
+
+    /**
+     * Instantiates a new Abstract connection owner.
+     *
+     * @param connection the connection
+     * @param crypt      the crypt
+     * @param dispatcher the dispatcher to execute received packets out of network threads.
+     */
+    protected AbstractConnectionOwner(@NotNull final AsyncConnection connection, @NotNull final NetworkCrypt crypt,
+                                      @Nullable final PacketDispatcher dispatcher) {
         this.connection = connection;
         this.crypt = crypt;
+        this.dispatcher = dispatcher;
+        this.lane = dispatcher == null ? null : dispatcher.newLane();
     }
 
     @Override
@@ -61,12 +91,17 @@ public abstract class AbstractConnectionOwner implements ConnectionOwner {
 
     @Override
     public void decrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
-        crypt.decrypt(data.array(), offset, length);
+        crypt.decrypt(data, offset, length);
     }
 
     @Override
     public void encrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
-        crypt.encrypt(data.array(), offset, length);
+        crypt.encrypt(data, offset, length);
+    }
+
+    @Override
+    public boolean isStreamCrypt() {
+        return crypt.isStream();
     }
 
     /**
@@ -109,25 +144,61 @@ public abstract class AbstractConnectionOwner implements ConnectionOwner {
     public void readPacket(@NotNull final ReadablePacket packet, @NotNull final ByteBuffer buffer) {
         packet.setOwner(this);
 
-        if (packet.read(buffer)) {
+        if (!packet.read(buffer)) {
+            return;
+        }
+
+        final PacketDispatcher dispatcher = getDispatcher();
+
+        if (dispatcher == null) {
             execute(packet);
+        } else if (packet.isOrdered() && lane != null) {
+            lane.execute(() -> execute(packet));
+        } else {
+            dispatcher.dispatch(() -> execute(packet));
         }
     }
 
+    /**
+     * Gets dispatcher.
+     *
+     * @return the dispatcher to execute received packets or null if packets are executed in network threads.
+     */
+    @Nullable
+    protected PacketDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     @Override
     public void sendPacket(@NotNull final SendablePacket packet) {
-        if (isClosed()) return;
+
+        if (isClosed()) {
+            completed(packet);
+            return;
+        }
 
         final AsyncConnection connection = getConnection();
 
         if (connection.isClosed()) {
             LOGGER.warning(this, new Exception("not found connection"));
+            completed(packet);
             return;
         }
 
         connection.sendPacket(packet);
     }
 
+    /**
+     * Handle a packet which wasn't sent because this owner is closed, a reusable packet is completed to release it.
+     *
+     * @param packet the not sent packet.
+     */
+    protected void completed(@NotNull final SendablePacket packet) {
+        if (packet instanceof AbstractReusableSendablePacket) {
+            ((AbstractReusableSendablePacket) packet).complete();
+        }
+    }
+
     @Override
     public String toString() {
         return "AbstractConnectionOwner{" + "connection=" + connection + ", crypt=" + crypt + ", closed=" + closed +
@@ -0,0 +1,128 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.network.FrameCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The base implementation of the {@link FrameCodec} with packet type ids as shorts or varints.
+ *
+ * @author JavaSaBr
+ */
+public abstract class AbstractFrameCodec implements FrameCodec {
+
+    /**
+     * The max size of a varint.
+     */
+    protected static final int MAX_VAR_INT_SIZE = 5;
+
+    /**
+     * The size of a packet type id which is written by packets.
+     */
+    protected static final int PACKET_TYPE_ID_SIZE = 2;
+
+    /**
+     * Read a varint from the current position of the buffer.
+     *
+     * @param buffer the buffer.
+     * @return the value, -1 if the varint isn't received completely or {@link Integer#MAX_VALUE} if it's invalid.
+     */
+    protected static int readVarInt(@NotNull final ByteBuffer buffer) {
+
+        int result = 0;
+
+        for (int i = 0, position = buffer.position(); i < MAX_VAR_INT_SIZE; i++) {
+
+            if (position >= buffer.limit()) return -1;
+
+            final byte value = buffer.get(position++);
+            result |= (value & 0x7F) << (i * 7);
+
+            if (value >= 0) {
+                buffer.position(position);
+                return result < 0 ? Integer.MAX_VALUE : result;
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get a size of a varint.
+     *
+     * @param value the value.
+     * @return the count of bytes to write the value as a varint.
+     */
+    protected static int getVarIntSize(final int value) {
+        return value < 0 ? MAX_VAR_INT_SIZE : (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Write a varint which ends before the position.
+     *
+     * @param buffer the buffer.
+     * @param end    the end of the varint.
+     * @param value  the value.
+     * @return the start of the varint.
+     */
+    protected static int writeVarInt(@NotNull final ByteBuffer buffer, final int end, final int value) {
+
+        final int start = end - getVarIntSize(value);
+
+        int position = start;
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            buffer.put(position++, (byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+
+        buffer.put(position, (byte) remaining);
+        return start;
+    }
+
+    /**
+     * True if packet type ids are varints.
+     */
+    protected final boolean varIntTypeId;
+
+    /**
+     * Instantiates a new Abstract frame codec.
+     *
+     * @param varIntTypeId true if packet type ids are varints.
+     */
+    protected AbstractFrameCodec(final boolean varIntTypeId) {
+        this.varIntTypeId = varIntTypeId;
+    }
+
+    /**
+     * Gets max size header size.
+     *
+     * @return the max count of bytes of a packet size.
+     */
+    protected abstract int getMaxSizeHeaderSize();
+
+    @Override
+    public int getMaxHeaderSize() {
+        // varint packet type id can be 1 byte longer than a short
+        return varIntTypeId ? getMaxSizeHeaderSize() + 1 : getMaxSizeHeaderSize();
+    }
+
+    @Override
+    public int readPacketTypeId(@NotNull final ByteBuffer buffer) {
+        return varIntTypeId ? readVarInt(buffer) : buffer.getShort() & 0xFFFF;
+    }
+
+    @Override
+    public int writePacketTypeId(@NotNull final ByteBuffer buffer, final int dataStart) {
+        if (!varIntTypeId) return dataStart;
+        final int packetTypeId = buffer.getShort(dataStart) & 0xFFFF;
+        return writeVarInt(buffer, dataStart + PACKET_TYPE_ID_SIZE, packetTypeId);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + "varIntTypeId=" + varIntTypeId + '}';
+    }
+}
@@ -0,0 +1,346 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.monitoring.LatencyHistogram;
+import com.ss.rlib.network.NetworkMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The base implementation of the {@link NetworkMetrics}. Metrics of a connection are also added to metrics of its
+ * network.
+ *
+ * @author JavaSaBr
+ */
+public class DefaultNetworkMetrics implements NetworkMetrics {
+
+    /**
+     * The count of readable packet types, ids are unsigned shorts.
+     */
+    private static final int PACKET_TYPES = 1 << 16;
+
+    /**
+     * The metrics of a packet type.
+     */
+    private static final class PacketTypeMetrics {
+
+        /**
+         * The count of received bytes.
+         */
+        @NotNull
+        private final LongAdder receivedBytes = new LongAdder();
+
+        /**
+         * The count of received packets.
+         */
+        @NotNull
+        private final LongAdder receivedPackets = new LongAdder();
+    }
+
+    /**
+     * The parent metrics.
+     */
+    @Nullable
+    private final DefaultNetworkMetrics parent;
+
+    /**
+     * The metrics by packet type ids.
+     */
+    @Nullable
+    private final AtomicReferenceArray<PacketTypeMetrics> packetTypes;
+
+    /**
+     * The count of received bytes.
+     */
+    @NotNull
+    private final LongAdder receivedBytes;
+
+    /**
+     * The count of received packets.
+     */
+    @NotNull
+    private final LongAdder receivedPackets;
+
+    /**
+     * The count of sent bytes.
+     */
+    @NotNull
+    private final LongAdder sentBytes;
+
+    /**
+     * The count of sent packets.
+     */
+    @NotNull
+    private final LongAdder sentPackets;
+
+    /**
+     * The count of wait packets.
+     */
+    @NotNull
+    private final LongAdder waitPackets;
+
+    /**
+     * The count of fragmented packets.
+     */
+    @NotNull
+    private final LongAdder fragmentedPackets;
+
+    /**
+     * The count of dropped segments.
+     */
+    @NotNull
+    private final LongAdder droppedSegments;
+
+    /**
+     * The count of dropped packets.
+     */
+    @NotNull
+    private final LongAdder droppedPackets;
+
+    /**
+     * The histogram of write latency.
+     */
+    @NotNull
+    private final LatencyHistogram writeLatency;
+
+    /**
+     * Instantiates new metrics of a network.
+     */
+    public DefaultNetworkMetrics() {
+        this(null, true);
+    }
+
+    /**
+     * Instantiates new metrics of a connection.
+     *
+     * @param parent the metrics of the network.
+     */
+    public DefaultNetworkMetrics(@Nullable final DefaultNetworkMetrics parent) {
+        this(parent, false);
+    }
+
+    /**
+     * Instantiates new metrics.
+     *
+     * @param parent      the parent metrics.
+     * @param packetTypes true if need to collect metrics by packet types.
+     */
+    protected DefaultNetworkMetrics(@Nullable final DefaultNetworkMetrics parent, final boolean packetTypes) {
+        this.parent = parent;
+        this.packetTypes = packetTypes ? new AtomicReferenceArray<>(PACKET_TYPES) : null;
+        this.receivedBytes = new LongAdder();
+        this.receivedPackets = new LongAdder();
+        this.sentBytes = new LongAdder();
+        this.sentPackets = new LongAdder();
+        this.waitPackets = new LongAdder();
+        this.fragmentedPackets = new LongAdder();
+        this.droppedSegments = new LongAdder();
+        this.droppedPackets = new LongAdder();
+        this.writeLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Add received bytes.
+     *
+     * @param bytes the count of received bytes.
+     */
+    public void addReceivedBytes(final int bytes) {
+        receivedBytes.add(bytes);
+        if (parent != null) parent.addReceivedBytes(bytes);
+    }
+
+    /**
+     * Add a received packet.
+     *
+     * @param packetTypeId the id of the readable packet type.
+     * @param size         the size of the packet.
+     */
+    public void addReceivedPacket(final int packetTypeId, final int size) {
+        receivedPackets.increment();
+
+        if (packetTypes != null && packetTypeId >= 0 && packetTypeId < PACKET_TYPES) {
+
+            PacketTypeMetrics metrics = packetTypes.get(packetTypeId);
+
+            if (metrics == null) {
+                packetTypes.compareAndSet(packetTypeId, null, new PacketTypeMetrics());
+                metrics = packetTypes.get(packetTypeId);
+            }
+
+            metrics.receivedPackets.increment();
+            metrics.receivedBytes.add(size);
+        }
+
+        if (parent != null) parent.addReceivedPacket(packetTypeId, size);
+    }
+
+    /**
+     * Add sent bytes.
+     *
+     * @param bytes the count of sent bytes.
+     */
+    public void addSentBytes(final int bytes) {
+        sentBytes.add(bytes);
+        if (parent != null) parent.addSentBytes(bytes);
+    }
+
+    /**
+     * Add sent packets.
+     *
+     * @param count the count of sent packets.
+     */
+    public void addSentPackets(final int count) {
+        sentPackets.add(count);
+        if (parent != null) parent.addSentPackets(count);
+    }
+
+    /**
+     * Add wait packets.
+     *
+     * @param count the count of added packets or negative count of removed packets.
+     */
+    public void addWaitPackets(final int count) {
+        waitPackets.add(count);
+        if (parent != null) parent.addWaitPackets(count);
+    }
+
+    /**
+     * Add a fragmented packet.
+     */
+    public void addFragmentedPacket() {
+        fragmentedPackets.increment();
+        if (parent != null) parent.addFragmentedPacket();
+    }
+
+    /**
+     * Add a dropped segment.
+     */
+    public void addDroppedSegment() {
+        droppedSegments.increment();
+        if (parent != null) parent.addDroppedSegment();
+    }
+
+    /**
+     * Add a dropped packet.
+     */
+    public void addDroppedPacket() {
+        droppedPackets.increment();
+        if (parent != null) parent.addDroppedPacket();
+    }
+
+    /**
+     * Add a write latency.
+     *
+     * @param latency the latency in nanoseconds.
+     */
+    public void addWriteLatency(final long latency) {
+        writeLatency.record(latency);
+        if (parent != null) parent.addWriteLatency(latency);
+    }
+
+    @Override
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    @Override
+    public long getReceivedPackets() {
+        return receivedPackets.sum();
+    }
+
+    @Override
+    public long getReceivedBytes(final int packetTypeId) {
+        final PacketTypeMetrics metrics = getPacketTypeMetrics(packetTypeId);
+        return metrics == null ? 0 : metrics.receivedBytes.sum();
+    }
+
+    @Override
+    public long getReceivedPackets(final int packetTypeId) {
+        final PacketTypeMetrics metrics = getPacketTypeMetrics(packetTypeId);
+        return metrics == null ? 0 : metrics.receivedPackets.sum();
+    }
+
+    /**
+     * Get metrics of the packet type.
+     *
+     * @param packetTypeId the id of the readable packet type.
+     * @return the metrics or null.
+     */
+    @Nullable
+    private PacketTypeMetrics getPacketTypeMetrics(final int packetTypeId) {
+        if (packetTypes == null || packetTypeId < 0 || packetTypeId >= PACKET_TYPES) return null;
+        return packetTypes.get(packetTypeId);
+    }
+
+    @Override
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    @Override
+    public long getSentPackets() {
+        return sentPackets.sum();
+    }
+
+    @Override
+    public long getWaitPackets() {
+        return waitPackets.sum();
+    }
+
+    @Override
+    public long getFragmentedPackets() {
+        return fragmentedPackets.sum();
+    }
+
+    @Override
+    public long getDroppedSegments() {
+        return droppedSegments.sum();
+    }
+
+    @Override
+    public long getDroppedPackets() {
+        return droppedPackets.sum();
+    }
+
+    @NotNull
+    @Override
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    @Override
+    public String toString() {
+
+        final StringBuilder builder = new StringBuilder("DefaultNetworkMetrics{");
+        builder.append("receivedBytes=").append(receivedBytes);
+        builder.append(", receivedPackets=").append(receivedPackets);
+        builder.append(", sentBytes=").append(sentBytes);
+        builder.append(", sentPackets=").append(sentPackets);
+        builder.append(", waitPackets=").append(waitPackets);
+        builder.append(", fragmentedPackets=").append(fragmentedPackets);
+        builder.append(", droppedSegments=").append(droppedSegments);
+        builder.append(", droppedPackets=").append(droppedPackets);
+        builder.append(", writeLatency=").append(writeLatency);
+
+        if (packetTypes != null) {
+
+            builder.append(", packetTypes=[");
+
+            for (int i = 0, count = 0; i < PACKET_TYPES; i++) {
+
+                final PacketTypeMetrics metrics = packetTypes.get(i);
+                if (metrics == null) continue;
+                if (count++ > 0) builder.append(", ");
+
+                builder.append(i).append(": packets=").append(metrics.receivedPackets)
+                        .append(" bytes=").append(metrics.receivedBytes);
+            }
+
+            builder.append(']');
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,240 @@
+package com.ss.rlib.network.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The streaming deflate context of a connection. Compressed packets are flushed by {@link Deflater#SYNC_FLUSH}, so
+ * the deflater and the inflater keep their dictionaries between packets. Compression is used only by the writer of a
+ * connection and decompression only by the reader.
+ *
+ * @author JavaSaBr
+ */
+public class DeflateContext {
+
+    /**
+     * The flag of not compressed data.
+     */
+    public static final byte RAW = 0;
+
+    /**
+     * The flag of compressed data.
+     */
+    public static final byte DEFLATED = 1;
+
+    /**
+     * The flag of compressed data after resetting the deflater.
+     */
+    public static final byte DEFLATED_RESET = 2;
+
+    /**
+     * The deflater.
+     */
+    @NotNull
+    private final Deflater deflater;
+
+    /**
+     * The inflater.
+     */
+    @NotNull
+    private final Inflater inflater;
+
+    /**
+     * The array of data to compress.
+     */
+    @NotNull
+    private byte[] deflateInput;
+
+    /**
+     * The array of compressed data.
+     */
+    @NotNull
+    private byte[] deflateOutput;
+
+    /**
+     * The array of data to decompress.
+     */
+    @NotNull
+    private byte[] inflateInput;
+
+    /**
+     * The array of decompressed data.
+     */
+    @NotNull
+    private byte[] inflateOutput;
+
+    /**
+     * The flag of resetting the deflater after last compressed data.
+     */
+    private boolean reset;
+
+    /**
+     * The flag of releasing native resources.
+     */
+    private volatile boolean released;
+
+    /**
+     * Instantiates a new Deflate context.
+     *
+     * @param level the deflate level.
+     */
+    public DeflateContext(final int level) {
+        this.deflater = new Deflater(level, true);
+        this.inflater = new Inflater(true);
+        this.deflateInput = new byte[0];
+        this.deflateOutput = new byte[0];
+        this.inflateInput = new byte[0];
+        this.inflateOutput = new byte[0];
+    }
+
+    /**
+     * Compress data of the buffer in place and update the limit of the buffer, the data is left as is if compressed
+     * data isn't smaller.
+     *
+     * @param buffer the buffer.
+     * @param start  the start of the data.
+     * @return the flag of compression.
+     */
+    public byte compress(@NotNull final ByteBuffer buffer, final int start) {
+
+        final int length = buffer.limit() - start;
+
+        synchronized (deflater) {
+
+            if (released) {
+                return RAW;
+            }
+
+            if (deflateInput.length < length) {
+                deflateInput = new byte[length];
+                deflateOutput = new byte[length];
+            }
+
+            final ByteBuffer source = buffer.duplicate();
+            source.position(start);
+            source.get(deflateInput, 0, length);
+
+            deflater.setInput(deflateInput, 0, length);
+
+            final int compressed = deflater.deflate(deflateOutput, 0, length, Deflater.SYNC_FLUSH);
+
+            // compressed data isn't smaller, so the deflater is reset to forget the not sent data
+            if (compressed >= length || !deflater.needsInput()) {
+                deflater.reset();
+                reset = true;
+                return RAW;
+            }
+
+            final ByteBuffer target = buffer.duplicate();
+            target.position(start);
+            target.put(deflateOutput, 0, compressed);
+
+            buffer.limit(start + compressed);
+
+            final byte flag = reset ? DEFLATED_RESET : DEFLATED;
+            reset = false;
+
+            return flag;
+        }
+    }
+
+    /**
+     * Decompress data of the buffer.
+     *
+     * @param buffer  the buffer.
+     * @param start   the start of compressed data.
+     * @param end     the end of compressed data.
+     * @param flag    the flag of compression.
+     * @param maxSize the max size of decompressed data.
+     * @return the buffer with decompressed data.
+     * @throws DataFormatException if the data is wrong or is larger than the max size.
+     */
+    @NotNull
+    public ByteBuffer decompress(@NotNull final ByteBuffer buffer, final int start, final int end, final byte flag,
+                                 final int maxSize) throws DataFormatException {
+
+        final int length = end - start;
+
+        synchronized (inflater) {
+
+            if (released) {
+                throw new DataFormatException("the context is released.");
+            }
+
+            if (flag == DEFLATED_RESET) {
+                inflater.reset();
+            }
+
+            if (inflateInput.length < length) {
+                inflateInput = new byte[length];
+            }
+
+            if (inflateOutput.length == 0) {
+                inflateOutput = new byte[Math.min(Math.max(length * 4, 1024), maxSize)];
+            }
+
+            final ByteBuffer source = buffer.duplicate();
+            source.position(start);
+            source.get(inflateInput, 0, length);
+
+            inflater.setInput(inflateInput, 0, length);
+
+            int size = 0;
+
+            while (true) {
+
+                if (size == inflateOutput.length) {
+
+                    if (size >= maxSize) {
+                        throw new DataFormatException("decompressed data is larger than " + maxSize);
+                    }
+
+                    final byte[] newOutput = new byte[Math.min(size * 2, maxSize)];
+                    System.arraycopy(inflateOutput, 0, newOutput, 0, size);
+                    inflateOutput = newOutput;
+                }
+
+                final int inflated = inflater.inflate(inflateOutput, size, inflateOutput.length - size);
+                size += inflated;
+
+                // the output isn't full, so all input data was decompressed
+                if (size < inflateOutput.length && (inflater.needsInput() || inflated == 0)) {
+                    break;
+                }
+            }
+
+            return ByteBuffer.wrap(inflateOutput, 0, size).order(buffer.order());
+        }
+    }
+
+    /**
+     * Reset the deflater to forget compressed data which wasn't sent, so the next compressed data is marked by
+     * {@link #DEFLATED_RESET}.
+     */
+    public void resetDeflater() {
+        synchronized (deflater) {
+            if (released) return;
+            deflater.reset();
+            reset = true;
+        }
+    }
+
+    /**
+     * Release native resources of this context.
+     */
+    public void release() {
+
+        synchronized (deflater) {
+            released = true;
+            deflater.end();
+        }
+
+        synchronized (inflater) {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ss.rlib.network.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The implementation of the frame codec with 4 bytes of a size of packet data.
+ *
+ * @author JavaSaBr
+ */
+public class IntSizeFrameCodec extends AbstractFrameCodec {
+
+    /**
+     * The size of the header.
+     */
+    private static final int HEADER_SIZE = 4;
+
+    /**
+     * Instantiates a new Int size frame codec.
+     *
+     * @param varIntTypeId true if packet type ids are varints.
+     */
+    public IntSizeFrameCodec(final boolean varIntTypeId) {
+        super(varIntTypeId);
+    }
+
+    @Override
+    protected int getMaxSizeHeaderSize() {
+        return HEADER_SIZE;
+    }
+
+    @Override
+    public int readPacketSize(@NotNull final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) return -1;
+        final int size = buffer.getInt();
+        return size < 0 ? Integer.MAX_VALUE : size;
+    }
+
+    @Override
+    public int writePacketSize(@NotNull final ByteBuffer buffer, final int dataStart, final int dataEnd) {
+        final int start = dataStart - HEADER_SIZE;
+        buffer.putInt(start, dataEnd - dataStart);
+        return start;
+    }
+}
@@ -0,0 +1,222 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The event loop of a selector, all registered channels are handled only by the thread of this loop.
+ *
+ * @author JavaSaBr
+ */
+public class SelectorEventLoop implements Runnable {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(SelectorEventLoop.class);
+
+    /**
+     * The max count of tasks to execute between selections.
+     */
+    private static final int MAX_TASKS_PER_ITERATION = 1024;
+
+    /**
+     * The interface to implement a handler of selected keys.
+     */
+    @FunctionalInterface
+    public interface SelectionHandler {
+
+        /**
+         * Handle ready operations of a selected key.
+         *
+         * @param readyOps the ready operations.
+         */
+        void handle(int readyOps);
+    }
+
+    /**
+     * The selector.
+     */
+    @NotNull
+    private final Selector selector;
+
+    /**
+     * The queue of tasks to execute in the thread of this loop.
+     */
+    @NotNull
+    private final MPSCLinkedQueue<Runnable> tasks;
+
+    /**
+     * The flag of waking up the selector.
+     */
+    @NotNull
+    private final AtomicBoolean wakenUp;
+
+    /**
+     * The thread of this loop.
+     */
+    @NotNull
+    private final Thread thread;
+
+    /**
+     * The flag of running this loop.
+     */
+    private volatile boolean running;
+
+    /**
+     * Instantiates a new Selector event loop.
+     *
+     * @param threadFactory the thread factory.
+     * @throws IOException if a selector can't be opened.
+     */
+    public SelectorEventLoop(@NotNull final ThreadFactory threadFactory) throws IOException {
+        this.selector = Selector.open();
+        this.tasks = new MPSCLinkedQueue<>();
+        this.wakenUp = new AtomicBoolean();
+        this.thread = threadFactory.newThread(this);
+        this.running = true;
+    }
+
+    /**
+     * Start this loop.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stop this loop.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Is in loop boolean.
+     *
+     * @return true if the current thread is the thread of this loop.
+     */
+    public boolean isInLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Execute a task in the thread of this loop, tasks are executed in FIFO order.
+     *
+     * @param task the task.
+     */
+    public void execute(@NotNull final Runnable task) {
+        tasks.offer(task);
+
+        if (!isInLoop() && wakenUp.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Register a channel in the selector of this loop, can be called only in the thread of this loop.
+     *
+     * @param channel the channel.
+     * @param ops     the interest operations.
+     * @param handler the handler of selected keys.
+     * @return the selection key.
+     * @throws ClosedChannelException if the channel is closed.
+     */
+    @NotNull
+    public SelectionKey register(@NotNull final SelectableChannel channel, final int ops,
+                                 @NotNull final SelectionHandler handler) throws ClosedChannelException {
+        return channel.register(selector, ops, handler);
+    }
+
+    @Override
+    public void run() {
+
+        while (running) {
+            try {
+
+                if (tasks.isEmpty()) {
+                    selector.select();
+                } else {
+                    selector.selectNow();
+                }
+
+                wakenUp.set(false);
+
+                processSelectedKeys(selector.selectedKeys());
+                runTasks();
+
+            } catch (final Exception e) {
+                LOGGER.warning(this, e);
+            }
+        }
+
+        try {
+            selector.close();
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Handle all selected keys.
+     *
+     * @param selectedKeys the selected keys.
+     */
+    private void processSelectedKeys(@NotNull final Set<SelectionKey> selectedKeys) {
+
+        if (selectedKeys.isEmpty()) {
+            return;
+        }
+
+        for (final Iterator<SelectionKey> iterator = selectedKeys.iterator(); iterator.hasNext(); ) {
+
+            final SelectionKey key = iterator.next();
+            iterator.remove();
+
+            final SelectionHandler handler = (SelectionHandler) key.attachment();
+
+            try {
+                handler.handle(key.readyOps());
+            } catch (final CancelledKeyException e) {
+                // the channel was closed
+            } catch (final Exception e) {
+                LOGGER.warning(this, e);
+            }
+        }
+    }
+
+    /**
+     * Execute queued tasks including tasks which are added during executing, the count of tasks is limited to not
+     * block handling of selected keys.
+     */
+    private void runTasks() {
+        for (int i = 0; i < MAX_TASKS_PER_ITERATION; i++) {
+
+            final Runnable task = tasks.poll();
+            if (task == null) break;
+
+            try {
+                task.run();
+            } catch (final Exception e) {
+                LOGGER.warning(this, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorEventLoop{" + "thread=" + thread.getName() + ", running=" + running + '}';
+    }
+}
@@ -0,0 +1,279 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.util.ClassUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.channels.AcceptPendingException;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * The implementation of the {@link AsynchronousServerSocketChannel} over a non-blocking {@link ServerSocketChannel}
+ * which is handled by a {@link SelectorEventLoop}. Accepted channels are distributed between event loops by
+ * round-robin and stay in their loops until closing.
+ *
+ * @author JavaSaBr
+ */
+public class SelectorServerSocketChannel extends AsynchronousServerSocketChannel
+        implements SelectorEventLoop.SelectionHandler {
+
+    /**
+     * The event loop to accept connections.
+     */
+    @NotNull
+    private final SelectorEventLoop acceptLoop;
+
+    /**
+     * The event loops of accepted connections.
+     */
+    @NotNull
+    private final SelectorEventLoop[] loops;
+
+    /**
+     * The server socket channel.
+     */
+    @NotNull
+    private final ServerSocketChannel channel;
+
+    /**
+     * The selection key.
+     */
+    @Nullable
+    private SelectionKey key;
+
+    /**
+     * The attachment of a pending accept.
+     */
+    @Nullable
+    private Object acceptAttachment;
+
+    /**
+     * The handler of a pending accept.
+     */
+    @Nullable
+    private CompletionHandler<AsynchronousSocketChannel, Object> acceptHandler;
+
+    /**
+     * The index of the next loop.
+     */
+    private int nextLoop;
+
+    /**
+     * Instantiates a new Selector server socket channel.
+     *
+     * @param acceptLoop the event loop to accept connections.
+     * @param loops      the event loops of accepted connections.
+     * @throws IOException if the channel can't be opened.
+     */
+    public SelectorServerSocketChannel(@NotNull final SelectorEventLoop acceptLoop,
+                                       @NotNull final SelectorEventLoop[] loops) throws IOException {
+        super(AsynchronousChannelProvider.provider());
+        this.acceptLoop = acceptLoop;
+        this.loops = loops;
+        this.channel = ServerSocketChannel.open();
+        this.channel.configureBlocking(false);
+    }
+
+    @NotNull
+    @Override
+    public AsynchronousServerSocketChannel bind(@Nullable final SocketAddress local, final int backlog)
+            throws IOException {
+
+        channel.bind(local, backlog);
+
+        acceptLoop.execute(() -> {
+            try {
+                key = acceptLoop.register(channel, 0, this);
+                updateInterestOps();
+            } catch (final ClosedChannelException e) {
+                failPending(e);
+            }
+        });
+
+        return this;
+    }
+
+    @Override
+    public <A> void accept(@Nullable final A attachment,
+                           @NotNull final CompletionHandler<AsynchronousSocketChannel, ? super A> handler) {
+
+        if (acceptLoop.isInLoop()) {
+            startAccept(attachment, ClassUtils.unsafeCast(handler));
+        } else {
+            acceptLoop.execute(() -> {
+                startAccept(attachment, ClassUtils.unsafeCast(handler));
+                updateInterestOps();
+            });
+        }
+    }
+
+    @NotNull
+    @Override
+    public Future<AsynchronousSocketChannel> accept() {
+        final CompletableFuture<AsynchronousSocketChannel> future = new CompletableFuture<>();
+        accept(future, new CompletionHandler<AsynchronousSocketChannel, CompletableFuture<AsynchronousSocketChannel>>() {
+
+            @Override
+            public void completed(@NotNull final AsynchronousSocketChannel result,
+                                  @NotNull final CompletableFuture<AsynchronousSocketChannel> future) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(@NotNull final Throwable exc,
+                               @NotNull final CompletableFuture<AsynchronousSocketChannel> future) {
+                future.completeExceptionally(exc);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Start a pending accept in the thread of the loop.
+     *
+     * @param attachment the attachment.
+     * @param handler    the handler.
+     */
+    private void startAccept(@Nullable final Object attachment,
+                             @NotNull final CompletionHandler<AsynchronousSocketChannel, Object> handler) {
+
+        if (acceptHandler != null) {
+            handler.failed(new AcceptPendingException(), attachment);
+            return;
+        } else if (!channel.isOpen()) {
+            handler.failed(new ClosedChannelException(), attachment);
+            return;
+        }
+
+        acceptAttachment = attachment;
+        acceptHandler = handler;
+    }
+
+    @Override
+    public void handle(final int readyOps) {
+
+        final CompletionHandler<AsynchronousSocketChannel, Object> handler = acceptHandler;
+        final Object attachment = acceptAttachment;
+
+        if ((readyOps & SelectionKey.OP_ACCEPT) == 0 || handler == null) {
+            updateInterestOps();
+            return;
+        }
+
+        try {
+
+            final SocketChannel accepted = channel.accept();
+
+            if (accepted != null) {
+
+                final SelectorEventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+
+                final SelectorSocketChannel socketChannel = new SelectorSocketChannel(loop, accepted);
+
+                acceptAttachment = null;
+                acceptHandler = null;
+
+                // the handler usually starts the next accept
+                handler.completed(socketChannel, attachment);
+            }
+
+        } catch (final IOException e) {
+            acceptAttachment = null;
+            acceptHandler = null;
+            handler.failed(e, attachment);
+        }
+
+        updateInterestOps();
+    }
+
+    /**
+     * Update interest operations of the key by a pending accept.
+     */
+    private void updateInterestOps() {
+
+        final SelectionKey key = this.key;
+
+        if (key == null) {
+            return;
+        } else if (!key.isValid()) {
+            failPending(new AsynchronousCloseException());
+            return;
+        }
+
+        key.interestOps(acceptHandler == null ? 0 : SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Fail a pending accept.
+     *
+     * @param exc the exception.
+     */
+    private void failPending(@NotNull final Throwable exc) {
+
+        final CompletionHandler<AsynchronousSocketChannel, Object> handler = acceptHandler;
+        final Object attachment = acceptAttachment;
+
+        acceptAttachment = null;
+        acceptHandler = null;
+
+        if (handler != null) {
+            handler.failed(exc, attachment);
+        }
+    }
+
+    @NotNull
+    @Override
+    public <T> AsynchronousServerSocketChannel setOption(@NotNull final SocketOption<T> name, @NotNull final T value)
+            throws IOException {
+        channel.setOption(name, value);
+        return this;
+    }
+
+    @Override
+    public <T> T getOption(@NotNull final SocketOption<T> name) throws IOException {
+        return channel.getOption(name);
+    }
+
+    @NotNull
+    @Override
+    public Set<SocketOption<?>> supportedOptions() {
+        return channel.supportedOptions();
+    }
+
+    @Nullable
+    @Override
+    public SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        acceptLoop.execute(() -> failPending(new AsynchronousCloseException()));
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorServerSocketChannel{" + "channel=" + channel + '}';
+    }
+}
@@ -0,0 +1,601 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.util.ClassUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.AlreadyConnectedException;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.ReadPendingException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritePendingException;
+import java.nio.channels.spi.AsynchronousChannelProvider;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The implementation of the {@link AsynchronousSocketChannel} over a non-blocking {@link SocketChannel} which is
+ * handled by a {@link SelectorEventLoop}. All completion handlers are called by the thread of the loop, so existing
+ * connections work with this channel without changes.
+ * <p>
+ * The channel has the following limits:
+ * <ul>
+ * <li>it wraps an already connected channel, so both <code>connect</code> methods throw {@link
+ * AlreadyConnectedException};</li>
+ * <li>reads and writes with a timeout are not supported, a positive timeout throws {@link
+ * UnsupportedOperationException}, a zero timeout means no timeout.</li>
+ * </ul>
+ *
+ * @author JavaSaBr
+ */
+public class SelectorSocketChannel extends AsynchronousSocketChannel implements SelectorEventLoop.SelectionHandler {
+
+    /**
+     * The handler to complete futures.
+     */
+    private static final class FutureHandler<V> implements CompletionHandler<V, CompletableFuture<V>> {
+
+        @Override
+        public void completed(@NotNull final V result, @NotNull final CompletableFuture<V> future) {
+            future.complete(result);
+        }
+
+        @Override
+        public void failed(@NotNull final Throwable exc, @NotNull final CompletableFuture<V> future) {
+            future.completeExceptionally(exc);
+        }
+    }
+
+    @NotNull
+    private static final FutureHandler<Integer> FUTURE_HANDLER = new FutureHandler<>();
+
+    /**
+     * The event loop of this channel.
+     */
+    @NotNull
+    private final SelectorEventLoop loop;
+
+    /**
+     * The socket channel.
+     */
+    @NotNull
+    private final SocketChannel channel;
+
+    /**
+     * The task to write data.
+     */
+    @NotNull
+    private final Runnable writeTask;
+
+    /**
+     * The selection key.
+     */
+    @Nullable
+    private SelectionKey key;
+
+    /**
+     * The current interest operations.
+     */
+    private int interestOps;
+
+    /**
+     * The flag of waiting for the channel to be writable.
+     */
+    private boolean writeBlocked;
+
+    /**
+     * The buffer of a pending read.
+     */
+    @Nullable
+    private ByteBuffer readBuffer;
+
+    /**
+     * The buffers of a pending scattering read.
+     */
+    @Nullable
+    private ByteBuffer[] readBuffers;
+
+    /**
+     * The offset of the first buffer of a pending scattering read.
+     */
+    private int readOffset;
+
+    /**
+     * The count of buffers of a pending scattering read.
+     */
+    private int readLength;
+
+    /**
+     * The attachment of a pending read.
+     */
+    @Nullable
+    private Object readAttachment;
+
+    /**
+     * The handler of a pending read, it's completed by a long result for a scattering read.
+     */
+    @Nullable
+    private CompletionHandler<Number, Object> readHandler;
+
+    /**
+     * The buffer of a pending write.
+     */
+    @Nullable
+    private ByteBuffer writeBuffer;
+
+    /**
+     * The buffers of a pending gathering write.
+     */
+    @Nullable
+    private ByteBuffer[] writeBuffers;
+
+    /**
+     * The offset of the first buffer of a pending gathering write.
+     */
+    private int writeOffset;
+
+    /**
+     * The count of buffers of a pending gathering write.
+     */
+    private int writeLength;
+
+    /**
+     * The attachment of a pending write.
+     */
+    @Nullable
+    private Object writeAttachment;
+
+    /**
+     * The handler of a pending write, it's completed by a long result for a gathering write.
+     */
+    @Nullable
+    private CompletionHandler<Number, Object> writeHandler;
+
+    /**
+     * Instantiates a new Selector socket channel.
+     *
+     * @param loop    the event loop.
+     * @param channel the connected socket channel.
+     * @throws IOException if the channel can't be configured.
+     */
+    public SelectorSocketChannel(@NotNull final SelectorEventLoop loop, @NotNull final SocketChannel channel)
+            throws IOException {
+        super(AsynchronousChannelProvider.provider());
+        this.loop = loop;
+        this.channel = channel;
+        this.writeTask = this::doWrite;
+        this.channel.configureBlocking(false);
+        this.loop.execute(this::register);
+    }
+
+    /**
+     * Register this channel in the selector of the loop.
+     */
+    private void register() {
+        try {
+            key = loop.register(channel, 0, this);
+            updateInterestOps();
+        } catch (final ClosedChannelException e) {
+            failPending(e);
+        }
+    }
+
+    @Override
+    public void handle(final int readyOps) {
+
+        if ((readyOps & SelectionKey.OP_READ) != 0 && readHandler != null) {
+            doRead();
+        }
+
+        if ((readyOps & SelectionKey.OP_WRITE) != 0 && writeHandler != null) {
+            doWrite();
+        }
+
+        updateInterestOps();
+    }
+
+    /**
+     * Read data from the channel to the buffer of the pending read.
+     */
+    private void doRead() {
+
+        final ByteBuffer buffer = readBuffer;
+        final ByteBuffer[] buffers = readBuffers;
+        final Object attachment = readAttachment;
+        final CompletionHandler<Number, Object> handler = readHandler;
+
+        if (buffer == null && buffers == null || handler == null) {
+            return;
+        }
+
+        final long result;
+        try {
+            result = buffer != null ? channel.read(buffer) : channel.read(buffers, readOffset, readLength);
+        } catch (final IOException e) {
+            clearRead();
+            handler.failed(e, attachment);
+            return;
+        }
+
+        if (result == 0 && (buffer != null ? buffer.hasRemaining() : hasRemaining(buffers, readOffset, readLength))) {
+            return;
+        }
+
+        clearRead();
+        handler.completed(buffer != null ? (Number) (int) result : (Number) result, attachment);
+    }
+
+    /**
+     * Write data of the pending write to the channel.
+     */
+    private void doWrite() {
+
+        final ByteBuffer buffer = writeBuffer;
+        final ByteBuffer[] buffers = writeBuffers;
+        final Object attachment = writeAttachment;
+        final CompletionHandler<Number, Object> handler = writeHandler;
+
+        if (buffer == null && buffers == null || handler == null) {
+            return;
+        } else if (!channel.isOpen()) {
+            failPending(new AsynchronousCloseException());
+            return;
+        }
+
+        final long result;
+        try {
+            result = buffer != null ? channel.write(buffer) : channel.write(buffers, writeOffset, writeLength);
+        } catch (final IOException e) {
+            clearWrite();
+            handler.failed(e, attachment);
+            return;
+        }
+
+        if (result == 0 && (buffer != null ? buffer.hasRemaining() :
+                hasRemaining(buffers, writeOffset, writeLength))) {
+            writeBlocked = true;
+            updateInterestOps();
+            return;
+        }
+
+        clearWrite();
+        handler.completed(buffer != null ? (Number) (int) result : (Number) result, attachment);
+    }
+
+    /**
+     * Check buffers on remaining data.
+     *
+     * @param buffers the buffers.
+     * @param offset  the offset of the first buffer.
+     * @param length  the count of buffers.
+     * @return true if any buffer has remaining data.
+     */
+    private static boolean hasRemaining(@NotNull final ByteBuffer[] buffers, final int offset, final int length) {
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (buffers[i].hasRemaining()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Update interest operations of the key by pending operations.
+     */
+    private void updateInterestOps() {
+
+        final SelectionKey key = this.key;
+
+        if (key == null) {
+            return;
+        } else if (!key.isValid()) {
+            failPending(new AsynchronousCloseException());
+            return;
+        }
+
+        int ops = 0;
+
+        if (readHandler != null) ops |= SelectionKey.OP_READ;
+        if (writeHandler != null && writeBlocked) ops |= SelectionKey.OP_WRITE;
+
+        if (ops != interestOps) {
+            interestOps = ops;
+            key.interestOps(ops);
+        }
+    }
+
+    /**
+     * Fail all pending operations.
+     *
+     * @param exc the exception.
+     */
+    private void failPending(@NotNull final Throwable exc) {
+
+        final Object readAttachment = this.readAttachment;
+        final CompletionHandler<Number, Object> readHandler = this.readHandler;
+        final Object writeAttachment = this.writeAttachment;
+        final CompletionHandler<Number, Object> writeHandler = this.writeHandler;
+
+        clearRead();
+        clearWrite();
+
+        if (readHandler != null) readHandler.failed(exc, readAttachment);
+        if (writeHandler != null) writeHandler.failed(exc, writeAttachment);
+    }
+
+    private void clearRead() {
+        readBuffer = null;
+        readBuffers = null;
+        readAttachment = null;
+        readHandler = null;
+    }
+
+    private void clearWrite() {
+        writeBlocked = false;
+        writeBuffer = null;
+        writeBuffers = null;
+        writeAttachment = null;
+        writeHandler = null;
+    }
+
+    @Override
+    public <A> void read(@NotNull final ByteBuffer dst, final long timeout, @NotNull final TimeUnit unit,
+                         @Nullable final A attachment, @NotNull final CompletionHandler<Integer, ? super A> handler) {
+        checkTimeout(timeout);
+        read(dst, null, 0, 0, attachment, ClassUtils.unsafeCast(handler));
+    }
+
+    /**
+     * Start a pending read or scattering read in the thread of the loop.
+     *
+     * @param buffer     the buffer or null.
+     * @param buffers    the buffers of a scattering read or null.
+     * @param offset     the offset of the first buffer of a scattering read.
+     * @param length     the count of buffers of a scattering read.
+     * @param attachment the attachment.
+     * @param handler    the handler.
+     */
+    private void read(@Nullable final ByteBuffer buffer, @Nullable final ByteBuffer[] buffers, final int offset,
+                      final int length, @Nullable final Object attachment,
+                      @NotNull final CompletionHandler<Number, Object> handler) {
+
+        if (loop.isInLoop()) {
+            // the interest operations are updated after handling of the current key
+            startRead(buffer, buffers, offset, length, attachment, handler);
+        } else {
+            loop.execute(() -> {
+                startRead(buffer, buffers, offset, length, attachment, handler);
+                updateInterestOps();
+            });
+        }
+    }
+
+    /**
+     * Start a pending read in the thread of the loop.
+     *
+     * @param buffer     the buffer or null.
+     * @param buffers    the buffers of a scattering read or null.
+     * @param offset     the offset of the first buffer of a scattering read.
+     * @param length     the count of buffers of a scattering read.
+     * @param attachment the attachment.
+     * @param handler    the handler.
+     */
+    private void startRead(@Nullable final ByteBuffer buffer, @Nullable final ByteBuffer[] buffers, final int offset,
+                           final int length, @Nullable final Object attachment,
+                           @NotNull final CompletionHandler<Number, Object> handler) {
+
+        if (readHandler != null) {
+            handler.failed(new ReadPendingException(), attachment);
+            return;
+        } else if (!channel.isOpen()) {
+            handler.failed(new ClosedChannelException(), attachment);
+            return;
+        }
+
+        readBuffer = buffer;
+        readBuffers = buffers;
+        readOffset = offset;
+        readLength = length;
+        readAttachment = attachment;
+        readHandler = handler;
+    }
+
+    @NotNull
+    @Override
+    public Future<Integer> read(@NotNull final ByteBuffer dst) {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        read(dst, 0, TimeUnit.MILLISECONDS, future, FUTURE_HANDLER);
+        return future;
+    }
+
+    @Override
+    public <A> void read(@NotNull final ByteBuffer[] dsts, final int offset, final int length, final long timeout,
+                         @NotNull final TimeUnit unit, @Nullable final A attachment,
+                         @NotNull final CompletionHandler<Long, ? super A> handler) {
+        checkTimeout(timeout);
+        checkBounds(dsts, offset, length);
+        read(null, dsts, offset, length, attachment, ClassUtils.unsafeCast(handler));
+    }
+
+    @Override
+    public <A> void write(@NotNull final ByteBuffer src, final long timeout, @NotNull final TimeUnit unit,
+                          @Nullable final A attachment, @NotNull final CompletionHandler<Integer, ? super A> handler) {
+        checkTimeout(timeout);
+        write(src, null, 0, 0, attachment, ClassUtils.unsafeCast(handler));
+    }
+
+    /**
+     * Start a pending write or gathering write in the thread of the loop.
+     *
+     * @param buffer     the buffer or null.
+     * @param buffers    the buffers of a gathering write or null.
+     * @param offset     the offset of the first buffer of a gathering write.
+     * @param length     the count of buffers of a gathering write.
+     * @param attachment the attachment.
+     * @param handler    the handler.
+     */
+    private void write(@Nullable final ByteBuffer buffer, @Nullable final ByteBuffer[] buffers, final int offset,
+                       final int length, @Nullable final Object attachment,
+                       @NotNull final CompletionHandler<Number, Object> handler) {
+
+        // writing is always executed by a task to not call handlers recursively
+        if (loop.isInLoop() && startWrite(buffer, buffers, offset, length, attachment, handler)) {
+            loop.execute(writeTask);
+        } else if (!loop.isInLoop()) {
+            loop.execute(() -> {
+                if (startWrite(buffer, buffers, offset, length, attachment, handler)) doWrite();
+            });
+        }
+    }
+
+    /**
+     * Start a pending write in the thread of the loop.
+     *
+     * @param buffer     the buffer or null.
+     * @param buffers    the buffers of a gathering write or null.
+     * @param offset     the offset of the first buffer of a gathering write.
+     * @param length     the count of buffers of a gathering write.
+     * @param attachment the attachment.
+     * @param handler    the handler.
+     * @return true if the write was started.
+     */
+    private boolean startWrite(@Nullable final ByteBuffer buffer, @Nullable final ByteBuffer[] buffers,
+                               final int offset, final int length, @Nullable final Object attachment,
+                               @NotNull final CompletionHandler<Number, Object> handler) {
+
+        if (writeHandler != null) {
+            handler.failed(new WritePendingException(), attachment);
+            return false;
+        } else if (!channel.isOpen()) {
+            handler.failed(new ClosedChannelException(), attachment);
+            return false;
+        }
+
+        writeBuffer = buffer;
+        writeBuffers = buffers;
+        writeOffset = offset;
+        writeLength = length;
+        writeAttachment = attachment;
+        writeHandler = handler;
+        return true;
+    }
+
+    @NotNull
+    @Override
+    public Future<Integer> write(@NotNull final ByteBuffer src) {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        write(src, 0, TimeUnit.MILLISECONDS, future, FUTURE_HANDLER);
+        return future;
+    }
+
+    @Override
+    public <A> void write(@NotNull final ByteBuffer[] srcs, final int offset, final int length, final long timeout,
+                          @NotNull final TimeUnit unit, @Nullable final A attachment,
+                          @NotNull final CompletionHandler<Long, ? super A> handler) {
+        checkTimeout(timeout);
+        checkBounds(srcs, offset, length);
+        write(null, srcs, offset, length, attachment, ClassUtils.unsafeCast(handler));
+    }
+
+    private static void checkTimeout(final long timeout) {
+        if (timeout > 0) {
+            throw new UnsupportedOperationException("timeouts are not supported.");
+        }
+    }
+
+    private static void checkBounds(@NotNull final ByteBuffer[] buffers, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > buffers.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public <A> void connect(@NotNull final SocketAddress remote, @Nullable final A attachment,
+                            @NotNull final CompletionHandler<Void, ? super A> handler) {
+        throw new AlreadyConnectedException();
+    }
+
+    @NotNull
+    @Override
+    public Future<Void> connect(@NotNull final SocketAddress remote) {
+        throw new AlreadyConnectedException();
+    }
+
+    @NotNull
+    @Override
+    public AsynchronousSocketChannel bind(@Nullable final SocketAddress local) throws IOException {
+        channel.bind(local);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public <T> AsynchronousSocketChannel setOption(@NotNull final SocketOption<T> name, @NotNull final T value)
+            throws IOException {
+        channel.setOption(name, value);
+        return this;
+    }
+
+    @Override
+    public <T> T getOption(@NotNull final SocketOption<T> name) throws IOException {
+        return channel.getOption(name);
+    }
+
+    @NotNull
+    @Override
+    public Set<SocketOption<?>> supportedOptions() {
+        return channel.supportedOptions();
+    }
+
+    @NotNull
+    @Override
+    public AsynchronousSocketChannel shutdownInput() throws IOException {
+        channel.shutdownInput();
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public AsynchronousSocketChannel shutdownOutput() throws IOException {
+        channel.shutdownOutput();
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public SocketAddress getRemoteAddress() throws IOException {
+        return channel.getRemoteAddress();
+    }
+
+    @Nullable
+    @Override
+    public SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        loop.execute(() -> failPending(new AsynchronousCloseException()));
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorSocketChannel{" + "channel=" + channel + '}';
+    }
+}
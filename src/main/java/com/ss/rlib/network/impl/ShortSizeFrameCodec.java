@@ -0,0 +1,62 @@
+package com.ss.rlib.network.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The implementation of the frame codec with 2 bytes of a frame size which includes the header.
+ *
+ * @author JavaSaBr
+ */
+public class ShortSizeFrameCodec extends AbstractFrameCodec {
+
+    /**
+     * The size of the header.
+     */
+    private static final int HEADER_SIZE = 2;
+
+    /**
+     * The max size of a frame.
+     */
+    private static final int MAX_FRAME_SIZE = 0xFFFF;
+
+    /**
+     * Instantiates a new Short size frame codec.
+     *
+     * @param varIntTypeId true if packet type ids are varints.
+     */
+    public ShortSizeFrameCodec(final boolean varIntTypeId) {
+        super(varIntTypeId);
+    }
+
+    @Override
+    protected int getMaxSizeHeaderSize() {
+        return HEADER_SIZE;
+    }
+
+    @Override
+    public int getMaxFrameSize() {
+        return MAX_FRAME_SIZE;
+    }
+
+    @Override
+    public int readPacketSize(@NotNull final ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE) return -1;
+        final int size = buffer.getShort() & 0xFFFF;
+        return size < HEADER_SIZE ? Integer.MAX_VALUE : size - HEADER_SIZE;
+    }
+
+    @Override
+    public int writePacketSize(@NotNull final ByteBuffer buffer, final int dataStart, final int dataEnd) {
+        final int start = dataStart - HEADER_SIZE;
+        final int size = dataEnd - start;
+
+        if (size > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("the frame size " + size + " is larger than " + MAX_FRAME_SIZE);
+        }
+
+        buffer.putShort(start, (short) size);
+        return start;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.util.crypt.StreamCrypt;
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.ShortBufferException;
+import java.nio.ByteBuffer;
+
+/**
+ * The implementation of the network crypt which encrypts the whole stream of bytes of a connection by the {@link
+ * StreamCrypt}.
+ *
+ * @author JavaSaBr
+ */
+public class StreamNetworkCrypt implements NetworkCrypt {
+
+    /**
+     * The stream crypt.
+     */
+    @NotNull
+    private final StreamCrypt crypt;
+
+    /**
+     * Instantiates a new Stream network crypt.
+     *
+     * @param crypt the stream crypt.
+     */
+    public StreamNetworkCrypt(@NotNull final StreamCrypt crypt) {
+        this.crypt = crypt;
+    }
+
+    @Override
+    public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+        decrypt(ByteBuffer.wrap(data), offset, length);
+    }
+
+    @Override
+    public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+        encrypt(ByteBuffer.wrap(data), offset, length);
+    }
+
+    @Override
+    public void decrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
+        try {
+            crypt.decrypt(data, offset, length);
+        } catch (final ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void encrypt(@NotNull final ByteBuffer data, final int offset, final int length) {
+        try {
+            crypt.encrypt(data, offset, length);
+        } catch (final ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean isStream() {
+        return true;
+    }
+}
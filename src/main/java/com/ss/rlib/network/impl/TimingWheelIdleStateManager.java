@@ -0,0 +1,426 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.IdleState;
+import com.ss.rlib.network.IdleStateListener;
+import com.ss.rlib.network.IdleStateManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The implementation of the idle state manager based on a hashed timing wheel. Connections only update their times of
+ * last activity, every connection is placed to the wheel by its nearest idle deadline and is checked only when this
+ * deadline comes, if the connection was active it's moved to the new deadline. So the cost of an activity is O(1) and
+ * a tick touches only connections which can be idle.
+ *
+ * @author JavaSaBr
+ */
+public class TimingWheelIdleStateManager implements IdleStateManager {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(TimingWheelIdleStateManager.class);
+
+    /**
+     * The entry of a tracked connection.
+     */
+    private static final class Entry {
+
+        /**
+         * The connection.
+         */
+        @NotNull
+        private final AsyncConnection connection;
+
+        /**
+         * The times of last notifications by idle states.
+         */
+        @NotNull
+        private final long[] notified;
+
+        /**
+         * The previous entry in the bucket.
+         */
+        @Nullable
+        private Entry prev;
+
+        /**
+         * The next entry in the bucket.
+         */
+        @Nullable
+        private Entry next;
+
+        /**
+         * The tick to check this entry.
+         */
+        private long expireTick;
+
+        /**
+         * The flag of unregistering the connection.
+         */
+        private volatile boolean cancelled;
+
+        private Entry(@NotNull final AsyncConnection connection) {
+            this.connection = connection;
+            this.notified = new long[IdleState.values().length];
+        }
+    }
+
+    /**
+     * The listener of idle connections.
+     */
+    @NotNull
+    private final IdleStateListener listener;
+
+    /**
+     * The tracked connections.
+     */
+    @NotNull
+    private final ConcurrentHashMap<AsyncConnection, Entry> entries;
+
+    /**
+     * The queue of registered entries to put them to the wheel.
+     */
+    @NotNull
+    private final MPSCLinkedQueue<Entry> registered;
+
+    /**
+     * The buckets of the wheel.
+     */
+    @NotNull
+    private final Entry[] buckets;
+
+    /**
+     * The executor to process ticks or null if ticks are processed by calling {@link #tick()}.
+     */
+    @Nullable
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The read idle time in ms or 0.
+     */
+    private final long readIdleTime;
+
+    /**
+     * The write idle time in ms or 0.
+     */
+    private final long writeIdleTime;
+
+    /**
+     * The all idle time in ms or 0.
+     */
+    private final long allIdleTime;
+
+    /**
+     * The min of enabled idle times.
+     */
+    private final long minIdleTime;
+
+    /**
+     * The duration of a tick in ms.
+     */
+    private final long tickDuration;
+
+    /**
+     * The time of the zero tick.
+     */
+    private final long startTime;
+
+    /**
+     * The mask to get an index of a bucket.
+     */
+    private final int mask;
+
+    /**
+     * The last processed tick.
+     */
+    private long currentTick;
+
+    /**
+     * Instantiates a new Timing wheel idle state manager.
+     *
+     * @param listener      the listener of idle connections.
+     * @param readIdleTime  the read idle time in ms or 0 to disable it.
+     * @param writeIdleTime the write idle time in ms or 0 to disable it.
+     * @param allIdleTime   the all idle time in ms or 0 to disable it.
+     * @param tickDuration  the duration of a tick in ms, it's the precision of detecting.
+     * @param wheelSize     the count of buckets of the wheel.
+     */
+    public TimingWheelIdleStateManager(@NotNull final IdleStateListener listener, final long readIdleTime,
+                                       final long writeIdleTime, final long allIdleTime, final long tickDuration,
+                                       final int wheelSize) {
+        this(listener, readIdleTime, writeIdleTime, allIdleTime, tickDuration, wheelSize, true);
+    }
+
+    /**
+     * Instantiates a new Timing wheel idle state manager.
+     *
+     * @param listener      the listener of idle connections.
+     * @param readIdleTime  the read idle time in ms or 0 to disable it.
+     * @param writeIdleTime the write idle time in ms or 0 to disable it.
+     * @param allIdleTime   the all idle time in ms or 0 to disable it.
+     * @param tickDuration  the duration of a tick in ms, it's the precision of detecting.
+     * @param wheelSize     the count of buckets of the wheel.
+     * @param scheduled     true if ticks are processed by own thread, otherwise {@link #tick()} should be called.
+     */
+    protected TimingWheelIdleStateManager(@NotNull final IdleStateListener listener, final long readIdleTime,
+                                          final long writeIdleTime, final long allIdleTime, final long tickDuration,
+                                          final int wheelSize, final boolean scheduled) {
+
+        if (readIdleTime <= 0 && writeIdleTime <= 0 && allIdleTime <= 0) {
+            throw new IllegalArgumentException("no any idle time.");
+        } else if (tickDuration < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("wrong tick duration or wheel size.");
+        }
+
+        final int highestBit = Integer.highestOneBit(wheelSize);
+        final int size = highestBit == wheelSize ? wheelSize : highestBit << 1;
+
+        this.listener = listener;
+        this.readIdleTime = Math.max(readIdleTime, 0);
+        this.writeIdleTime = Math.max(writeIdleTime, 0);
+        this.allIdleTime = Math.max(allIdleTime, 0);
+        this.minIdleTime = Math.min(Math.min(positive(readIdleTime), positive(writeIdleTime)), positive(allIdleTime));
+        this.tickDuration = tickDuration;
+        this.buckets = new Entry[size];
+        this.mask = size - 1;
+        this.entries = new ConcurrentHashMap<>();
+        this.registered = new MPSCLinkedQueue<>();
+        this.startTime = getCurrentTime();
+
+        if (!scheduled) {
+            this.executor = null;
+            return;
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, TimingWheelIdleStateManager.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(this::tick, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    private static long positive(final long time) {
+        return time > 0 ? time : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void register(@NotNull final AsyncConnection connection) {
+
+        final Entry entry = new Entry(connection);
+
+        if (entries.putIfAbsent(connection, entry) == null) {
+            registered.offer(entry);
+        }
+    }
+
+    @Override
+    public void unregister(@NotNull final AsyncConnection connection) {
+
+        final Entry entry = entries.remove(connection);
+
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void shutdown() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    /**
+     * Gets current time. It's called by the constructor to get the time of the zero tick, so an overridden method
+     * shouldn't use fields of a subclass.
+     *
+     * @return the current time in ms.
+     */
+    protected long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Process all ticks up to the current time, it shouldn't be called by several threads at the same time.
+     */
+    protected void tick() {
+        try {
+
+            final long now = getCurrentTime();
+            final long targetTick = (now - startTime) / tickDuration;
+
+            for (Entry entry = registered.poll(); entry != null; entry = registered.poll()) {
+                if (!entry.cancelled) schedule(entry, now + minIdleTime);
+            }
+
+            while (currentTick < targetTick) {
+                currentTick++;
+                expire(currentTick, now);
+            }
+
+        } catch (final Exception e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Check all entries of the tick.
+     *
+     * @param tick the tick.
+     * @param now  the current time.
+     */
+    private void expire(final long tick, final long now) {
+
+        final int index = (int) (tick & mask);
+
+        for (Entry entry = buckets[index]; entry != null; ) {
+
+            // the entry can be moved to the head of the same bucket
+            final Entry next = entry.next;
+
+            if (entry.cancelled) {
+                unlink(entry, index);
+            } else if (entry.expireTick <= tick) {
+                unlink(entry, index);
+                check(entry, now);
+            }
+
+            entry = next;
+        }
+    }
+
+    /**
+     * Check idle states of the connection and schedule the next check.
+     *
+     * @param entry the entry of the connection.
+     * @param now   the current time.
+     */
+    private void check(@NotNull final Entry entry, final long now) {
+
+        final AsyncConnection connection = entry.connection;
+
+        if (connection.isClosed()) {
+            entries.remove(connection, entry);
+            return;
+        }
+
+        long deadline = Long.MAX_VALUE;
+
+        if (readIdleTime > 0) {
+            deadline = check(entry, IdleState.READ_IDLE, connection.getLastReadTime(), readIdleTime, now);
+        }
+
+        if (writeIdleTime > 0) {
+            deadline = Math.min(deadline,
+                    check(entry, IdleState.WRITE_IDLE, connection.getLastWriteTime(), writeIdleTime, now));
+        }
+
+        if (allIdleTime > 0) {
+            deadline = Math.min(deadline,
+                    check(entry, IdleState.ALL_IDLE, connection.getLastActivity(), allIdleTime, now));
+        }
+
+        if (entry.cancelled || connection.isClosed()) {
+            entries.remove(connection, entry);
+        } else {
+            schedule(entry, deadline);
+        }
+    }
+
+    /**
+     * Check an idle state of the connection.
+     *
+     * @param entry        the entry of the connection.
+     * @param state        the idle state.
+     * @param lastActivity the time of last activity for the state.
+     * @param idleTime     the idle time of the state.
+     * @param now          the current time.
+     * @return the next time to check the state.
+     */
+    private long check(@NotNull final Entry entry, @NotNull final IdleState state, final long lastActivity,
+                       final long idleTime, final long now) {
+
+        final long[] notified = entry.notified;
+        final long deadline = Math.max(lastActivity, notified[state.ordinal()]) + idleTime;
+
+        if (deadline > now) {
+            return deadline;
+        }
+
+        notified[state.ordinal()] = now;
+
+        try {
+            listener.onIdle(entry.connection, state);
+        } catch (final Exception e) {
+            LOGGER.warning(this, e);
+        }
+
+        return now + idleTime;
+    }
+
+    /**
+     * Put the entry to a bucket of the deadline.
+     *
+     * @param entry    the entry.
+     * @param deadline the deadline.
+     */
+    private void schedule(@NotNull final Entry entry, final long deadline) {
+
+        final long tick = Math.max((deadline - startTime + tickDuration - 1) / tickDuration, currentTick + 1);
+        final int index = (int) (tick & mask);
+        final Entry head = buckets[index];
+
+        entry.expireTick = tick;
+        entry.prev = null;
+        entry.next = head;
+
+        if (head != null) {
+            head.prev = entry;
+        }
+
+        buckets[index] = entry;
+    }
+
+    /**
+     * Remove the entry from the bucket.
+     *
+     * @param entry the entry.
+     * @param index the index of the bucket.
+     */
+    private void unlink(@NotNull final Entry entry, final int index) {
+
+        final Entry prev = entry.prev;
+        final Entry next = entry.next;
+
+        if (prev == null) {
+            buckets[index] = next;
+        } else {
+            prev.next = next;
+        }
+
+        if (next != null) {
+            next.prev = prev;
+        }
+
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    @Override
+    public String toString() {
+        return "TimingWheelIdleStateManager{" + "readIdleTime=" + readIdleTime + ", writeIdleTime=" + writeIdleTime +
+                ", allIdleTime=" + allIdleTime + ", tickDuration=" + tickDuration + ", size=" + size() + '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.ss.rlib.network.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The implementation of the frame codec with a varint size of packet data, so small packets have 1 byte headers.
+ *
+ * @author JavaSaBr
+ */
+public class VarIntSizeFrameCodec extends AbstractFrameCodec {
+
+    /**
+     * Instantiates a new VarInt size frame codec.
+     *
+     * @param varIntTypeId true if packet type ids are varints.
+     */
+    public VarIntSizeFrameCodec(final boolean varIntTypeId) {
+        super(varIntTypeId);
+    }
+
+    @Override
+    protected int getMaxSizeHeaderSize() {
+        return MAX_VAR_INT_SIZE;
+    }
+
+    @Override
+    public int readPacketSize(@NotNull final ByteBuffer buffer) {
+        return readVarInt(buffer);
+    }
+
+    @Override
+    public int writePacketSize(@NotNull final ByteBuffer buffer, final int dataStart, final int dataEnd) {
+        return writeVarInt(buffer, dataStart, dataEnd - dataStart);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.network.packet.SendablePacket;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The packet which is waiting in a queue of a connection to be sent.
+ *
+ * @author JavaSaBr
+ */
+public class WaitPacket {
+
+    /**
+     * The time when the packet was added to the queue in nanoseconds.
+     */
+    private final long time;
+
+    /**
+     * The estimated size of the packet, it can be replaced with the packet.
+     */
+    private int size;
+
+    /**
+     * The packet, it can be replaced only while this wait packet is in the queue.
+     */
+    @NotNull
+    private SendablePacket packet;
+
+    /**
+     * Instantiates a new Wait packet.
+     *
+     * @param packet the packet.
+     * @param time   the time when the packet was added to the queue in nanoseconds.
+     * @param size   the estimated size of the packet.
+     */
+    public WaitPacket(@NotNull final SendablePacket packet, final long time, final int size) {
+        this.packet = packet;
+        this.time = time;
+        this.size = size;
+    }
+
+    /**
+     * Gets packet.
+     *
+     * @return the packet.
+     */
+    @NotNull
+    public SendablePacket getPacket() {
+        return packet;
+    }
+
+    /**
+     * Sets packet.
+     *
+     * @param packet the packet.
+     * @param size   the estimated size of the packet.
+     */
+    public void setPacket(@NotNull final SendablePacket packet, final int size) {
+        this.packet = packet;
+        this.size = size;
+    }
+
+    /**
+     * Gets time.
+     *
+     * @return the time when the packet was added to the queue in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets size.
+     *
+     * @return the estimated size of the packet.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitPacket{" + "packet=" + packet + ", time=" + time + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.ss.rlib.network.impl;
+
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
+import com.ss.rlib.logging.Logger;
+import com.ss.rlib.logging.LoggerManager;
+import com.ss.rlib.network.PacketDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The implementation of the packet dispatcher based on the work-stealing {@link ForkJoinPool}. Every lane is scheduled
+ * to the pool as one task while it has queued tasks, so tasks of a lane are never executed in parallel.
+ *
+ * @author JavaSaBr
+ */
+public class WorkStealingPacketDispatcher implements PacketDispatcher {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(WorkStealingPacketDispatcher.class);
+
+    /**
+     * The max count of tasks of a lane to execute before giving a thread to other lanes.
+     */
+    private static final int LANE_BATCH_SIZE = 32;
+
+    /**
+     * The serial lane of tasks.
+     */
+    private final class SerialLane implements Executor, Runnable {
+
+        /**
+         * The queue of tasks.
+         */
+        @NotNull
+        private final MPSCLinkedQueue<Runnable> tasks;
+
+        /**
+         * The flag of scheduling this lane to the pool.
+         */
+        @NotNull
+        private final AtomicBoolean scheduled;
+
+        private SerialLane() {
+            this.tasks = new MPSCLinkedQueue<>();
+            this.scheduled = new AtomicBoolean();
+        }
+
+        @Override
+        public void execute(@NotNull final Runnable task) {
+            tasks.offer(task);
+
+            if (scheduled.compareAndSet(false, true)) {
+                pool.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            for (int i = 0; i < LANE_BATCH_SIZE; i++) {
+
+                final Runnable task = tasks.poll();
+                if (task == null) break;
+
+                runSafe(task);
+            }
+
+            if (!tasks.isEmpty()) {
+                pool.execute(this);
+                return;
+            }
+
+            scheduled.set(false);
+
+            // a task could be added after the last check
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                pool.execute(this);
+            }
+        }
+    }
+
+    /**
+     * The pool of threads.
+     */
+    @NotNull
+    private final ForkJoinPool pool;
+
+    /**
+     * The ordinal of the next thread.
+     */
+    @NotNull
+    private final AtomicInteger ordinal;
+
+    /**
+     * Instantiates a new Work stealing packet dispatcher.
+     *
+     * @param name        the name of threads.
+     * @param parallelism the count of threads.
+     */
+    public WorkStealingPacketDispatcher(@NotNull final String name, final int parallelism) {
+        this.ordinal = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "_" + ordinal.incrementAndGet());
+            return thread;
+        }, this::handleException, true);
+    }
+
+    /**
+     * Handle an uncaught exception of a thread.
+     *
+     * @param thread    the thread.
+     * @param exception the exception.
+     */
+    protected void handleException(@NotNull final Thread thread, @NotNull final Throwable exception) {
+        LOGGER.warning(this, exception);
+    }
+
+    /**
+     * Run a task with catching exceptions.
+     *
+     * @param task the task.
+     */
+    protected void runSafe(@NotNull final Runnable task) {
+        try {
+            task.run();
+        } catch (final Exception e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Executor newLane() {
+        return new SerialLane();
+    }
+
+    @Override
+    public void dispatch(@NotNull final Runnable task) {
+        pool.execute(() -> runSafe(task));
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Gets parallelism.
+     *
+     * @return the count of threads.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingPacketDispatcher{" + "pool=" + pool + '}';
+    }
+}
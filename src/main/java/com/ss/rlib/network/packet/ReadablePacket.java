@@ -36,6 +36,16 @@ public interface ReadablePacket extends Packet {
     default void notifyFinishedReading() {
     }
 
+    /**
+     * Is ordered boolean.
+     *
+     * @return true if this packet has to be executed in order of receiving packets of its connection, false if it can
+     * be executed in parallel with other packets of the connection.
+     */
+    default boolean isOrdered() {
+        return true;
+    }
+
     /**
      * Read this packet.
      *
@@ -99,7 +99,7 @@ public class ReadablePacketType<R extends ReadablePacket> {
         this.example = example;
         this.id = id;
         this.pool = Reusable.class.isAssignableFrom(cs) ?
-                PoolFactory.newConcurrentAtomicARSWLockReusablePool(ClassUtils.unsafeCast(cs)) : null;
+                PoolFactory.newMagazineReusablePool(ClassUtils.unsafeCast(cs)) : null;
         register(this);
     }
 
@@ -96,7 +96,10 @@ public interface SendablePacket extends Packet {
      *
      * @param buffer     the buffer.
      * @param packetSize the result packet size.
+     * @deprecated frame headers are written by the {@link com.ss.rlib.network.FrameCodec} of the network, so this
+     * method isn't called by connections.
      */
+    @Deprecated
     default void writePacketSize(@NotNull final ByteBuffer buffer, final int packetSize) {
         buffer.putShort(0, (short) packetSize);
     }
@@ -121,11 +124,23 @@ public interface SendablePacket extends Packet {
         buffer.putLong(value);
     }
 
+    /**
+     * Gets estimated size.
+     *
+     * @return the estimated size of data of this packet or 0 if it's unknown.
+     */
+    default int getEstimatedSize() {
+        return 0;
+    }
+
     /**
      * Prepare the start position in the buffer to write data from this packet.
      *
      * @param buffer the buffer
+     * @deprecated packet data is written after the space which is reserved for the frame header by the
+     * {@link com.ss.rlib.network.FrameCodec} of the network, so this method isn't called by connections.
      */
+    @Deprecated
     default void prepareWritePosition(@NotNull final ByteBuffer buffer) {
         buffer.position(2);
     }
@@ -69,7 +69,7 @@ public class SendablePacketType<S extends SendablePacket> {
         this.name = cs.getSimpleName();
         this.id = id;
         this.pool = Reusable.class.isAssignableFrom(cs) ?
-                PoolFactory.newConcurrentAtomicARSWLockReusablePool(unsafeCast(cs)) : null;
+                PoolFactory.newMagazineReusablePool(unsafeCast(cs)) : null;
         register(this);
     }
 
@@ -77,13 +77,7 @@ public abstract class AbstractReadablePacket extends AbstractPacket implements R
      */
     protected void handleException(@NotNull final ByteBuffer buffer, @NotNull final Exception e) {
         LOGGER.warning(this, e);
-        if (buffer.isDirect()) {
-            final byte[] array = new byte[buffer.limit()];
-            buffer.get(array, 0, buffer.limit());
-            LOGGER.warning(this, "buffer " + buffer + "\n" + Utils.hexdump(array, array.length));
-        } else {
-            LOGGER.warning(this, "buffer " + buffer + "\n" + Utils.hexdump(buffer.array(), buffer.limit()));
-        }
+        LOGGER.warning(this, "buffer " + buffer + "\n" + Utils.hexdump(buffer, buffer.limit()));
     }
 
     /**
@@ -9,7 +9,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.concurrent.atomic.AtomicInteger;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.util.function.Consumer;
 
 /**
  * The reusable implementation of the {@link AbstractSendablePacket} using the counter for controlling the life cycle of
@@ -31,6 +33,18 @@ public abstract class AbstractReusableSendablePacket extends AbstractSendablePac
     @Nullable
     protected ReusablePool<AbstractReusableSendablePacket> pool;
 
+    /**
+     * The data of this packet which was written once to share it between several connections.
+     */
+    @Nullable
+    protected volatile ByteBuffer sharedData;
+
+    /**
+     * The handler to release the shared data after completion of this packet.
+     */
+    @Nullable
+    protected volatile Consumer<ByteBuffer> sharedDataReleaser;
+
     /**
      * Instantiates a new Abstract reusable sendable packet.
      */
@@ -68,9 +82,59 @@ public abstract class AbstractReusableSendablePacket extends AbstractSendablePac
      * Implementation of handling completion of packet sending.
      */
     protected void completeImpl() {
+
+        final ByteBuffer sharedData = getSharedData();
+        final Consumer<ByteBuffer> releaser = sharedDataReleaser;
+
+        if (sharedData != null && releaser != null) {
+            this.sharedData = null;
+            this.sharedDataReleaser = null;
+            releaser.accept(sharedData);
+        }
+
         getPool().put(this);
     }
 
+    /**
+     * Write data of this packet once to the buffer to copy it to each connection instead of writing this packet for
+     * each of them. The buffer is released by the releaser when this packet is completed, even if the data wasn't
+     * written.
+     *
+     * @param buffer   the buffer to store the data.
+     * @param releaser the handler to release the buffer.
+     * @throws IllegalArgumentException if the data of this packet is larger than the buffer.
+     */
+    public void writeSharedData(@NotNull final ByteBuffer buffer, @NotNull final Consumer<ByteBuffer> releaser) {
+        buffer.clear();
+
+        this.sharedDataReleaser = releaser;
+        this.sharedData = buffer;
+
+        notifyStartedWriting();
+        try {
+            writeImpl(buffer);
+        } catch (final BufferOverflowException e) {
+            throw new IllegalArgumentException("the packet " + this + " is larger than the shared buffer " +
+                    buffer.capacity(), e);
+        } catch (final Exception e) {
+            LOGGER.warning(this, e);
+        } finally {
+            notifyFinishedWriting();
+        }
+
+        buffer.flip();
+    }
+
+    /**
+     * Gets shared data.
+     *
+     * @return the data of this packet which was written once to share it between several connections or null.
+     */
+    @Nullable
+    public ByteBuffer getSharedData() {
+        return sharedData;
+    }
+
     /**
      * New instance t.
      *
@@ -124,6 +188,12 @@ public abstract class AbstractReusableSendablePacket extends AbstractSendablePac
         counter.addAndGet(count);
     }
 
+    @Override
+    public int getEstimatedSize() {
+        final ByteBuffer sharedData = getSharedData();
+        return sharedData == null ? 0 : sharedData.remaining();
+    }
+
     @Override
     public String toString() {
         return "AbstractReusableSendablePacket{" + "counter=" + counter + "} " + super.toString();
@@ -137,6 +207,14 @@ public abstract class AbstractReusableSendablePacket extends AbstractSendablePac
             return;
         }
 
+        final ByteBuffer sharedData = getSharedData();
+
+        if (sharedData != null) {
+            // the shared data can be copied by several threads at the same time
+            buffer.put(sharedData.duplicate());
+            return;
+        }
+
         super.write(buffer);
     }
 }
@@ -37,7 +37,7 @@ public abstract class AbstractSendablePacket extends AbstractPacket implements S
             writeImpl(buffer);
         } catch (final Exception e) {
             LOGGER.warning(this, e);
-            LOGGER.warning(this, "Buffer " + buffer + "\n" + Utils.hexdump(buffer.array(), buffer.position()));
+            LOGGER.warning(this, "Buffer " + buffer + "\n" + Utils.hexdump(buffer, buffer.position()));
         } finally {
             notifyFinishedWriting();
         }
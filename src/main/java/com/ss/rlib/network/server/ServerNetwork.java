@@ -1,6 +1,9 @@
 package com.ss.rlib.network.server;
 
 import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
+import com.ss.rlib.util.array.Array;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -32,4 +35,14 @@ public interface ServerNetwork extends AsynchronousNetwork {
      * @throws IOException if a socket can't be created.
      */
     void bind(@NotNull SocketAddress address) throws IOException;
+
+    /**
+     * Send a packet to several connection owners. The packet is written only once to a shared buffer and each
+     * connection only copies and encrypts the written data. The packet is completed after sending to all owners.
+     *
+     * @param packet the packet.
+     * @param owners the connection owners.
+     * @throws IllegalArgumentException if the packet is larger than a write buffer, the packet is completed.
+     */
+    void broadcast(@NotNull AbstractReusableSendablePacket packet, @NotNull Array<? extends ConnectionOwner> owners);
 }
@@ -1,6 +1,7 @@
 package com.ss.rlib.network.server.client.impl;
 
 import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.PacketDispatcher;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import com.ss.rlib.network.AsyncConnection;
@@ -38,6 +39,18 @@ public abstract class AbstractClient<A, O> extends AbstractConnectionOwner imple
         super(connection, crypt);
     }
 
+    /**
+     * Instantiates a new Abstract client.
+     *
+     * @param connection the connection
+     * @param crypt      the crypt
+     * @param dispatcher the dispatcher to execute received packets out of network threads.
+     */
+    protected AbstractClient(@NotNull final AsyncConnection connection, @NotNull final NetworkCrypt crypt,
+                             @Nullable final PacketDispatcher dispatcher) {
+        super(connection, crypt, dispatcher);
+    }
+
     @Nullable
     @Override
     public final A getAccount() {
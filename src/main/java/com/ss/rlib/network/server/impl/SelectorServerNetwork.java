@@ -0,0 +1,91 @@
+package com.ss.rlib.network.server.impl;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.impl.AbstractAsynchronousNetwork;
+import com.ss.rlib.network.impl.SelectorEventLoop;
+import com.ss.rlib.network.impl.SelectorServerSocketChannel;
+import com.ss.rlib.network.server.AcceptHandler;
+import com.ss.rlib.network.server.ServerNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.Arrays;
+
+/**
+ * The implementation of a server network based on selector event loops. The count of loops is the group size of the
+ * config, the first loop also accepts new connections. Accepted connections are the same {@link
+ * AsynchronousSocketChannel} as in the {@link DefaultServerNetwork}, so connections and accept handlers can be used
+ * with both networks.
+ *
+ * @author JavaSaBr
+ */
+public final class SelectorServerNetwork extends AbstractAsynchronousNetwork implements ServerNetwork {
+
+    /**
+     * The event loops.
+     */
+    @NotNull
+    private final SelectorEventLoop[] loops;
+
+    /**
+     * The server socket channel.
+     */
+    @NotNull
+    private final SelectorServerSocketChannel channel;
+
+    /**
+     * The accept handler.
+     */
+    @NotNull
+    private final AcceptHandler acceptHandler;
+
+    /**
+     * Instantiates a new Selector server network.
+     *
+     * @param config        the config
+     * @param acceptHandler the accept handler
+     * @throws IOException the io exception
+     */
+    public SelectorServerNetwork(@NotNull final NetworkConfig config, @NotNull final AcceptHandler acceptHandler)
+            throws IOException {
+        super(config);
+
+        final GroupThreadFactory threadFactory = new GroupThreadFactory(config.getGroupName(),
+                config.getThreadClass(), config.getThreadPriority());
+
+        this.loops = new SelectorEventLoop[Math.max(config.getGroupSize(), 1)];
+
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorEventLoop(threadFactory);
+            loops[i].start();
+        }
+
+        this.channel = new SelectorServerSocketChannel(loops[0], loops);
+        this.acceptHandler = acceptHandler;
+    }
+
+    @Override
+    public <A> void accept(@Nullable final A attachment, @NotNull final CompletionHandler<AsynchronousSocketChannel, ? super A> handler) {
+        channel.accept(attachment, handler);
+    }
+
+    @Override
+    public void bind(@NotNull final SocketAddress address) throws IOException {
+        channel.bind(address);
+        channel.accept(channel, acceptHandler);
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorServerNetwork{" +
+                "loops=" + Arrays.toString(loops) +
+                ", channel=" + channel +
+                ", acceptHandler=" + acceptHandler +
+                "} " + super.toString();
+    }
+}
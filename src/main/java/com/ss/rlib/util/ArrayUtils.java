@@ -19,6 +19,11 @@ import java.util.function.*;
  */
 public final class ArrayUtils {
 
+    /**
+     * The count of attempts of optimistic reading before taking a read lock.
+     */
+    private static final int OPTIMISTIC_READ_ATTEMPTS = 3;
+
     /**
      * The constant EMPTY_OBJECT_ARRAY.
      */
@@ -826,6 +831,141 @@ public final class ArrayUtils {
         }
     }
 
+    /**
+     * Execute and get a result of the function using optimistic reading of the array. The function can see the array
+     * in the middle of writing, so it should not have side effects and its result and exceptions are ignored if the
+     * reading was not valid. The function is executed in read lock of the array if optimistic reading failed a few
+     * times.
+     *
+     * @param <T>      the type parameter
+     * @param <R>      the type parameter
+     * @param array    the array.
+     * @param function the function.
+     * @return the result of the function.
+     */
+    public static <T, R> @Nullable R getOptimistic(@NotNull final ConcurrentArray<T> array,
+                                                   @NotNull final Function<Array<T>, R> function) {
+        if (array.isEmpty()) return null;
+
+        for (int i = 0; i < OPTIMISTIC_READ_ATTEMPTS; i++) {
+
+            final long stamp = array.tryOptimisticRead();
+
+            // the array is being written now
+            if (stamp == 0) break;
+
+            try {
+                final R result = function.apply(array);
+                if (array.validate(stamp)) return result;
+            } catch (final RuntimeException e) {
+                if (array.validate(stamp)) throw e;
+            }
+        }
+
+        return getInReadLock(array, function);
+    }
+
+    /**
+     * Execute and get a result of the function using optimistic reading of the array, see {@link
+     * #getOptimistic(ConcurrentArray, Function)}.
+     *
+     * @param <T>      the type parameter
+     * @param <V>      the type parameter
+     * @param <R>      the type parameter
+     * @param array    the array.
+     * @param argument the argument.
+     * @param function the function.
+     * @return the result of the function.
+     */
+    public static <T, V, R> @Nullable R getOptimistic(@NotNull final ConcurrentArray<T> array,
+                                                      @Nullable final V argument,
+                                                      @NotNull final BiFunction<Array<T>, V, R> function) {
+        if (array.isEmpty()) return null;
+
+        for (int i = 0; i < OPTIMISTIC_READ_ATTEMPTS; i++) {
+
+            final long stamp = array.tryOptimisticRead();
+
+            // the array is being written now
+            if (stamp == 0) break;
+
+            try {
+                final R result = function.apply(array, argument);
+                if (array.validate(stamp)) return result;
+            } catch (final RuntimeException e) {
+                if (array.validate(stamp)) throw e;
+            }
+        }
+
+        return getInReadLock(array, argument, function);
+    }
+
+    /**
+     * Execute and get a result of the function using optimistic reading of the array, see {@link
+     * #getOptimistic(ConcurrentArray, Function)}.
+     *
+     * @param <T>      the type parameter
+     * @param <R>      the type parameter
+     * @param array    the array.
+     * @param argument the argument.
+     * @param function the function.
+     * @return the result of the function.
+     */
+    public static <T, R> @Nullable R getOptimistic(@NotNull final ConcurrentArray<T> array, final int argument,
+                                                   @NotNull final ObjectIntFunction<Array<T>, R> function) {
+        if (array.isEmpty()) return null;
+
+        for (int i = 0; i < OPTIMISTIC_READ_ATTEMPTS; i++) {
+
+            final long stamp = array.tryOptimisticRead();
+
+            // the array is being written now
+            if (stamp == 0) break;
+
+            try {
+                final R result = function.apply(array, argument);
+                if (array.validate(stamp)) return result;
+            } catch (final RuntimeException e) {
+                if (array.validate(stamp)) throw e;
+            }
+        }
+
+        return getInReadLock(array, argument, function);
+    }
+
+    /**
+     * Execute and get a result of the function using optimistic reading of the array, see {@link
+     * #getOptimistic(ConcurrentArray, Function)}.
+     *
+     * @param <T>      the type parameter
+     * @param <R>      the type parameter
+     * @param array    the array.
+     * @param argument the argument.
+     * @param function the function.
+     * @return the result of the function.
+     */
+    public static <T, R> @Nullable R getOptimisticL(@NotNull final ConcurrentArray<T> array, final long argument,
+                                                    @NotNull final ObjectLongFunction<Array<T>, R> function) {
+        if (array.isEmpty()) return null;
+
+        for (int i = 0; i < OPTIMISTIC_READ_ATTEMPTS; i++) {
+
+            final long stamp = array.tryOptimisticRead();
+
+            // the array is being written now
+            if (stamp == 0) break;
+
+            try {
+                final R result = function.apply(array, argument);
+                if (array.validate(stamp)) return result;
+            } catch (final RuntimeException e) {
+                if (array.validate(stamp)) throw e;
+            }
+        }
+
+        return getInReadLockL(array, argument, function);
+    }
+
     /**
      * Execute the function in read lock of the array.
      *
@@ -12,6 +12,7 @@ import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -233,6 +234,25 @@ public final class Utils {
         return hexdump(array, 0, size);
     }
 
+    /**
+     * Prepare a hexdump for data of a byte buffer from its start. The data is copied without using the backing
+     * array, so the buffer can be a slice of a larger buffer or a direct buffer.
+     *
+     * @param buffer the byte buffer.
+     * @param size   the size of the data.
+     * @return the string dump.
+     */
+    public static @NotNull String hexdump(@NotNull final ByteBuffer buffer, final int size) {
+
+        final ByteBuffer source = buffer.duplicate();
+        source.clear();
+
+        final byte[] array = new byte[Math.min(size, source.capacity())];
+        source.get(array);
+
+        return hexdump(array, array.length);
+    }
+
     /**
      * Prepare a hexdump for a byte array.
      *
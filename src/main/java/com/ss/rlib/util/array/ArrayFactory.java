@@ -2,6 +2,7 @@ package com.ss.rlib.util.array;
 
 import static com.ss.rlib.util.ClassUtils.unsafeCast;
 
+import com.ss.rlib.util.array.impl.ConcurrentCopyOnWriteArray;
 import com.ss.rlib.util.array.impl.ConcurrentReentrantRWLockArraySet;
 import com.ss.rlib.util.array.impl.ConcurrentReentrantRWLockArray;
 import com.ss.rlib.util.array.impl.FastIntegerArray;
@@ -136,6 +137,17 @@ public class ArrayFactory {
         return new FinalConcurrentStampedLockArray<>(unsafeCast(type));
     }
 
+    /**
+     * Creates the new concurrent array which copies the array on every modification.
+     *
+     * @param <E>  the type parameter
+     * @param type the type of the array.
+     * @return the new array.
+     */
+    public static <E> ConcurrentArray<E> newConcurrentCopyOnWriteArray(final Class<?> type) {
+        return new ConcurrentCopyOnWriteArray<>(unsafeCast(type));
+    }
+
     /**
      * Creates the new sorted array.
      *
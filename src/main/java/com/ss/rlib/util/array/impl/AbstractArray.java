@@ -90,7 +90,7 @@ public abstract class AbstractArray<E> implements Array<E> {
     }
 
     @Override
-    public final boolean slowRemove(@NotNull final Object object) {
+    public boolean slowRemove(@NotNull final Object object) {
         final int index = indexOf(object);
         if (index >= 0) slowRemove(index);
         return index >= 0;
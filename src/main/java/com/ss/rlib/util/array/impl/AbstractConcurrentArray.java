@@ -4,12 +4,16 @@ import static com.ss.rlib.util.ArrayUtils.copyOf;
 import static java.lang.Math.max;
 import com.ss.rlib.concurrent.atomic.AtomicInteger;
 import com.ss.rlib.util.ArrayUtils;
+import com.ss.rlib.util.ReflectionUtils;
 import com.ss.rlib.util.array.Array;
 import com.ss.rlib.util.array.ArrayIterator;
 import com.ss.rlib.util.array.ConcurrentArray;
 import com.ss.rlib.util.array.UnsafeArray;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
 import java.util.NoSuchElementException;
 
@@ -23,6 +27,23 @@ public abstract class AbstractConcurrentArray<E> extends AbstractArray<E> implem
 
     private static final long serialVersionUID = -6291504312637658721L;
 
+    /**
+     * The fence of the unsafe to order loads before an optimistic read is validated.
+     */
+    @NotNull
+    private static final MethodHandle LOAD_FENCE = findFence("loadFence");
+
+    /**
+     * The fence of the unsafe to order stores after the version of a writer.
+     */
+    @NotNull
+    private static final MethodHandle STORE_FENCE = findFence("storeFence");
+
+    /**
+     * The first version of an array.
+     */
+    private static final long FIRST_VERSION = 2;
+
     /**
      * The count of elements in this array.
      */
@@ -33,6 +54,16 @@ public abstract class AbstractConcurrentArray<E> extends AbstractArray<E> implem
      */
     private volatile E[] array;
 
+    /**
+     * The version of this array which is odd while this array is being written.
+     */
+    private volatile long version;
+
+    /**
+     * The count of nested write locks of the current writer.
+     */
+    private int writeDepth;
+
     /**
      * Instantiates a new Abstract concurrent array.
      *
@@ -52,6 +83,79 @@ public abstract class AbstractConcurrentArray<E> extends AbstractArray<E> implem
         super(type, size);
 
         this.size = new AtomicInteger();
+        this.version = FIRST_VERSION;
+    }
+
+    /**
+     * Find a fence method of the unsafe, the unsafe isn't referenced by its type to not use an internal API at
+     * compile time.
+     *
+     * @param name the name of the fence method.
+     * @return the method handle which is bound to the unsafe.
+     */
+    @NotNull
+    private static MethodHandle findFence(@NotNull final String name) {
+        try {
+            final Class<?> type = Class.forName("sun.misc.Unsafe");
+            final Object unsafe = ReflectionUtils.getUnsafeStaticFieldValue(type, "theUnsafe");
+            return MethodHandles.lookup()
+                    .findVirtual(type, name, MethodType.methodType(void.class))
+                    .bindTo(unsafe);
+        } catch (final ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Put a memory fence.
+     *
+     * @param fence the fence method.
+     */
+    private static void fence(@NotNull final MethodHandle fence) {
+        try {
+            fence.invokeExact();
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Notify about locking this array for writing, should be called by implementations after acquiring a write lock.
+     */
+    protected final void onWriteLocked() {
+        if (writeDepth++ == 0) {
+            version++;
+            // stores of the writer shouldn't be visible before the odd version
+            fence(STORE_FENCE);
+        }
+    }
+
+    /**
+     * Notify about unlocking this array for writing, should be called by implementations before releasing a write
+     * lock.
+     */
+    protected final void onWriteUnlocked() {
+        if (--writeDepth == 0) {
+            version++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The stamp is the version of this array, so an optimistic read doesn't write to shared memory at all.
+     */
+    @Override
+    public long tryOptimisticRead() {
+        final long version = this.version;
+        return (version & 1) == 0 ? version : 0;
+    }
+
+    @Override
+    public boolean validate(final long stamp) {
+        // loads of the reader shouldn't be reordered after checking the version
+        fence(LOAD_FENCE);
+        return stamp != 0 && stamp == version;
     }
 
     @Override
@@ -297,6 +401,8 @@ public abstract class AbstractConcurrentArray<E> extends AbstractArray<E> implem
     public @NotNull AbstractConcurrentArray<E> clone() throws CloneNotSupportedException {
         final AbstractConcurrentArray<E> clone = (AbstractConcurrentArray<E>) super.clone();
         clone.array = ArrayUtils.copyOf(array, size());
+        clone.version = FIRST_VERSION;
+        clone.writeDepth = 0;
         return clone;
     }
 }
\ No newline at end of file
@@ -57,11 +57,13 @@ public class ConcurrentAtomicARSWLockArray<E> extends AbstractConcurrentArray<E>
     @Override
     public final long writeLock() {
         lock.syncLock();
+        onWriteLocked();
         return 0;
     }
 
     @Override
     public void writeUnlock(final long stamp) {
+        onWriteUnlocked();
         lock.syncUnlock();
     }
 }
\ No newline at end of file
@@ -0,0 +1,414 @@
+package com.ss.rlib.util.array.impl;
+
+import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.util.ArrayUtils;
+import com.ss.rlib.util.ClassUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayComparator;
+import com.ss.rlib.util.array.ArrayIterator;
+import com.ss.rlib.util.array.ConcurrentArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * The concurrent implementation of the array which copies the array on every modification. Readers get an immutable
+ * snapshot by one volatile read, so {@link ConcurrentArray#readLock()} doesn't lock anything and iterating never
+ * blocks. Writers are ordered by {@link LockFactory#newReentrantLock()}, so this array fits lists which are read very
+ * often and modified rarely, such as lists of listeners.
+ *
+ * @param <E> the type parameter
+ * @author JavaSaBr
+ */
+public class ConcurrentCopyOnWriteArray<E> extends AbstractArray<E> implements ConcurrentArray<E> {
+
+    private static final long serialVersionUID = 6305416361785640467L;
+
+    /**
+     * The iterator of a snapshot of the array.
+     */
+    private final class SnapshotIterator implements ArrayIterator<E> {
+
+        /**
+         * The snapshot for iteration.
+         */
+        @NotNull
+        private final E[] snapshot;
+
+        /**
+         * The current position in the snapshot.
+         */
+        private int ordinal;
+
+        private SnapshotIterator(@NotNull final E[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void fastRemove() {
+            ConcurrentCopyOnWriteArray.this.fastRemove(snapshot[ordinal - 1]);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ordinal < snapshot.length;
+        }
+
+        @Override
+        public int index() {
+            return ordinal - 1;
+        }
+
+        @Override
+        public E next() {
+
+            if (ordinal >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+
+            return snapshot[ordinal++];
+        }
+
+        @Override
+        public void remove() {
+            slowRemove(snapshot[ordinal - 1]);
+        }
+    }
+
+    /**
+     * The lock of writers.
+     */
+    @NotNull
+    private final Lock lock;
+
+    /**
+     * The current snapshot of the array without empty cells.
+     */
+    @NotNull
+    private volatile E[] array;
+
+    /**
+     * The count of modifications of this array.
+     */
+    private volatile long modCount;
+
+    /**
+     * Instantiates a new Concurrent copy on write array.
+     *
+     * @param type the type
+     */
+    public ConcurrentCopyOnWriteArray(@NotNull final Class<E> type) {
+        super(type, 0);
+
+        this.lock = LockFactory.newReentrantLock();
+        this.modCount = 1;
+    }
+
+    /**
+     * Publish the new snapshot of this array, should be called in the write lock.
+     *
+     * @param array the new snapshot.
+     */
+    private void publish(@NotNull final E[] array) {
+        // the count is changed before the snapshot, so readers which saw the new snapshot see the new count as well
+        modCount++;
+        this.array = array;
+    }
+
+    @Override
+    public final long readLock() {
+        return 0;
+    }
+
+    @Override
+    public final void readUnlock(final long stamp) {
+    }
+
+    @Override
+    public final long tryOptimisticRead() {
+        return modCount;
+    }
+
+    @Override
+    public final boolean validate(final long stamp) {
+        return stamp != 0 && stamp == modCount;
+    }
+
+    @Override
+    public final long writeLock() {
+        lock.lock();
+        return 0;
+    }
+
+    @Override
+    public final void writeUnlock(final long stamp) {
+        lock.unlock();
+    }
+
+    @Override
+    public boolean add(@NotNull final E element) {
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+            final E[] newArray = Arrays.copyOf(array, array.length + 1);
+            newArray[array.length] = element;
+
+            publish(newArray);
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final boolean addAll(@NotNull final Array<? extends E> elements) {
+        if (elements.isEmpty()) return false;
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+            final E[] newArray = Arrays.copyOf(array, array.length + elements.size());
+
+            System.arraycopy(elements.array(), 0, newArray, array.length, elements.size());
+
+            publish(newArray);
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final boolean addAll(@NotNull final Collection<? extends E> collection) {
+        if (collection.isEmpty()) return false;
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+            final E[] newArray = Arrays.copyOf(array, array.length + collection.size());
+
+            int index = array.length;
+
+            for (final E element : collection) {
+                newArray[index++] = element;
+            }
+
+            publish(newArray);
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final boolean addAll(@NotNull final E[] elements) {
+        if (elements.length < 1) return false;
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+            final E[] newArray = Arrays.copyOf(array, array.length + elements.length);
+
+            System.arraycopy(elements, 0, newArray, array.length, elements.length);
+
+            publish(newArray);
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final void apply(@NotNull final Function<? super E, ? extends E> function) {
+        lock.lock();
+        try {
+
+            final E[] newArray = array.clone();
+
+            for (int i = 0; i < newArray.length; i++) {
+                newArray[i] = function.apply(newArray[i]);
+            }
+
+            publish(newArray);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final @NotNull E[] array() {
+        return array;
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            if (array.length > 0) publish(Arrays.copyOf(array, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final boolean fastRemove(@NotNull final Object object) {
+        lock.lock();
+        try {
+            return super.fastRemove(object);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final boolean slowRemove(@NotNull final Object object) {
+        lock.lock();
+        try {
+            return super.slowRemove(object);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final @NotNull E fastRemove(final int index) {
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+
+            if (index < 0 || index >= array.length) {
+                throw new NoSuchElementException();
+            }
+
+            final E old = array[index];
+            final E[] newArray = Arrays.copyOf(array, array.length - 1);
+
+            if (index < newArray.length) {
+                newArray[index] = array[newArray.length];
+            }
+
+            publish(newArray);
+            return old;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final @NotNull E get(final int index) {
+
+        final E[] array = this.array;
+
+        if (index < 0 || index >= array.length) {
+            throw new NoSuchElementException();
+        }
+
+        return array[index];
+    }
+
+    @Override
+    public final @NotNull ArrayIterator<E> iterator() {
+        return new SnapshotIterator(array);
+    }
+
+    @Override
+    public final void set(final int index, @NotNull final E element) {
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+
+            if (index < 0 || index >= array.length) {
+                throw new ArrayIndexOutOfBoundsException();
+            }
+
+            final E[] newArray = array.clone();
+            newArray[index] = element;
+
+            publish(newArray);
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected final void setArray(@NotNull final E[] array) {
+        this.array = array;
+    }
+
+    @Override
+    protected final void setSize(final int size) {
+        lock.lock();
+        try {
+            if (size != array.length) publish(Arrays.copyOf(array, size));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final int size() {
+        return array.length;
+    }
+
+    @Override
+    public final @NotNull E slowRemove(final int index) {
+        lock.lock();
+        try {
+
+            final E[] array = this.array;
+
+            if (index < 0 || index >= array.length) {
+                throw new NoSuchElementException();
+            }
+
+            final E old = array[index];
+            final E[] newArray = Arrays.copyOf(array, array.length - 1);
+
+            System.arraycopy(array, index + 1, newArray, index, newArray.length - index);
+
+            publish(newArray);
+            return old;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public final @NotNull Array<E> sort(@NotNull final ArrayComparator<@NotNull E> comparator) {
+        lock.lock();
+        try {
+
+            final E[] newArray = array.clone();
+
+            ArrayUtils.sort(newArray, 0, newArray.length, comparator);
+
+            publish(newArray);
+            return this;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull ConcurrentCopyOnWriteArray<E> clone() throws CloneNotSupportedException {
+        final ConcurrentCopyOnWriteArray<E> clone = ClassUtils.unsafeCast(super.clone());
+        clone.modCount = 1;
+        return clone;
+    }
+}
@@ -66,11 +66,13 @@ public class ConcurrentReentrantRWLockArray<E> extends AbstractConcurrentArray<E
     @Override
     public final long writeLock() {
         writeLock.lock();
+        onWriteLocked();
         return 0;
     }
 
     @Override
     public final void writeUnlock(final long stamp) {
+        onWriteUnlocked();
         writeLock.unlock();
     }
 }
\ No newline at end of file
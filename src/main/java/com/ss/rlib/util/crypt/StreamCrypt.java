@@ -0,0 +1,115 @@
+package com.ss.rlib.util.crypt;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The stream crypt based on AES in the counter mode. Each direction has own counter which continues between calls,
+ * so both sides should process the same stream of bytes in the same order. Data can be encrypted in place in heap
+ * and direct buffers.
+ *
+ * @author JavaSaBr
+ */
+public class StreamCrypt {
+
+    /**
+     * The size of initialization vectors.
+     */
+    public static final int IV_SIZE = 16;
+
+    /**
+     * The encrypter.
+     */
+    @NotNull
+    private final Cipher ecipher;
+
+    /**
+     * The decrypter.
+     */
+    @NotNull
+    private final Cipher dcipher;
+
+    /**
+     * Instantiates a new Stream crypt.
+     *
+     * @param key       the AES key with 16, 24 or 32 bytes.
+     * @param encryptIv the initialization vector to encrypt data, it's the decrypt vector of other side.
+     * @param decryptIv the initialization vector to decrypt data, it's the encrypt vector of other side.
+     * @throws NoSuchAlgorithmException           the no such algorithm exception
+     * @throws NoSuchPaddingException             the no such padding exception
+     * @throws InvalidKeyException                the invalid key exception
+     * @throws InvalidAlgorithmParameterException the invalid algorithm parameter exception
+     */
+    public StreamCrypt(@NotNull final byte[] key, @NotNull final byte[] encryptIv, @NotNull final byte[] decryptIv)
+            throws NoSuchAlgorithmException, NoSuchPaddingException, InvalidKeyException,
+            InvalidAlgorithmParameterException {
+
+        final SecretKeySpec secretKey = new SecretKeySpec(key, "AES");
+        final Cipher ecipher = Cipher.getInstance("AES/CTR/NoPadding");
+        final Cipher dcipher = Cipher.getInstance("AES/CTR/NoPadding");
+
+        ecipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(encryptIv));
+        dcipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(decryptIv));
+
+        this.ecipher = ecipher;
+        this.dcipher = dcipher;
+    }
+
+    /**
+     * Decrypt data in place.
+     *
+     * @param data   the buffer with encrypted data.
+     * @param offset the offset.
+     * @param length the length.
+     * @throws ShortBufferException the short buffer exception
+     */
+    public void decrypt(@NotNull final ByteBuffer data, final int offset, final int length)
+            throws ShortBufferException {
+        update(dcipher, data, offset, length);
+    }
+
+    /**
+     * Encrypt data in place.
+     *
+     * @param data   the buffer with decrypted data.
+     * @param offset the offset.
+     * @param length the length.
+     * @throws ShortBufferException the short buffer exception
+     */
+    public void encrypt(@NotNull final ByteBuffer data, final int offset, final int length)
+            throws ShortBufferException {
+        update(ecipher, data, offset, length);
+    }
+
+    /**
+     * Process a region of the buffer in place by the cipher.
+     *
+     * @param cipher the cipher.
+     * @param data   the buffer.
+     * @param offset the offset.
+     * @param length the length.
+     * @throws ShortBufferException the short buffer exception
+     */
+    private void update(@NotNull final Cipher cipher, @NotNull final ByteBuffer data, final int offset,
+                        final int length) throws ShortBufferException {
+
+        final ByteBuffer input = data.duplicate();
+        input.limit(offset + length);
+        input.position(offset);
+
+        final ByteBuffer output = data.duplicate();
+        output.limit(offset + length);
+        output.position(offset);
+
+        cipher.update(input, output);
+    }
+}
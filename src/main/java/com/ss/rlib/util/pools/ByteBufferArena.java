@@ -0,0 +1,57 @@
+package com.ss.rlib.util.pools;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The interface for implementing a pool of byte buffers with different sizes.
+ *
+ * @author JavaSaBr
+ */
+public interface ByteBufferArena {
+
+    /**
+     * Takes a buffer from this arena.
+     *
+     * @param size the min capacity of the buffer.
+     * @return the buffer with capacity equals the size.
+     */
+    @NotNull
+    ByteBuffer take(int size);
+
+    /**
+     * Puts the buffer back to this arena.
+     *
+     * @param buffer the buffer which was taken from this arena.
+     */
+    void put(@NotNull ByteBuffer buffer);
+
+    /**
+     * Gets outstanding buffers.
+     *
+     * @return the count of taken buffers which weren't put back yet.
+     */
+    long getOutstandingBuffers();
+
+    /**
+     * Gets peak outstanding buffers.
+     *
+     * @return the max count of taken buffers at the same time.
+     */
+    long getPeakOutstandingBuffers();
+
+    /**
+     * Gets leaked buffers.
+     *
+     * @return the count of taken buffers which were collected by GC without putting back.
+     */
+    long getLeakedBuffers();
+
+    /**
+     * Gets reserved memory.
+     *
+     * @return the size in bytes of memory which is reserved by this arena.
+     */
+    long getReservedMemory();
+}
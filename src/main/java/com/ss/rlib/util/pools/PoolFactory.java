@@ -8,6 +8,11 @@ import com.ss.rlib.util.pools.impl.FinalConcurrentAtomicARSWLockReusablePool;
 import com.ss.rlib.util.pools.impl.FinalConcurrentStampedLockReusablePool;
 import com.ss.rlib.util.pools.impl.FinalFastPool;
 import com.ss.rlib.util.pools.impl.FinalFastReusablePool;
+import com.ss.rlib.util.pools.impl.MagazinePool;
+import com.ss.rlib.util.pools.impl.MagazineReusablePool;
+import com.ss.rlib.util.pools.impl.SlabByteBufferArena;
+
+import java.nio.ByteOrder;
 
 /**
  * The factory for creating new pools.
@@ -52,6 +57,32 @@ public final class PoolFactory {
         return new ConcurrentReentrantRWLockPool<>(type);
     }
 
+    /**
+     * New magazine reusable pool with per-thread magazines.
+     *
+     * @param <T>  the type parameter
+     * @param type the type
+     * @return the reusable pool
+     */
+    @NotNull
+    public static <T extends Reusable> ReusablePool<T> newMagazineReusablePool(final Class<? extends Reusable> type) {
+        return new MagazineReusablePool<>(type);
+    }
+
+    /**
+     * New magazine reusable pool with per-thread magazines.
+     *
+     * @param <T>          the type parameter
+     * @param type         the type
+     * @param magazineSize the count of objects in a magazine
+     * @return the reusable pool
+     */
+    @NotNull
+    public static <T extends Reusable> ReusablePool<T> newMagazineReusablePool(final Class<? extends Reusable> type,
+                                                                               final int magazineSize) {
+        return new MagazineReusablePool<>(type, magazineSize);
+    }
+
     /**
      * New synchronized reusable pool reusable pool.
      *
@@ -88,6 +119,18 @@ public final class PoolFactory {
         return new FinalConcurrentAtomicARSWLockPool<>(type);
     }
 
+    /**
+     * New magazine pool with per-thread magazines.
+     *
+     * @param <T>  the type parameter
+     * @param type the type
+     * @return the pool
+     */
+    @NotNull
+    public static <T> Pool<T> newMagazinePool(final Class<?> type) {
+        return new MagazinePool<>(type);
+    }
+
     /**
      * New pool pool.
      *
@@ -100,6 +143,18 @@ public final class PoolFactory {
         return new FinalFastPool<>(type);
     }
 
+    /**
+     * New byte buffer arena.
+     *
+     * @param direct true if buffers should be allocated in direct memory.
+     * @param order  the byte order of buffers.
+     * @return the byte buffer arena
+     */
+    @NotNull
+    public static ByteBufferArena newByteBufferArena(final boolean direct, @NotNull final ByteOrder order) {
+        return new SlabByteBufferArena(direct, order);
+    }
+
     private PoolFactory() {
         throw new IllegalArgumentException();
     }
@@ -0,0 +1,388 @@
+package com.ss.rlib.util.pools.impl;
+
+import com.ss.rlib.concurrent.lock.LockFactory;
+import com.ss.rlib.util.ClassUtils;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import com.ss.rlib.util.pools.Pool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The threadsafe implementation of the {@link Pool} with per-thread magazines by the design of Bonwick. Every thread
+ * has two magazines (stacks of objects with fixed capacity) and takes and puts objects without any synchronization
+ * until both magazines are empty or full. After that the thread exchanges a whole magazine with a shared depot of
+ * full and empty magazines, so the lock of the depot is taken only once per a magazine of objects. Objects in
+ * magazines of other threads aren't visible for {@link #take()}, {@link #remove(Object)} and {@link #isEmpty()}.
+ *
+ * @param <E> the type parameter
+ * @author JavaSaBr
+ */
+public class MagazinePool<E> implements Pool<E> {
+
+    /**
+     * The default count of objects in a magazine.
+     */
+    public static final int DEFAULT_MAGAZINE_SIZE = 32;
+
+    /**
+     * The stack of objects with fixed capacity.
+     */
+    private static final class Magazine {
+
+        /**
+         * The objects.
+         */
+        @NotNull
+        private final Object[] objects;
+
+        /**
+         * The count of objects.
+         */
+        private int size;
+
+        private Magazine(final int capacity) {
+            this.objects = new Object[capacity];
+        }
+
+        /**
+         * Is empty boolean.
+         *
+         * @return true if this magazine is empty.
+         */
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Is full boolean.
+         *
+         * @return true if this magazine is full.
+         */
+        private boolean isFull() {
+            return size == objects.length;
+        }
+
+        /**
+         * Push an object to this magazine.
+         *
+         * @param object the object.
+         */
+        private void push(@NotNull final Object object) {
+            objects[size++] = object;
+        }
+
+        /**
+         * Pop an object from this magazine.
+         *
+         * @return the object.
+         */
+        @NotNull
+        private Object pop() {
+            final Object object = objects[--size];
+            objects[size] = null;
+            return object;
+        }
+
+        /**
+         * Remove an object from this magazine.
+         *
+         * @param object the object.
+         * @return true if the object was removed.
+         */
+        private boolean remove(@NotNull final Object object) {
+
+            for (int i = 0; i < size; i++) {
+
+                if (objects[i] != object) continue;
+
+                objects[i] = objects[--size];
+                objects[size] = null;
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * The magazines of a thread.
+     */
+    private final class ThreadCache {
+
+        /**
+         * The magazine to take and put objects.
+         */
+        @NotNull
+        private Magazine loaded;
+
+        /**
+         * The previous magazine which is full or empty.
+         */
+        @NotNull
+        private Magazine previous;
+
+        private ThreadCache() {
+            this.loaded = new Magazine(magazineSize);
+            this.previous = new Magazine(magazineSize);
+        }
+    }
+
+    /**
+     * The full magazines of the depot.
+     */
+    @NotNull
+    private final Array<Magazine> fullMagazines;
+
+    /**
+     * The empty magazines of the depot.
+     */
+    @NotNull
+    private final Array<Magazine> emptyMagazines;
+
+    /**
+     * The thread caches.
+     */
+    @NotNull
+    private final ThreadLocal<ThreadCache> threadCache;
+
+    /**
+     * The lock of the depot.
+     */
+    @NotNull
+    private final Lock lock;
+
+    /**
+     * The count of full magazines in the depot.
+     */
+    private volatile int fullCount;
+
+    /**
+     * The count of objects in a magazine.
+     */
+    private final int magazineSize;
+
+    /**
+     * Instantiates a new Magazine pool.
+     *
+     * @param type the type
+     */
+    public MagazinePool(final Class<?> type) {
+        this(type, DEFAULT_MAGAZINE_SIZE);
+    }
+
+    /**
+     * Instantiates a new Magazine pool.
+     *
+     * @param type         the type
+     * @param magazineSize the count of objects in a magazine
+     */
+    public MagazinePool(final Class<?> type, final int magazineSize) {
+
+        if (magazineSize < 1) {
+            throw new IllegalArgumentException("the magazine size should be more than 0.");
+        }
+
+        this.magazineSize = magazineSize;
+        this.fullMagazines = ArrayFactory.newArray(Magazine.class);
+        this.emptyMagazines = ArrayFactory.newArray(Magazine.class);
+        this.threadCache = ThreadLocal.withInitial(ThreadCache::new);
+        this.lock = LockFactory.newAtomicLock();
+    }
+
+    @Override
+    public boolean isEmpty() {
+
+        final ThreadCache cache = threadCache.get();
+
+        if (!cache.loaded.isEmpty() || !cache.previous.isEmpty()) {
+            return false;
+        }
+
+        return fullCount == 0;
+    }
+
+    @Override
+    public void put(@NotNull final E object) {
+
+        final ThreadCache cache = threadCache.get();
+
+        if (cache.loaded.isFull()) {
+            exchangeFull(cache);
+        }
+
+        cache.loaded.push(object);
+    }
+
+    /**
+     * Prepare a not full loaded magazine of the thread cache, the previous magazine is swapped with the loaded if
+     * it's empty, otherwise the full previous magazine is moved to the depot.
+     *
+     * @param cache the thread cache.
+     */
+    private void exchangeFull(@NotNull final ThreadCache cache) {
+
+        final Magazine previous = cache.previous;
+
+        if (previous.isEmpty()) {
+            cache.previous = cache.loaded;
+            cache.loaded = previous;
+            return;
+        }
+
+        Magazine empty;
+
+        lock.lock();
+        try {
+            fullMagazines.add(previous);
+            fullCount = fullMagazines.size();
+            empty = emptyMagazines.pop();
+        } finally {
+            lock.unlock();
+        }
+
+        if (empty == null) {
+            empty = new Magazine(magazineSize);
+        }
+
+        cache.previous = cache.loaded;
+        cache.loaded = empty;
+    }
+
+    @Override
+    public void remove(@NotNull final E object) {
+
+        final ThreadCache cache = threadCache.get();
+
+        if (cache.loaded.remove(object) || cache.previous.remove(object)) {
+            return;
+        }
+
+        lock.lock();
+        try {
+
+            for (final Magazine magazine : fullMagazines.array()) {
+                if (magazine == null) break;
+                if (!magazine.remove(object)) continue;
+
+                // the magazine isn't full anymore, so it's moved to the current thread
+                fullMagazines.fastRemove(magazine);
+                returnMagazine(cache, magazine);
+                fullCount = fullMagazines.size();
+                return;
+            }
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replace an empty magazine of the thread cache by the not full magazine from the depot, should be called in the
+     * lock of the depot.
+     *
+     * @param cache    the thread cache.
+     * @param magazine the not full magazine.
+     */
+    private void returnMagazine(@NotNull final ThreadCache cache, @NotNull final Magazine magazine) {
+
+        if (cache.loaded.isEmpty()) {
+            emptyMagazines.add(cache.loaded);
+            cache.loaded = magazine;
+        } else if (cache.previous.isEmpty()) {
+            emptyMagazines.add(cache.previous);
+            cache.previous = magazine;
+        } else {
+
+            // both magazines of the thread have objects, so the objects of the magazine are moved to the loaded
+            while (!magazine.isEmpty() && !cache.loaded.isFull()) {
+                cache.loaded.push(magazine.pop());
+            }
+
+            if (magazine.isEmpty()) {
+                emptyMagazines.add(magazine);
+            } else {
+                fullMagazines.add(magazine);
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public E take() {
+
+        final ThreadCache cache = threadCache.get();
+
+        if (cache.loaded.isEmpty() && !exchangeEmpty(cache)) {
+            return null;
+        }
+
+        return ClassUtils.unsafeCast(cache.loaded.pop());
+    }
+
+    /**
+     * Prepare a not empty loaded magazine of the thread cache, the previous magazine is swapped with the loaded if
+     * it isn't empty, otherwise the empty previous magazine is exchanged with a full magazine from the depot.
+     *
+     * @param cache the thread cache.
+     * @return true if the loaded magazine isn't empty.
+     */
+    private boolean exchangeEmpty(@NotNull final ThreadCache cache) {
+
+        final Magazine previous = cache.previous;
+
+        if (!previous.isEmpty()) {
+            cache.previous = cache.loaded;
+            cache.loaded = previous;
+            return true;
+        }
+
+        if (fullCount == 0) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+
+            final Magazine full = fullMagazines.pop();
+            if (full == null) return false;
+
+            fullCount = fullMagazines.size();
+
+            emptyMagazines.add(previous);
+
+            cache.previous = cache.loaded;
+            cache.loaded = full;
+
+            return true;
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets magazine size.
+     *
+     * @return the count of objects in a magazine.
+     */
+    public int getMagazineSize() {
+        return magazineSize;
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "MagazinePool{" +
+                    "magazineSize=" + magazineSize +
+                    ", fullMagazines=" + fullMagazines.size() +
+                    ", emptyMagazines=" + emptyMagazines.size() +
+                    '}';
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ss.rlib.util.pools.impl;
+
+import com.ss.rlib.util.pools.Reusable;
+import com.ss.rlib.util.pools.ReusablePool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The threadsafe implementation of the {@link ReusablePool} with per-thread magazines, see {@link MagazinePool}.
+ *
+ * @param <E> the type parameter
+ * @author JavaSaBr
+ */
+public class MagazineReusablePool<E extends Reusable> extends MagazinePool<E> implements ReusablePool<E> {
+
+    /**
+     * Instantiates a new Magazine reusable pool.
+     *
+     * @param type the type
+     */
+    public MagazineReusablePool(final Class<?> type) {
+        super(type);
+    }
+
+    /**
+     * Instantiates a new Magazine reusable pool.
+     *
+     * @param type         the type
+     * @param magazineSize the count of objects in a magazine
+     */
+    public MagazineReusablePool(final Class<?> type, final int magazineSize) {
+        super(type, magazineSize);
+    }
+
+    @Override
+    public void put(@NotNull final E object) {
+        object.free();
+        super.put(object);
+    }
+
+    @Nullable
+    @Override
+    public E take() {
+
+        final E object = super.take();
+        if (object == null) return null;
+
+        object.reuse();
+
+        return object;
+    }
+}
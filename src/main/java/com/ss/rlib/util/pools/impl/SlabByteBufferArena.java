@@ -0,0 +1,439 @@
+package com.ss.rlib.util.pools.impl;
+
+import com.ss.rlib.util.ClassUtils;
+import com.ss.rlib.util.pools.ByteBufferArena;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * The implementation of the {@link ByteBufferArena} which carves fixed-size slots from large memory regions (slabs).
+ * Slots are grouped by power of two size classes, each class has a shared depot of free slots and each thread has a
+ * small cache of free slots to take and put buffers mostly without touching the depot. Buffers larger than the max
+ * size class are allocated separately and aren't tracked.
+ *
+ * @author JavaSaBr
+ */
+public class SlabByteBufferArena implements ByteBufferArena {
+
+    /**
+     * The shift of the min size class (256 bytes).
+     */
+    private static final int MIN_SIZE_SHIFT = 8;
+
+    /**
+     * The shift of the max size class (1 MiB).
+     */
+    private static final int MAX_SIZE_SHIFT = 20;
+
+    /**
+     * The count of size classes.
+     */
+    private static final int SIZE_CLASSES = MAX_SIZE_SHIFT - MIN_SIZE_SHIFT + 1;
+
+    /**
+     * The min size of a slab.
+     */
+    private static final int MIN_SLAB_SIZE = 256 * 1024;
+
+    /**
+     * The min count of slots in a slab.
+     */
+    private static final int MIN_SLAB_SLOTS = 4;
+
+    /**
+     * The max count of free slots of each size class in a thread cache.
+     */
+    private static final int THREAD_CACHE_SIZE = 16;
+
+    /**
+     * The slot of a slab.
+     */
+    private static final class Slot {
+
+        /**
+         * The slab memory.
+         */
+        @NotNull
+        private final ByteBuffer slab;
+
+        /**
+         * The offset of this slot in the slab.
+         */
+        private final int offset;
+
+        /**
+         * The index of the size class.
+         */
+        private final int sizeClass;
+
+        private Slot(@NotNull final ByteBuffer slab, final int offset, final int sizeClass) {
+            this.slab = slab;
+            this.offset = offset;
+            this.sizeClass = sizeClass;
+        }
+    }
+
+    /**
+     * The weak reference to a taken buffer, it's compared by identity of the buffer.
+     */
+    private static final class BufferReference extends WeakReference<ByteBuffer> {
+
+        /**
+         * The slot of the buffer.
+         */
+        @Nullable
+        private final Slot slot;
+
+        /**
+         * The identity hash of the buffer.
+         */
+        private final int hash;
+
+        private BufferReference(@NotNull final ByteBuffer buffer, @Nullable final Slot slot,
+                                @Nullable final ReferenceQueue<ByteBuffer> queue) {
+            super(buffer, queue);
+            this.slot = slot;
+            this.hash = System.identityHashCode(buffer);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable final Object object) {
+            if (this == object) return true;
+            if (!(object instanceof BufferReference)) return false;
+            final ByteBuffer buffer = get();
+            return buffer != null && buffer == ((BufferReference) object).get();
+        }
+    }
+
+    /**
+     * The cache of free slots of a thread.
+     */
+    private static final class ThreadCache {
+
+        /**
+         * The free slots by size classes.
+         */
+        @NotNull
+        private final Slot[][] slots;
+
+        /**
+         * The counts of free slots by size classes.
+         */
+        @NotNull
+        private final int[] sizes;
+
+        private ThreadCache() {
+            this.slots = new Slot[SIZE_CLASSES][THREAD_CACHE_SIZE];
+            this.sizes = new int[SIZE_CLASSES];
+        }
+    }
+
+    /**
+     * The depots of free slots by size classes.
+     */
+    @NotNull
+    private final ConcurrentLinkedQueue<Slot>[] depots;
+
+    /**
+     * The thread caches.
+     */
+    @NotNull
+    private final ThreadLocal<ThreadCache> threadCache;
+
+    /**
+     * The references to taken buffers.
+     */
+    @NotNull
+    private final ConcurrentHashMap<BufferReference, BufferReference> takenBuffers;
+
+    /**
+     * The queue of references to collected buffers.
+     */
+    @NotNull
+    private final ReferenceQueue<ByteBuffer> collectedBuffers;
+
+    /**
+     * The count of outstanding buffers.
+     */
+    @NotNull
+    private final AtomicLong outstanding;
+
+    /**
+     * The max count of outstanding buffers.
+     */
+    @NotNull
+    private final LongAccumulator peakOutstanding;
+
+    /**
+     * The count of leaked buffers.
+     */
+    @NotNull
+    private final AtomicLong leaked;
+
+    /**
+     * The size of reserved memory.
+     */
+    @NotNull
+    private final AtomicLong reservedMemory;
+
+    /**
+     * The byte order of buffers.
+     */
+    @NotNull
+    private final ByteOrder order;
+
+    /**
+     * True if slabs are allocated in direct memory.
+     */
+    private final boolean direct;
+
+    /**
+     * Instantiates a new Slab byte buffer arena.
+     *
+     * @param direct true if slabs should be allocated in direct memory.
+     * @param order  the byte order of buffers.
+     */
+    public SlabByteBufferArena(final boolean direct, @NotNull final ByteOrder order) {
+        this.direct = direct;
+        this.order = order;
+        this.depots = ClassUtils.unsafeCast(new ConcurrentLinkedQueue<?>[SIZE_CLASSES]);
+        this.threadCache = ThreadLocal.withInitial(ThreadCache::new);
+        this.takenBuffers = new ConcurrentHashMap<>();
+        this.collectedBuffers = new ReferenceQueue<>();
+        this.outstanding = new AtomicLong();
+        this.peakOutstanding = new LongAccumulator(Long::max, 0);
+        this.leaked = new AtomicLong();
+        this.reservedMemory = new AtomicLong();
+
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            depots[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Get an index of a size class for the size.
+     *
+     * @param size the size.
+     * @return the index of the size class or -1 if the size is larger than the max size class.
+     */
+    protected int getSizeClass(final int size) {
+        if (size <= 1 << MIN_SIZE_SHIFT) return 0;
+        final int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift > MAX_SIZE_SHIFT ? -1 : shift - MIN_SIZE_SHIFT;
+    }
+
+    /**
+     * Allocate a new memory region.
+     *
+     * @param size the size of the region.
+     * @return the new memory region.
+     */
+    @NotNull
+    protected ByteBuffer allocate(final int size) {
+        return (direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size)).order(order);
+    }
+
+    @NotNull
+    @Override
+    public ByteBuffer take(final int size) {
+
+        final int sizeClass = getSizeClass(size);
+        if (sizeClass < 0) return allocate(size);
+
+        expungeCollectedBuffers();
+
+        Slot slot = takeFromThreadCache(sizeClass);
+
+        if (slot == null) {
+            slot = takeFromDepot(sizeClass);
+        }
+
+        final ByteBuffer region = slot.slab.duplicate();
+        region.limit(slot.offset + size);
+        region.position(slot.offset);
+
+        final ByteBuffer buffer = region.slice().order(order);
+        final BufferReference reference = new BufferReference(buffer, slot, collectedBuffers);
+
+        takenBuffers.put(reference, reference);
+        peakOutstanding.accumulate(outstanding.incrementAndGet());
+
+        return buffer;
+    }
+
+    @Override
+    public void put(@NotNull final ByteBuffer buffer) {
+
+        final BufferReference reference = takenBuffers.remove(new BufferReference(buffer, null, null));
+
+        // the buffer wasn't taken from this arena or was already put back
+        if (reference == null || reference.slot == null) return;
+
+        reference.clear();
+        outstanding.decrementAndGet();
+
+        putToThreadCache(reference.slot);
+    }
+
+    /**
+     * Return slots of collected buffers to depots.
+     */
+    private void expungeCollectedBuffers() {
+
+        for (BufferReference reference = (BufferReference) collectedBuffers.poll(); reference != null;
+             reference = (BufferReference) collectedBuffers.poll()) {
+
+            if (takenBuffers.remove(reference) == null || reference.slot == null) continue;
+
+            leaked.incrementAndGet();
+            outstanding.decrementAndGet();
+            depots[reference.slot.sizeClass].offer(reference.slot);
+        }
+    }
+
+    /**
+     * Take a free slot from the cache of the current thread.
+     *
+     * @param sizeClass the size class.
+     * @return the free slot or null.
+     */
+    @Nullable
+    private Slot takeFromThreadCache(final int sizeClass) {
+
+        final ThreadCache cache = threadCache.get();
+        final int size = cache.sizes[sizeClass];
+        if (size < 1) return null;
+
+        final Slot[] slots = cache.slots[sizeClass];
+        final Slot slot = slots[size - 1];
+
+        slots[size - 1] = null;
+        cache.sizes[sizeClass] = size - 1;
+
+        return slot;
+    }
+
+    /**
+     * Put a free slot to the cache of the current thread, a half of the cache is moved to the depot if it's full.
+     *
+     * @param slot the free slot.
+     */
+    private void putToThreadCache(@NotNull final Slot slot) {
+
+        final int sizeClass = slot.sizeClass;
+        final ThreadCache cache = threadCache.get();
+        final Slot[] slots = cache.slots[sizeClass];
+
+        int size = cache.sizes[sizeClass];
+
+        if (size == slots.length) {
+
+            final ConcurrentLinkedQueue<Slot> depot = depots[sizeClass];
+
+            for (final int half = size / 2; size > half; size--) {
+                depot.offer(slots[size - 1]);
+                slots[size - 1] = null;
+            }
+        }
+
+        slots[size] = slot;
+        cache.sizes[sizeClass] = size + 1;
+    }
+
+    /**
+     * Take a free slot from the depot and move a half of cache size of free slots to the cache of the current
+     * thread, a new slab is allocated if the depot is empty.
+     *
+     * @param sizeClass the size class.
+     * @return the free slot.
+     */
+    @NotNull
+    private Slot takeFromDepot(final int sizeClass) {
+
+        final ConcurrentLinkedQueue<Slot> depot = depots[sizeClass];
+
+        Slot slot = depot.poll();
+
+        if (slot == null) {
+            slot = allocateSlab(sizeClass);
+        }
+
+        final ThreadCache cache = threadCache.get();
+        final Slot[] slots = cache.slots[sizeClass];
+
+        for (int i = cache.sizes[sizeClass], limit = slots.length / 2; i < limit; i++) {
+
+            final Slot free = depot.poll();
+            if (free == null) break;
+
+            slots[i] = free;
+            cache.sizes[sizeClass] = i + 1;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Allocate a new slab for the size class and put its slots to the depot.
+     *
+     * @param sizeClass the size class.
+     * @return the first slot of the new slab.
+     */
+    @NotNull
+    private Slot allocateSlab(final int sizeClass) {
+
+        final int slotSize = 1 << (sizeClass + MIN_SIZE_SHIFT);
+        final int slabSize = Math.max(MIN_SLAB_SIZE, slotSize * MIN_SLAB_SLOTS);
+        final ByteBuffer slab = allocate(slabSize);
+        final ConcurrentLinkedQueue<Slot> depot = depots[sizeClass];
+
+        reservedMemory.addAndGet(slabSize);
+
+        for (int offset = slotSize; offset < slabSize; offset += slotSize) {
+            depot.offer(new Slot(slab, offset, sizeClass));
+        }
+
+        return new Slot(slab, 0, sizeClass);
+    }
+
+    @Override
+    public long getOutstandingBuffers() {
+        return outstanding.get();
+    }
+
+    @Override
+    public long getPeakOutstandingBuffers() {
+        return peakOutstanding.get();
+    }
+
+    @Override
+    public long getLeakedBuffers() {
+        expungeCollectedBuffers();
+        return leaked.get();
+    }
+
+    @Override
+    public long getReservedMemory() {
+        return reservedMemory.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SlabByteBufferArena{" + "direct=" + direct + ", outstanding=" + outstanding + ", peakOutstanding=" +
+                peakOutstanding + ", leaked=" + leaked + ", reservedMemory=" + reservedMemory + '}';
+    }
+}
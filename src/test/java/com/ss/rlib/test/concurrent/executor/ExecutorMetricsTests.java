@@ -0,0 +1,198 @@
+package com.ss.rlib.test.concurrent.executor;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.ExecutorMetrics;
+import com.ss.rlib.concurrent.executor.impl.SingleThreadPeriodicTaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.SingleThreadTaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.ThreadPoolTaskExecutor;
+import com.ss.rlib.concurrent.task.PeriodicTask;
+import com.ss.rlib.concurrent.task.SimpleTask;
+import com.ss.rlib.monitoring.LatencyHistogram;
+import com.ss.rlib.monitoring.MonitoringManager;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The list of tests of metrics of task executors.
+ *
+ * @author JavaSaBr
+ */
+public class ExecutorMetricsTests {
+
+    private static final int TASKS = 100;
+
+    private static class CountTask implements SimpleTask<Object> {
+
+        @NotNull
+        private final CountDownLatch finished;
+
+        private CountTask(@NotNull final CountDownLatch finished) {
+            this.finished = finished;
+        }
+
+        @Override
+        public void execute(@NotNull final Object local, final long currentTime) {
+            finished.countDown();
+        }
+    }
+
+    private static class BlockTask implements SimpleTask<Object> {
+
+        @NotNull
+        private final CountDownLatch started;
+
+        @NotNull
+        private final CountDownLatch release;
+
+        private BlockTask(@NotNull final CountDownLatch started, @NotNull final CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void execute(@NotNull final Object local, final long currentTime) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private static class SlowTask implements PeriodicTask<Object> {
+
+        @Override
+        public boolean update(@NotNull final Object local, final long currentTime) {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return false;
+        }
+    }
+
+    @Test
+    public void testTaskMetrics() throws InterruptedException {
+
+        final SingleThreadTaskExecutor<Object> executor = new SingleThreadTaskExecutor<>(Thread.class,
+                Thread.NORM_PRIORITY, "test_metrics", new Object());
+
+        final ExecutorMetrics metrics = executor.enableMetrics();
+        final CountDownLatch finished = new CountDownLatch(TASKS);
+
+        MonitoringManager.getInstance().getExecutorMonitoring().register("test_metrics", metrics);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // the first task holds the executor, so the next tasks are executed as one packet
+        executor.execute(new BlockTask(started, release));
+
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // a failed task shouldn't interrupt executing of the rest of its packet
+        executor.execute((local, currentTime) -> {
+            throw new IllegalStateException();
+        });
+
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(new CountTask(finished));
+        }
+
+        release.countDown();
+
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        final LatencyHistogram countTime = metrics.getExecutionTime(CountTask.class);
+
+        Assertions.assertEquals(TASKS + 2, metrics.getSubmittedTasks());
+        Assertions.assertEquals(TASKS + 1, metrics.getCompletedTasks());
+        Assertions.assertEquals(1, metrics.getFailedTasks());
+        Assertions.assertEquals(0, metrics.getWaitTasks());
+        Assertions.assertEquals(TASKS + 2, metrics.getWaitTime().getCount());
+        Assertions.assertEquals(TASKS + 2, metrics.getExecutionTime().getCount());
+        Assertions.assertNotNull(countTime);
+        Assertions.assertEquals(TASKS, countTime.getCount());
+        Assertions.assertEquals(metrics, MonitoringManager.getInstance().getExecutorMonitoring()
+                .getMetrics("test_metrics"));
+
+        MonitoringManager.getInstance().getExecutorMonitoring().unregister("test_metrics");
+    }
+
+    @Test
+    public void testFailedTaskInPacket() throws InterruptedException {
+
+        final GroupThreadFactory factory = new GroupThreadFactory("test_pool_metrics", Thread.class,
+                Thread.NORM_PRIORITY);
+
+        final ThreadPoolTaskExecutor<Object> executor = new ThreadPoolTaskExecutor<Object>(factory, 1, TASKS * 2) {
+
+            @NotNull
+            @Override
+            protected Object getLocalObjects(@NotNull final Thread thread) {
+                return new Object();
+            }
+        };
+
+        final ExecutorMetrics metrics = executor.enableMetrics();
+        final CountDownLatch finished = new CountDownLatch(TASKS);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(new BlockTask(started, release));
+
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < TASKS; i++) {
+
+            // failed tasks are spread in the packet
+            if (i % 10 == 0) {
+                executor.execute((local, currentTime) -> {
+                    throw new IllegalStateException();
+                });
+            }
+
+            executor.execute(new CountTask(finished));
+        }
+
+        release.countDown();
+
+        Assertions.assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        Assertions.assertEquals(TASKS + 11, metrics.getSubmittedTasks());
+        Assertions.assertEquals(TASKS + 1, metrics.getCompletedTasks());
+        Assertions.assertEquals(10, metrics.getFailedTasks());
+        Assertions.assertEquals(0, metrics.getWaitTasks());
+    }
+
+    @Test
+    public void testTickOverruns() throws InterruptedException {
+
+        final SingleThreadPeriodicTaskExecutor<SlowTask, Object> executor = new SingleThreadPeriodicTaskExecutor<>(
+                Thread.class, Thread.NORM_PRIORITY, 10, "test_tick_metrics", SlowTask.class, new Object());
+
+        final ExecutorMetrics metrics = executor.enableMetrics();
+        final SlowTask task = new SlowTask();
+
+        executor.addTask(task);
+
+        Thread.sleep(300);
+
+        Assertions.assertEquals(1, metrics.getWaitTasks());
+
+        executor.removeTask(task);
+
+        Assertions.assertEquals(0, metrics.getWaitTasks());
+        Assertions.assertTrue(metrics.getTicks() > 0);
+        Assertions.assertEquals(metrics.getTicks(), metrics.getTickOverruns());
+        Assertions.assertTrue(metrics.getTickTime().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
@@ -0,0 +1,288 @@
+package com.ss.rlib.test.concurrent.executor;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.impl.TimingWheelPeriodicTaskExecutor;
+import com.ss.rlib.concurrent.task.PeriodicTask;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The list of tests {@link TimingWheelPeriodicTaskExecutor}.
+ *
+ * @author JavaSaBr
+ */
+public class TimingWheelPeriodicTaskExecutorTests {
+
+    /**
+     * The clock of executors which are created by {@link #newManualExecutor(long)}.
+     */
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    private static class TestTask implements PeriodicTask<Thread> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Queue<Long> times = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private final long period;
+        private final int key;
+        private final int limit;
+
+        private volatile Thread thread;
+        private volatile long lastTime = -1;
+        private volatile boolean wrongThread;
+
+        private TestTask(final long period, final int key, final int limit) {
+            this.period = period;
+            this.key = key;
+            this.limit = limit;
+        }
+
+        @Override
+        public long getPeriod() {
+            return period;
+        }
+
+        @Override
+        public int getExecutorKey() {
+            return key;
+        }
+
+        @Override
+        public boolean update(@NotNull final Thread local, final long currentTime) {
+
+            if (local != Thread.currentThread() || thread != null && thread != local) {
+                wrongThread = true;
+            }
+
+            thread = local;
+            lastTime = currentTime;
+            times.add(currentTime);
+
+            return calls.incrementAndGet() >= limit;
+        }
+
+        @Override
+        public void onFinish(@NotNull final Thread local) {
+            finished.countDown();
+        }
+    }
+
+    @NotNull
+    private static TimingWheelPeriodicTaskExecutor<TestTask, Thread> newExecutor() {
+
+        final GroupThreadFactory factory = new GroupThreadFactory("test_timing_wheel", Thread.class,
+                Thread.NORM_PRIORITY);
+
+        return new TimingWheelPeriodicTaskExecutor<TestTask, Thread>(factory, 2, 10) {
+
+            @NotNull
+            @Override
+            protected Thread getLocalObjects(@NotNull final Thread thread) {
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Create an executor which uses {@link #CLOCK} as the current time, the clock is reset to 0.
+     */
+    @NotNull
+    private static TimingWheelPeriodicTaskExecutor<TestTask, Thread> newManualExecutor(final long tickDuration) {
+
+        final GroupThreadFactory factory = new GroupThreadFactory("test_manual_timing_wheel", Thread.class,
+                Thread.NORM_PRIORITY);
+
+        CLOCK.set(0);
+
+        return new TimingWheelPeriodicTaskExecutor<TestTask, Thread>(factory, 1, tickDuration) {
+
+            @NotNull
+            @Override
+            protected Thread getLocalObjects(@NotNull final Thread thread) {
+                return thread;
+            }
+
+            @Override
+            protected long getCurrentTime() {
+                return CLOCK.get();
+            }
+        };
+    }
+
+    /**
+     * Add a task which is executed on every tick to know which time was processed by the executor.
+     */
+    @NotNull
+    private static TestTask newProbe(@NotNull final TimingWheelPeriodicTaskExecutor<TestTask, Thread> executor) {
+        final TestTask probe = new TestTask(0, 1, Integer.MAX_VALUE);
+        executor.addTask(probe);
+        return probe;
+    }
+
+    /**
+     * Move the clock to the time and wait for processing the time by the executor, tasks which are executed at this
+     * time can be still executing after that.
+     */
+    private static void advance(@NotNull final TestTask probe, final long time) throws InterruptedException {
+        CLOCK.set(time);
+        waitFor(() -> probe.lastTime == time);
+    }
+
+    /**
+     * Check that all executions of the task were done with the period.
+     */
+    private static void assertIntervals(@NotNull final TestTask task, final long period) {
+
+        long prev = -1;
+
+        for (final long time : task.times) {
+            if (prev != -1) Assertions.assertEquals(period, time - prev, "times " + task.times);
+            prev = time;
+        }
+    }
+
+    private static void waitFor(@NotNull final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testPeriods() throws InterruptedException {
+
+        final TimingWheelPeriodicTaskExecutor<TestTask, Thread> executor = newManualExecutor(10);
+        final TestTask probe = newProbe(executor);
+
+        final TestTask fast = new TestTask(20, 1, Integer.MAX_VALUE);
+        final TestTask slow = new TestTask(200, 1, Integer.MAX_VALUE);
+
+        executor.addTask(fast);
+        executor.addTask(slow);
+
+        for (long time = 10; time <= 1000; time += 10) {
+            advance(probe, time);
+        }
+
+        executor.removeTask(fast);
+        executor.removeTask(slow);
+
+        // the removing is applied before processing the next time, so the tasks aren't executed after that
+        advance(probe, 1010);
+
+        assertIntervals(fast, 20);
+        assertIntervals(slow, 200);
+
+        Assertions.assertTrue(fast.calls.get() >= 49, "fast calls " + fast.calls);
+        Assertions.assertTrue(slow.calls.get() >= 5, "slow calls " + slow.calls);
+        Assertions.assertTrue(fast.thread == slow.thread, "tasks with the same key should use the same thread");
+        Assertions.assertFalse(fast.wrongThread || slow.wrongThread);
+        Assertions.assertEquals(1, executor.size());
+
+        final int fastCalls = fast.calls.get();
+        final int slowCalls = slow.calls.get();
+
+        // removed tasks aren't executed anymore
+        for (long time = 1020; time <= 1500; time += 10) {
+            advance(probe, time);
+        }
+
+        Assertions.assertEquals(fastCalls, fast.calls.get());
+        Assertions.assertEquals(slowCalls, slow.calls.get());
+    }
+
+    @Test
+    public void testCascade() throws InterruptedException {
+
+        final TimingWheelPeriodicTaskExecutor<TestTask, Thread> executor = newManualExecutor(10);
+        final TestTask probe = newProbe(executor);
+
+        // the periods are longer than the first wheel, so the tasks are moved to lower wheels before executing
+        final TestTask task = new TestTask(1000, 1, Integer.MAX_VALUE);
+        final TestTask longTask = new TestTask(100_000, 1, Integer.MAX_VALUE);
+
+        executor.addTask(task);
+        executor.addTask(longTask);
+
+        advance(probe, 10);
+        waitFor(() -> task.calls.get() == 1 && longTask.calls.get() == 1);
+
+        final long first = task.times.peek();
+        final long longFirst = longTask.times.peek();
+
+        advance(probe, first + 990);
+        Assertions.assertEquals(1, task.calls.get());
+
+        advance(probe, first + 1000);
+        waitFor(() -> task.calls.get() == 2);
+
+        // the task would be executed after moving the clock far ahead, so it's removed before that
+        executor.removeTask(task);
+
+        advance(probe, longFirst + 99_990);
+        Assertions.assertEquals(1, longTask.calls.get());
+
+        advance(probe, longFirst + 100_000);
+        waitFor(() -> longTask.calls.get() == 2);
+
+        assertIntervals(task, 1000);
+        assertIntervals(longTask, 100_000);
+    }
+
+    @Test
+    public void testTooFarPeriod() throws InterruptedException {
+
+        final TimingWheelPeriodicTaskExecutor<TestTask, Thread> executor = newManualExecutor(1);
+        final TestTask probe = newProbe(executor);
+
+        // the period is longer than all wheels, so the task is placed to the last slot and is placed again later
+        final TestTask task = new TestTask(20_000_000, 1, Integer.MAX_VALUE);
+
+        executor.addTask(task);
+
+        advance(probe, 1);
+        waitFor(() -> task.calls.get() == 1);
+
+        final long first = task.times.peek();
+
+        advance(probe, first + 19_999_999);
+        Assertions.assertEquals(1, task.calls.get());
+
+        advance(probe, first + 20_000_000);
+        waitFor(() -> task.calls.get() == 2);
+
+        assertIntervals(task, 20_000_000);
+    }
+
+    @Test
+    public void testFinish() throws InterruptedException {
+
+        final TimingWheelPeriodicTaskExecutor<TestTask, Thread> executor = newExecutor();
+
+        final TestTask first = new TestTask(0, 1, 5);
+        final TestTask second = new TestTask(30, 2, 3);
+
+        executor.addTask(first);
+        executor.addTask(second);
+
+        Assertions.assertTrue(first.finished.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(second.finished.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(5, first.calls.get());
+        Assertions.assertEquals(3, second.calls.get());
+        Assertions.assertEquals(0, executor.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.ss.rlib.test.concurrent.executor;
+
+import com.ss.rlib.concurrent.executor.ExecutorFactory;
+import com.ss.rlib.concurrent.executor.TaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.VirtualThreadTaskExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The list of tests {@link VirtualThreadTaskExecutor}.
+ *
+ * @author JavaSaBr
+ */
+public class VirtualThreadTaskExecutorTests {
+
+    private static final int MAX_CONCURRENCY = 4;
+    private static final int TASKS = 200;
+
+    @Test
+    public void testConcurrencyLimit() throws InterruptedException {
+
+        final AtomicInteger createdLocals = new AtomicInteger();
+        final AtomicInteger executing = new AtomicInteger();
+        final AtomicInteger maxExecuting = new AtomicInteger();
+        final AtomicBoolean sharedLocal = new AtomicBoolean();
+        final CountDownLatch finished = new CountDownLatch(TASKS);
+
+        final TaskExecutor<AtomicBoolean> executor = ExecutorFactory.newVirtualThreadTaskExecutor("test_virtual",
+                MAX_CONCURRENCY, () -> {
+                    createdLocals.incrementAndGet();
+                    return new AtomicBoolean();
+                });
+
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute((local, currentTime) -> {
+
+                if (!local.compareAndSet(false, true)) sharedLocal.set(true);
+
+                final int count = executing.incrementAndGet();
+                maxExecuting.accumulateAndGet(count, Math::max);
+
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                executing.decrementAndGet();
+                local.set(false);
+                finished.countDown();
+            });
+        }
+
+        Assertions.assertTrue(finished.await(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(maxExecuting.get() <= MAX_CONCURRENCY);
+        Assertions.assertTrue(createdLocals.get() <= MAX_CONCURRENCY);
+        Assertions.assertFalse(sharedLocal.get());
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+
+        final TaskExecutor<Object> executor = ExecutorFactory.newVirtualThreadTaskExecutor("test_virtual", 2,
+                Object::new);
+
+        final Future<Integer> future = executor.submit((local, currentTime) -> 5);
+
+        Assertions.assertEquals(5, (int) future.get(5, TimeUnit.SECONDS));
+
+        final Future<Object> failed = executor.submit((local, currentTime) -> {
+            throw new IllegalStateException();
+        });
+
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            Assertions.fail("the future should be completed exceptionally");
+        } catch (final ExecutionException e) {
+            Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
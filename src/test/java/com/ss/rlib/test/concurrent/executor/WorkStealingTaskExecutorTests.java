@@ -0,0 +1,96 @@
+package com.ss.rlib.test.concurrent.executor;
+
+import com.ss.rlib.concurrent.GroupThreadFactory;
+import com.ss.rlib.concurrent.executor.TaskExecutor;
+import com.ss.rlib.concurrent.executor.impl.WorkStealingTaskExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The list of tests {@link WorkStealingTaskExecutor}.
+ *
+ * @author JavaSaBr
+ */
+public class WorkStealingTaskExecutorTests {
+
+    private static final int SUBMITTERS = 4;
+    private static final int TASKS = 10000;
+
+    private static class Local {
+
+        @NotNull
+        private final Thread thread;
+
+        private Local(@NotNull final Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    @NotNull
+    private static TaskExecutor<Local> newExecutor() {
+
+        final GroupThreadFactory factory = new GroupThreadFactory("test_work_stealing", Thread.class,
+                Thread.NORM_PRIORITY);
+
+        return new WorkStealingTaskExecutor<Local>(factory, 4, 8) {
+
+            @NotNull
+            @Override
+            protected Local getLocalObjects(@NotNull final Thread thread) {
+                return new Local(thread);
+            }
+        };
+    }
+
+    @Test
+    public void testExecuteFromManyThreads() throws InterruptedException {
+
+        final TaskExecutor<Local> executor = newExecutor();
+        final CountDownLatch finished = new CountDownLatch(SUBMITTERS * TASKS);
+        final AtomicInteger wrongLocals = new AtomicInteger();
+
+        for (int i = 0; i < SUBMITTERS; i++) {
+            new Thread(() -> {
+                for (int g = 0; g < TASKS; g++) {
+                    executor.execute((local, currentTime) -> {
+                        if (local.thread != Thread.currentThread()) wrongLocals.incrementAndGet();
+                        finished.countDown();
+                    });
+                }
+            }).start();
+        }
+
+        Assertions.assertTrue(finished.await(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, wrongLocals.get());
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+
+        final TaskExecutor<Local> executor = newExecutor();
+
+        // tasks which are added by working threads should be executed as well
+        final Future<Future<Integer>> future = executor.submit((local, currentTime) ->
+                executor.submit((nestedLocal, time) -> 5));
+
+        Assertions.assertEquals(5, (int) future.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+
+        final Future<Object> failed = executor.submit((local, currentTime) -> {
+            throw new IllegalStateException();
+        });
+
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+            Assertions.fail("the future should be completed exceptionally");
+        } catch (final ExecutionException e) {
+            Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ss.rlib.test.concurrent.lock;
+
+import com.ss.rlib.concurrent.lock.AsyncReadSyncWriteLock;
+import com.ss.rlib.concurrent.lock.impl.StripedARSWLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The list of tests {@link StripedARSWLock}.
+ *
+ * @author JavaSaBr
+ */
+public class StripedARSWLockTests {
+
+    private static final int READERS = 8;
+    private static final int WRITERS = 2;
+    private static final int ITERATIONS = 20000;
+
+    private long first;
+    private long second;
+
+    @Test
+    public void testReadersSeeConsistentState() throws InterruptedException {
+
+        final AsyncReadSyncWriteLock lock = new StripedARSWLock(8);
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(READERS + WRITERS);
+
+        for (int i = 0; i < WRITERS; i++) {
+            new Thread(() -> {
+
+                for (int g = 0; g < ITERATIONS; g++) {
+                    lock.syncLock();
+                    try {
+                        first++;
+                        second++;
+                    } finally {
+                        lock.syncUnlock();
+                    }
+                }
+
+                finished.countDown();
+            }).start();
+        }
+
+        for (int i = 0; i < READERS; i++) {
+            new Thread(() -> {
+
+                for (int g = 0; g < ITERATIONS; g++) {
+                    lock.asyncLock();
+                    try {
+                        if (first != second) errors.incrementAndGet();
+                    } finally {
+                        lock.asyncUnlock();
+                    }
+                }
+
+                finished.countDown();
+            }).start();
+        }
+
+        Assertions.assertTrue(finished.await(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, errors.get());
+
+        lock.syncLock();
+        try {
+            Assertions.assertEquals(WRITERS * ITERATIONS, first);
+            Assertions.assertEquals(WRITERS * ITERATIONS, second);
+        } finally {
+            lock.syncUnlock();
+        }
+    }
+
+    @Test
+    public void testWriterWaitsForReader() throws InterruptedException {
+
+        final AsyncReadSyncWriteLock lock = new StripedARSWLock(4);
+        final CountDownLatch locked = new CountDownLatch(1);
+
+        lock.asyncLock();
+
+        final Thread writer = new Thread(() -> {
+            lock.syncLock();
+            locked.countDown();
+            lock.syncUnlock();
+        });
+
+        writer.start();
+
+        Assertions.assertFalse(locked.await(100, TimeUnit.MILLISECONDS));
+
+        lock.asyncUnlock();
+
+        Assertions.assertTrue(locked.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ss.rlib.test.concurrent.queue;
+
+import com.ss.rlib.concurrent.queue.MPSCLinkedQueue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The list of tests {@link MPSCLinkedQueue}.
+ *
+ * @author JavaSaBr
+ */
+public class MPSCLinkedQueueTests {
+
+    private static final int PRODUCERS = 4;
+    private static final int ELEMENTS = 100_000;
+
+    @Test
+    public void testOrder() {
+
+        final MPSCLinkedQueue<Integer> queue = new MPSCLinkedQueue<>();
+
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertNull(queue.poll());
+
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+
+        Assertions.assertFalse(queue.isEmpty());
+        Assertions.assertEquals(1, (int) queue.peek());
+        Assertions.assertEquals(1, (int) queue.poll());
+        Assertions.assertEquals(2, (int) queue.poll());
+        Assertions.assertEquals(3, (int) queue.poll());
+        Assertions.assertNull(queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+
+        final MPSCLinkedQueue<Integer> queue = new MPSCLinkedQueue<>();
+        final CountDownLatch latch = new CountDownLatch(PRODUCERS);
+
+        for (int i = 0; i < PRODUCERS; i++) {
+            final int producer = i;
+            new Thread(() -> {
+                for (int value = 0; value < ELEMENTS; value++) {
+                    queue.offer(producer * ELEMENTS + value);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        final int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+
+        int received = 0;
+
+        while (received < PRODUCERS * ELEMENTS) {
+
+            final Integer element = queue.poll();
+
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+
+            final int producer = element / ELEMENTS;
+            final int value = element % ELEMENTS;
+
+            // elements of the same producer must keep their order
+            Assertions.assertEquals(last[producer] + 1, value);
+
+            last[producer] = value;
+            received++;
+        }
+
+        latch.await();
+
+        Assertions.assertTrue(queue.isEmpty());
+    }
+}
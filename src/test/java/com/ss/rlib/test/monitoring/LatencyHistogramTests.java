@@ -0,0 +1,32 @@
+package com.ss.rlib.test.monitoring;
+
+import com.ss.rlib.monitoring.LatencyHistogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The list of tests {@link LatencyHistogram}.
+ *
+ * @author JavaSaBr
+ */
+public class LatencyHistogramTests {
+
+    @Test
+    public void testPercentiles() {
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+
+        histogram.record(1_000_000);
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(1_000_000, histogram.getMax());
+        Assertions.assertEquals(1023, histogram.getPercentile(50));
+        Assertions.assertEquals(1023, histogram.getPercentile(99));
+        Assertions.assertEquals(1_000_000, histogram.getPercentile(100));
+        Assertions.assertEquals((99 * 1000 + 1_000_000) / 100, histogram.getAverage());
+    }
+}
@@ -0,0 +1,772 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.BackpressurePolicy;
+import com.ss.rlib.network.ConnectionOwner;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.PacketCompression;
+import com.ss.rlib.network.impl.AbstractAsyncConnection;
+import com.ss.rlib.network.impl.AbstractConnectionOwner;
+import com.ss.rlib.network.impl.DeflateContext;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.SendablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractReadablePacket;
+import com.ss.rlib.network.packet.impl.AbstractReusableSendablePacket;
+import com.ss.rlib.network.packet.impl.AbstractSendablePacket;
+import com.ss.rlib.network.server.AcceptHandler;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.util.array.Array;
+import com.ss.rlib.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.Queue;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.zip.Deflater;
+
+/**
+ * The list of loopback tests of {@link AbstractAsyncConnection}, a server network is connected to a blocking socket
+ * which writes and reads raw frames.
+ *
+ * @author JavaSaBr
+ */
+public class AsyncConnectionTests {
+
+    private static final int PACKET_ID = 812;
+
+    private static final int BROADCAST_PACKET_ID = 813;
+
+    /**
+     * The size of a frame of a test packet: the size, the packet type id and the value.
+     */
+    private static final int FRAME_SIZE = 8;
+
+    public static class TestReadablePacket extends AbstractReadablePacket {
+
+        private static final ReadablePacketType<TestReadablePacket> TYPE =
+                new ReadablePacketType<>(new TestReadablePacket(), PACKET_ID);
+
+        private int value;
+
+        @Override
+        protected void readImpl(@NotNull final ByteBuffer buffer) {
+            value = readInt(buffer);
+        }
+    }
+
+    public static class TestSendablePacket extends AbstractSendablePacket {
+
+        private static final SendablePacketType<TestSendablePacket> TYPE =
+                new SendablePacketType<>(TestSendablePacket.class, PACKET_ID);
+
+        private final int value;
+
+        @NotNull
+        private final byte[] payload;
+
+        private TestSendablePacket(final int value, final int payloadSize) {
+            this(value, new byte[payloadSize]);
+        }
+
+        private TestSendablePacket(final int value, @NotNull final byte[] payload) {
+            this.value = value;
+            this.payload = payload;
+        }
+
+        @Override
+        protected void writeImpl(@NotNull final ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, value);
+            buffer.put(payload);
+        }
+
+        @Override
+        public int getEstimatedSize() {
+            return Short.BYTES + Integer.BYTES + payload.length;
+        }
+
+        @NotNull
+        @Override
+        public SendablePacketType<? extends SendablePacket> getPacketType() {
+            return TYPE;
+        }
+    }
+
+    public static class TestBroadcastPacket extends AbstractReusableSendablePacket {
+
+        private static final SendablePacketType<TestBroadcastPacket> TYPE =
+                new SendablePacketType<>(TestBroadcastPacket.class, BROADCAST_PACKET_ID);
+
+        private static final AtomicInteger COMPLETED = new AtomicInteger();
+
+        private int value;
+
+        private int payloadSize;
+
+        @Override
+        protected void writeImpl(@NotNull final ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, value);
+            buffer.put(new byte[payloadSize]);
+        }
+
+        @Override
+        protected void completeImpl() {
+            super.completeImpl();
+            COMPLETED.incrementAndGet();
+        }
+
+        @NotNull
+        @Override
+        public SendablePacketType<? extends SendablePacket> getPacketType() {
+            return TYPE;
+        }
+    }
+
+    private static class TestConnection extends AbstractAsyncConnection {
+
+        private TestConnection(@NotNull final AsynchronousNetwork network,
+                               @NotNull final AsynchronousSocketChannel channel) {
+            super(network, channel, SendablePacket.class);
+        }
+
+        private long getWaitBytes() {
+            return waitBytes.get();
+        }
+
+        /**
+         * Hold the writing state, so new packets are only added to the queue.
+         */
+        private void pauseWriting() {
+            isWriting.set(true);
+        }
+
+        /**
+         * Release the writing state and write waited packets.
+         */
+        private void resumeWriting() {
+            isWriting.set(false);
+            writeNextPacket();
+        }
+
+        /**
+         * Simulate handling of a read like the read handler does after reading packets.
+         *
+         * @param received the count of received bytes.
+         * @param tail     the count of bytes of a not completed packet which are left in the read buffer.
+         * @param required the size of the not completed packet or 0.
+         * @return the capacity of the read buffer after the read.
+         */
+        private int read(final int received, final int tail, final int required) {
+
+            final ByteBuffer buffer = getReadBuffer();
+            final boolean fullRead = received == buffer.capacity();
+
+            buffer.clear();
+
+            for (int i = 0; i < tail; i++) {
+                buffer.put((byte) i);
+            }
+
+            waitPacketSize = required;
+
+            adaptReadBufferSize(received, fullRead, tail > 0);
+            resizeReadBuffer(buffer);
+
+            final ByteBuffer result = getReadBuffer();
+
+            // the tail of the not completed packet should be kept in the new buffer
+            Assertions.assertEquals(tail, result.position());
+
+            for (int i = 0; i < tail; i++) {
+                Assertions.assertEquals((byte) i, result.get(i));
+            }
+
+            return result.capacity();
+        }
+    }
+
+    private static class TestOwner extends AbstractConnectionOwner {
+
+        private final Queue<Integer> values = new ConcurrentLinkedQueue<>();
+
+        private final Queue<Integer> dropped = new ConcurrentLinkedQueue<>();
+
+        /**
+         * True if this owner should be reported as connected after closing like it was closed after checking.
+         */
+        private volatile boolean staleConnected;
+
+        private TestOwner(@NotNull final AsyncConnection connection) {
+            super(connection, new NetworkCrypt() {
+
+                @Override
+                public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+
+                @Override
+                public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+            });
+        }
+
+        @Override
+        protected void execute(@NotNull final ReadablePacket packet) {
+            values.add(((TestReadablePacket) packet).value);
+        }
+
+        @Override
+        public void notifyWaitLimit(@NotNull final SendablePacket packet, @NotNull final BackpressurePolicy policy) {
+            dropped.add(((TestSendablePacket) packet).value);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return staleConnected || super.isConnected();
+        }
+    }
+
+    @NotNull
+    private static ServerNetwork newServer(@NotNull final NetworkConfig config, @NotNull final Queue<TestOwner> owners,
+                                           final int port) throws Exception {
+
+        TestReadablePacket.TYPE.getId();
+
+        final ServerNetwork[] network = new ServerNetwork[1];
+        network[0] = NetworkFactory.newDefaultAsynchronousServerNetwork(config, new AcceptHandler() {
+
+            @Override
+            protected void onAccept(@NotNull final AsynchronousSocketChannel channel) {
+                final TestConnection connection = new TestConnection(network[0], channel);
+                final TestOwner owner = new TestOwner(connection);
+                connection.setOwner(owner);
+                owners.add(owner);
+                connection.startRead();
+            }
+
+            @Override
+            protected void onFailed(@NotNull final Throwable e) {
+            }
+        });
+
+        network[0].bind(new InetSocketAddress("127.0.0.1", port));
+
+        return network[0];
+    }
+
+    @NotNull
+    private static Socket connect(final int port) throws Exception {
+        final Socket socket = new Socket("127.0.0.1", port);
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    /**
+     * Write frames of test packets with the values from the first to the last value.
+     */
+    @NotNull
+    private static byte[] toFrames(final int first, final int last) {
+
+        final ByteBuffer buffer = ByteBuffer.allocate((last - first + 1) * FRAME_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int value = first; value <= last; value++) {
+            buffer.putShort((short) FRAME_SIZE);
+            buffer.putShort((short) PACKET_ID);
+            buffer.putInt(value);
+        }
+
+        return buffer.array();
+    }
+
+    /**
+     * Read frames of test packets and get their values.
+     */
+    @NotNull
+    private static int[] readValues(@NotNull final Socket socket, final int packetId, final int count)
+            throws Exception {
+
+        final DataInputStream input = new DataInputStream(socket.getInputStream());
+        final byte[] header = new byte[FRAME_SIZE];
+        final int[] values = new int[count];
+
+        for (int i = 0; i < count; i++) {
+
+            input.readFully(header);
+
+            final ByteBuffer frame = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+            final int size = frame.getShort() & 0xFFFF;
+
+            Assertions.assertEquals(packetId, frame.getShort());
+
+            values[i] = frame.getInt();
+
+            input.readFully(new byte[size - FRAME_SIZE]);
+        }
+
+        return values;
+    }
+
+    private static void assertValues(@NotNull final Queue<Integer> values, final int count) {
+
+        int expected = 1;
+
+        for (final Integer value : values) {
+            Assertions.assertEquals(expected++, value.intValue());
+        }
+
+        Assertions.assertEquals(count + 1, expected);
+    }
+
+    private static void waitFor(@NotNull final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testFragmentedFrames() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(new NetworkConfig() {
+        }, owners, 41821);
+
+        final byte[] frames = toFrames(1, 300);
+
+        try (final Socket socket = connect(41821)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final OutputStream output = socket.getOutputStream();
+
+            // a half of the size, a half of the header and then frames which are split at different offsets
+            final int[] offsets = {1, 3, 13, 21, 1000, 2049, 2055, frames.length};
+
+            for (int i = 0, offset = 0; i < offsets.length; offset = offsets[i++]) {
+                output.write(frames, offset, offsets[i] - offset);
+                output.flush();
+                Thread.sleep(20);
+            }
+
+            final TestOwner owner = owners.peek();
+
+            waitFor(() -> owner.values.size() == 300);
+            assertValues(owner.values, 300);
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testFramesAfterReadPacketLimit() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(new NetworkConfig() {
+
+            @Override
+            public int getReadBufferSize() {
+                return 32 * 1024;
+            }
+        }, owners, 41822);
+
+        // more frames than the limit of read packets per a call in the one write
+        final byte[] frames = toFrames(1, 2500);
+
+        try (final Socket socket = connect(41822)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final OutputStream output = socket.getOutputStream();
+            output.write(frames);
+            output.flush();
+
+            final TestOwner owner = owners.peek();
+
+            // the socket doesn't write anything else, so all frames should be read from already received data
+            waitFor(() -> owner.values.size() == 2500);
+            assertValues(owner.values, 2500);
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testWriteBatches() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(new NetworkConfig() {
+
+            @Override
+            public int getMaxWriteBatchSize() {
+                return 4096;
+            }
+        }, owners, 41823);
+
+        try (final Socket socket = connect(41823)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final TestOwner owner = owners.peek();
+
+            // batches of small packets cross the max batch size, every 100th packet is larger than the write buffer
+            for (int value = 1; value <= 2000; value++) {
+                owner.sendPacket(new TestSendablePacket(value, value % 100 == 0 ? 3000 : value % 50));
+            }
+
+            final int[] values = readValues(socket, PACKET_ID, 2000);
+
+            for (int i = 0; i < values.length; i++) {
+                Assertions.assertEquals(i + 1, values[i]);
+            }
+
+            Assertions.assertEquals(2000, owner.getConnection().getMetrics().getSentPackets());
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testBroadcastToClosedOwner() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        final ServerNetwork network = newServer(new NetworkConfig() {
+        }, owners, 41824);
+
+        try (final Socket first = connect(41824)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final TestOwner closed = owners.peek();
+
+            try (final Socket second = connect(41824)) {
+
+                waitFor(() -> owners.size() == 2);
+
+                final Array<ConnectionOwner> targets = ArrayFactory.newArray(ConnectionOwner.class);
+                owners.forEach(targets::add);
+
+                // the owner is closed after checking its state by the broadcast
+                closed.staleConnected = true;
+                closed.close();
+
+                final int completed = TestBroadcastPacket.COMPLETED.get();
+
+                final TestBroadcastPacket packet = new TestBroadcastPacket();
+                packet.value = 1;
+                packet.payloadSize = 10;
+
+                network.broadcast(packet, targets);
+
+                // the closed owner completes the packet, so it's returned to the pool after sending to the open owner
+                Assertions.assertArrayEquals(new int[] {1}, readValues(second, BROADCAST_PACKET_ID, 1));
+                waitFor(() -> TestBroadcastPacket.COMPLETED.get() == completed + 1);
+
+                // nothing is written to the closed owner, its socket only reaches the end of the stream
+                Assertions.assertEquals(-1, first.getInputStream().read());
+
+                final TestBroadcastPacket large = new TestBroadcastPacket();
+                large.payloadSize = network.getConfig().getWriteBufferSize();
+
+                Assertions.assertThrows(IllegalArgumentException.class, () -> network.broadcast(large, targets));
+                Assertions.assertEquals(completed + 2, TestBroadcastPacket.COMPLETED.get());
+
+                owners.forEach(TestOwner::close);
+            }
+        }
+    }
+
+    @NotNull
+    private static NetworkConfig newBoundedConfig(final int maxWaitPackets, final long maxWaitBytes,
+                                                  @NotNull final BackpressurePolicy policy) {
+        return new NetworkConfig() {
+
+            @Override
+            public int getMaxWaitPackets() {
+                return maxWaitPackets;
+            }
+
+            @Override
+            public long getMaxWaitBytes() {
+                return maxWaitBytes;
+            }
+
+            @NotNull
+            @Override
+            public BackpressurePolicy getBackpressurePolicy() {
+                return policy;
+            }
+        };
+    }
+
+    /**
+     * Send packets to a paused connection, check the count of waited and dropped packets and then check the values
+     * of packets which were written after resuming the connection.
+     */
+    private static void testBoundedQueue(@NotNull final NetworkConfig config, final int port,
+                                         @NotNull final int[] payloadSizes, @NotNull final int[] expectedDropped,
+                                         @NotNull final int[] expectedWritten) throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(config, owners, port);
+
+        try (final Socket socket = connect(port)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final TestOwner owner = owners.peek();
+            final TestConnection connection = (TestConnection) owner.getConnection();
+
+            connection.pauseWriting();
+
+            for (int i = 0; i < payloadSizes.length; i++) {
+                owner.sendPacket(new TestSendablePacket(i + 1, payloadSizes[i]));
+            }
+
+            final int[] dropped = owner.dropped.stream().mapToInt(Integer::intValue).toArray();
+
+            Assertions.assertArrayEquals(expectedDropped, dropped);
+            Assertions.assertEquals(expectedWritten.length, connection.getMetrics().getWaitPackets());
+            Assertions.assertEquals(expectedDropped.length, connection.getMetrics().getDroppedPackets());
+            Assertions.assertEquals(Arrays.stream(expectedWritten)
+                    .map(value -> Short.BYTES + Integer.BYTES + payloadSizes[value - 1])
+                    .sum(), connection.getWaitBytes());
+
+            connection.resumeWriting();
+
+            Assertions.assertArrayEquals(expectedWritten, readValues(socket, PACKET_ID, expectedWritten.length));
+
+            waitFor(() -> connection.getMetrics().getWaitPackets() == 0 && connection.getWaitBytes() == 0);
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testDropNewPolicy() throws Exception {
+        testBoundedQueue(newBoundedConfig(2, 0, BackpressurePolicy.DROP_NEW), 41825,
+                new int[] {10, 10, 10, 10}, new int[] {3, 4}, new int[] {1, 2});
+    }
+
+    @Test
+    public void testDropOldestPolicy() throws Exception {
+        testBoundedQueue(newBoundedConfig(3, 0, BackpressurePolicy.DROP_OLDEST), 41826,
+                new int[] {10, 10, 10, 10, 10}, new int[] {1, 2}, new int[] {3, 4, 5});
+    }
+
+    @Test
+    public void testDropOldestPolicyByBytes() throws Exception {
+        // the large packet needs the space of the two oldest packets
+        testBoundedQueue(newBoundedConfig(0, 100, BackpressurePolicy.DROP_OLDEST), 41827,
+                new int[] {34, 34, 14, 54}, new int[] {1, 2}, new int[] {3, 4});
+    }
+
+    @Test
+    public void testCoalescePolicy() throws Exception {
+        // the third packet replaces the second one, the fourth packet exceeds the limit only if the size of the
+        // replaced packet was updated, so it replaces the third packet
+        testBoundedQueue(newBoundedConfig(0, 200, BackpressurePolicy.COALESCE), 41828,
+                new int[] {10, 10, 170, 10}, new int[] {2, 3}, new int[] {1, 4});
+    }
+
+    @Test
+    public void testOversizeFrame() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(new NetworkConfig() {
+        }, owners, 41829);
+
+        try (final Socket socket = connect(41829)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final TestOwner owner = owners.peek();
+
+            // the frame of the second packet is larger than the max frame size of the default codec
+            owner.sendPacket(new TestSendablePacket(1, 10));
+            owner.sendPacket(new TestSendablePacket(2, 0xFFFF));
+            owner.sendPacket(new TestSendablePacket(3, 10));
+
+            Assertions.assertArrayEquals(new int[] {1, 3}, readValues(socket, PACKET_ID, 2));
+            Assertions.assertEquals(1, owner.getConnection().getMetrics().getDroppedPackets());
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testAdaptReadBufferSize() throws Exception {
+
+        final ServerNetwork network = newServer(new NetworkConfig() {
+
+            @Override
+            public int getReadBufferSize() {
+                return 4096;
+            }
+
+            @Override
+            public int getMinReadBufferSize() {
+                return 1024;
+            }
+
+            @Override
+            public int getMaxReadBufferSize() {
+                return 16384;
+            }
+        }, new ConcurrentLinkedQueue<>(), 41830);
+
+        try (final AsynchronousSocketChannel channel = AsynchronousSocketChannel.open()) {
+
+            final TestConnection connection = new TestConnection(network, channel);
+
+            // full reads double the buffer up to the max size
+            Assertions.assertEquals(8192, connection.read(4096, 0, 0));
+            Assertions.assertEquals(16384, connection.read(8192, 0, 0));
+            Assertions.assertEquals(16384, connection.read(16384, 0, 0));
+
+            // sustained small reads halve the buffer
+            for (int i = 1; i < 16; i++) {
+                Assertions.assertEquals(16384, connection.read(100, 0, 0));
+            }
+
+            Assertions.assertEquals(8192, connection.read(100, 0, 0));
+
+            // a read larger than a quarter of the buffer resets the counter of small reads
+            for (int i = 1; i < 16; i++) {
+                Assertions.assertEquals(8192, connection.read(100, 0, 0));
+            }
+
+            Assertions.assertEquals(8192, connection.read(3000, 0, 0));
+
+            for (int i = 1; i < 16; i++) {
+                Assertions.assertEquals(8192, connection.read(100, 0, 0));
+            }
+
+            Assertions.assertEquals(4096, connection.read(100, 0, 0));
+
+            // only consecutive fragmented reads double the buffer
+            Assertions.assertEquals(4096, connection.read(3000, 50, 100));
+            Assertions.assertEquals(4096, connection.read(3000, 0, 0));
+            Assertions.assertEquals(4096, connection.read(3000, 50, 100));
+            Assertions.assertEquals(8192, connection.read(3000, 50, 100));
+
+            // the buffer isn't shrunk below the min size
+            for (int i = 0; i < 16 * 4; i++) {
+                connection.read(100, 0, 0);
+            }
+
+            Assertions.assertEquals(1024, connection.read(100, 0, 0));
+
+            for (int i = 0; i < 16; i++) {
+                Assertions.assertEquals(1024, connection.read(100, 0, 0));
+            }
+
+            // a packet larger than the buffer gets a buffer of the packet size
+            Assertions.assertEquals(20000, connection.read(500, 500, 20000));
+
+            // the adapted size is restored after receiving the large packet
+            Assertions.assertEquals(1024, connection.read(500, 0, 0));
+        }
+    }
+
+    @Test
+    public void testOversizeCompressedFrame() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(new NetworkConfig() {
+
+            @Override
+            public PacketCompression getPacketCompression() {
+                return NetworkFactory.newPacketCompression(100);
+            }
+        }, owners, 41834);
+
+        // the data is compressed only to about a half, so the large frame is still larger than the max frame size
+        final Random random = new Random(1);
+        final byte[] large = new byte[150_000];
+
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) random.nextInt(16);
+        }
+
+        // the data of the last packet is a part of the dropped data, so it would be compressed by references to it
+        final byte[] first = Arrays.copyOfRange(large, 0, 2000);
+        final byte[] last = Arrays.copyOfRange(large, large.length - 2000, large.length);
+
+        try (final Socket socket = connect(41834)) {
+
+            waitFor(() -> owners.size() == 1);
+
+            final TestOwner owner = owners.peek();
+
+            owner.sendPacket(new TestSendablePacket(1, first));
+            owner.sendPacket(new TestSendablePacket(2, large));
+            owner.sendPacket(new TestSendablePacket(3, last));
+
+            final DeflateContext receiver = new DeflateContext(Deflater.DEFAULT_COMPRESSION);
+            final DataInputStream input = new DataInputStream(socket.getInputStream());
+
+            Assertions.assertEquals(DeflateContext.DEFLATED, readCompressedPacket(input, receiver, 1, first));
+            Assertions.assertEquals(DeflateContext.DEFLATED_RESET, readCompressedPacket(input, receiver, 3, last));
+            Assertions.assertEquals(1, owner.getConnection().getMetrics().getDroppedPackets());
+
+            receiver.release();
+            owner.close();
+        }
+    }
+
+    /**
+     * Read a compressed frame of a test packet and check its data.
+     *
+     * @return the flag of compression.
+     */
+    private static byte readCompressedPacket(@NotNull final DataInputStream input,
+                                             @NotNull final DeflateContext receiver, final int value,
+                                             @NotNull final byte[] payload) throws Exception {
+
+        final byte[] header = new byte[Short.BYTES];
+        input.readFully(header);
+
+        final int size = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).getShort() & 0xFFFF;
+        final byte[] data = new byte[size - Short.BYTES];
+        input.readFully(data);
+
+        final ByteBuffer frame = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        final byte flag = frame.get();
+
+        Assertions.assertEquals(PACKET_ID, frame.getShort());
+
+        final ByteBuffer packet = receiver.decompress(frame, frame.position(), frame.limit(), flag, 200_000)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        Assertions.assertEquals(value, packet.getInt());
+
+        final byte[] result = new byte[packet.remaining()];
+        packet.get(result);
+
+        Assertions.assertArrayEquals(payload, result);
+
+        return flag;
+    }
+}
@@ -0,0 +1,264 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.client.ClientConnectionPool;
+import com.ss.rlib.network.client.ClientNetwork;
+import com.ss.rlib.network.client.ConnectHandler;
+import com.ss.rlib.network.client.ConnectionRouting;
+import com.ss.rlib.network.client.impl.DefaultClientConnectionPool;
+import com.ss.rlib.network.impl.AbstractAsyncConnection;
+import com.ss.rlib.network.impl.AbstractConnectionOwner;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.SendablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractReadablePacket;
+import com.ss.rlib.network.packet.impl.AbstractSendablePacket;
+import com.ss.rlib.network.server.AcceptHandler;
+import com.ss.rlib.network.server.ServerNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The list of tests {@link ClientConnectionPool}.
+ *
+ * @author JavaSaBr
+ */
+public class ClientConnectionPoolTests {
+
+    private static final int PACKET_ID = 811;
+
+    private static final NetworkConfig CONFIG = new NetworkConfig() {
+    };
+
+    public static class TestSendablePacket extends AbstractSendablePacket {
+
+        private static final SendablePacketType<TestSendablePacket> TYPE =
+                new SendablePacketType<>(TestSendablePacket.class, PACKET_ID);
+
+        @NotNull
+        @Override
+        public SendablePacketType<? extends SendablePacket> getPacketType() {
+            return TYPE;
+        }
+    }
+
+    public static class TestReadablePacket extends AbstractReadablePacket {
+
+        private static final ReadablePacketType<TestReadablePacket> TYPE =
+                new ReadablePacketType<>(new TestReadablePacket(), PACKET_ID);
+    }
+
+    private static class TestConnection extends AbstractAsyncConnection {
+
+        private TestConnection(@NotNull final AsynchronousNetwork network,
+                               @NotNull final AsynchronousSocketChannel channel) {
+            super(network, channel, SendablePacket.class);
+        }
+    }
+
+    private static class TestOwner extends AbstractConnectionOwner {
+
+        private final AtomicInteger received = new AtomicInteger();
+
+        private TestOwner(@NotNull final AsyncConnection connection) {
+            super(connection, new NetworkCrypt() {
+
+                @Override
+                public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+
+                @Override
+                public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+            });
+        }
+
+        @Override
+        protected void execute(@NotNull final ReadablePacket packet) {
+            received.incrementAndGet();
+        }
+    }
+
+    @NotNull
+    private static ServerNetwork newServer(@NotNull final Queue<TestOwner> owners, final int port) throws Exception {
+
+        TestReadablePacket.TYPE.getId();
+
+        final ServerNetwork[] network = new ServerNetwork[1];
+        network[0] = NetworkFactory.newDefaultAsynchronousServerNetwork(CONFIG, new AcceptHandler() {
+
+            @Override
+            protected void onAccept(@NotNull final AsynchronousSocketChannel channel) {
+                final TestConnection connection = new TestConnection(network[0], channel);
+                final TestOwner owner = new TestOwner(connection);
+                connection.setOwner(owner);
+                owners.add(owner);
+                connection.startRead();
+            }
+
+            @Override
+            protected void onFailed(@NotNull final Throwable e) {
+            }
+        });
+
+        network[0].bind(new InetSocketAddress("127.0.0.1", port));
+
+        return network[0];
+    }
+
+    @NotNull
+    private static ClientConnectionPool newPool(final int port, final int size, final ConnectionRouting routing)
+            throws Exception {
+        return newPool(newClient(), port, size, routing);
+    }
+
+    @NotNull
+    private static ClientConnectionPool newPool(@NotNull final ClientNetwork network, final int port, final int size,
+                                                final ConnectionRouting routing) {
+        return new DefaultClientConnectionPool(network, new InetSocketAddress("127.0.0.1", port), (client, channel) -> {
+            final TestConnection connection = new TestConnection(client, channel);
+            final TestOwner owner = new TestOwner(connection);
+            connection.setOwner(owner);
+            connection.startRead();
+            return owner;
+        }, routing, size, 50, 10, 100, 0);
+    }
+
+    @NotNull
+    private static ClientNetwork newClient() throws Exception {
+        return NetworkFactory.newDefaultAsynchronousClientNetwork(CONFIG, new ConnectHandler() {
+
+            @Override
+            public void onConnect(@NotNull final AsynchronousSocketChannel channel) {
+            }
+
+            @Override
+            public void onFailed(@NotNull final Throwable exc) {
+            }
+        });
+    }
+
+    /**
+     * Create a client network which throws an exception instead of opening the first channels.
+     */
+    @NotNull
+    private static ClientNetwork newFailingClient(@NotNull final ClientNetwork network, final int failures) {
+
+        final AtomicInteger counter = new AtomicInteger(failures);
+
+        return (ClientNetwork) Proxy.newProxyInstance(ClientNetwork.class.getClassLoader(),
+                new Class<?>[]{ClientNetwork.class}, (proxy, method, args) -> {
+
+                    if ("connect".equals(method.getName()) && args.length == 2 && counter.getAndDecrement() > 0) {
+                        throw new UnresolvedAddressException();
+                    }
+
+                    try {
+                        return method.invoke(network, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static void waitFor(@NotNull final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(owners, 41811);
+        final ClientConnectionPool pool = newPool(41811, 4, ConnectionRouting.ROUND_ROBIN);
+
+        pool.start();
+
+        waitFor(() -> pool.getConnectedCount() == 4 && owners.size() == 4);
+
+        for (int i = 0; i < 400; i++) {
+            Assertions.assertTrue(pool.sendPacket(new TestSendablePacket()));
+        }
+
+        waitFor(() -> owners.stream().mapToInt(owner -> owner.received.get()).sum() == 400);
+
+        for (final TestOwner owner : owners) {
+            Assertions.assertEquals(100, owner.received.get());
+        }
+
+        pool.close();
+
+        Assertions.assertEquals(0, pool.getConnectedCount());
+        Assertions.assertFalse(pool.sendPacket(new TestSendablePacket()));
+
+        owners.forEach(TestOwner::close);
+    }
+
+    @Test
+    public void testReconnect() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(owners, 41812);
+        final ClientConnectionPool pool = newPool(41812, 2, ConnectionRouting.LEAST_QUEUED);
+
+        pool.start();
+
+        waitFor(() -> pool.getConnectedCount() == 2 && owners.size() == 2);
+
+        // the server closes the connections, so the pool should open new ones
+        owners.forEach(TestOwner::close);
+
+        waitFor(() -> owners.size() == 4 && pool.getConnectedCount() == 2);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(pool.sendPacket(new TestSendablePacket()));
+        }
+
+        waitFor(() -> owners.stream().mapToInt(owner -> owner.received.get()).sum() == 10);
+
+        pool.close();
+        owners.forEach(TestOwner::close);
+    }
+
+    @Test
+    public void testConnectFailures() throws Exception {
+
+        final Queue<TestOwner> owners = new ConcurrentLinkedQueue<>();
+        newServer(owners, 41813);
+
+        // the first attempts of both slots throw exceptions, so the slots should be reconnected later
+        final ClientConnectionPool pool = newPool(newFailingClient(newClient(), 4), 41813, 2,
+                ConnectionRouting.ROUND_ROBIN);
+
+        pool.start();
+
+        waitFor(() -> pool.getConnectedCount() == 2 && owners.size() == 2);
+
+        pool.close();
+        owners.forEach(TestOwner::close);
+    }
+}
@@ -0,0 +1,236 @@
+package com.ss.rlib.test.network;
+
+import static java.util.Objects.requireNonNull;
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.datagram.DatagramConfig;
+import com.ss.rlib.network.datagram.DatagramConnection;
+import com.ss.rlib.network.datagram.DatagramDelivery;
+import com.ss.rlib.network.datagram.DatagramNetwork;
+import com.ss.rlib.network.impl.AbstractConnectionOwner;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.SendablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractReadablePacket;
+import com.ss.rlib.network.packet.impl.AbstractSendablePacket;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The list of tests {@link DatagramNetwork}.
+ *
+ * @author JavaSaBr
+ */
+public class DatagramNetworkTests {
+
+    private static final int UNRELIABLE_ID = 801;
+    private static final int RELIABLE_ID = 802;
+    private static final int PACKETS = 100;
+
+    private static final Set<Integer> RECEIVED = ConcurrentHashMap.newKeySet();
+
+    public static class TestSendablePacket extends AbstractSendablePacket {
+
+        private static final SendablePacketType<TestSendablePacket> UNRELIABLE =
+                new SendablePacketType<>(TestSendablePacket.class, UNRELIABLE_ID);
+
+        private static final SendablePacketType<TestSendablePacket> RELIABLE =
+                new SendablePacketType<>(TestSendablePacket.class, RELIABLE_ID);
+
+        private final SendablePacketType<TestSendablePacket> type;
+        private final int value;
+
+        private TestSendablePacket(@NotNull final SendablePacketType<TestSendablePacket> type, final int value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        @NotNull
+        @Override
+        public SendablePacketType<? extends SendablePacket> getPacketType() {
+            return type;
+        }
+
+        @Override
+        protected void writeImpl(@NotNull final ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, value);
+        }
+    }
+
+    public static class TestReadablePacket extends AbstractReadablePacket {
+
+        private static final ReadablePacketType<TestReadablePacket> UNRELIABLE =
+                new ReadablePacketType<>(new TestReadablePacket(), UNRELIABLE_ID);
+
+        private static final ReadablePacketType<TestReadablePacket> RELIABLE =
+                new ReadablePacketType<>(new TestReadablePacket(), RELIABLE_ID);
+
+        @Override
+        protected void readImpl(@NotNull final ByteBuffer buffer) {
+            RECEIVED.add(readInt(buffer));
+        }
+    }
+
+    private static class TestOwner extends AbstractConnectionOwner {
+
+        private TestOwner(@NotNull final AsyncConnection connection) {
+            super(connection, new NetworkCrypt() {
+
+                @Override
+                public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+
+                @Override
+                public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+            });
+        }
+
+        @Override
+        protected void execute(@NotNull final ReadablePacket packet) {
+        }
+    }
+
+    @Test
+    public void testSendPackets() throws Exception {
+
+        TestReadablePacket.UNRELIABLE.getId();
+        TestReadablePacket.RELIABLE.getId();
+
+        final DatagramConfig config = new DatagramConfig() {
+
+            @NotNull
+            @Override
+            public DatagramDelivery getDelivery(final int packetTypeId) {
+                return packetTypeId == RELIABLE_ID ? DatagramDelivery.RELIABLE : DatagramDelivery.SEQUENCED;
+            }
+        };
+
+        final DatagramNetwork server = NetworkFactory.newDatagramNetwork(config,
+                connection -> connection.setOwner(new TestOwner(connection)));
+        final DatagramNetwork client = NetworkFactory.newDatagramNetwork(config, null);
+
+        Assertions.assertNotNull(server);
+        Assertions.assertNotNull(client);
+
+        try {
+
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+
+            final DatagramConnection connection = client.connect(requireNonNull(server.getLocalAddress()));
+            connection.setOwner(new TestOwner(connection));
+
+            for (int i = 0; i < PACKETS; i++) {
+                final boolean reliable = i % 2 == 0;
+                connection.sendPacket(new TestSendablePacket(reliable ? TestSendablePacket.RELIABLE :
+                        TestSendablePacket.UNRELIABLE, i));
+                Thread.sleep(1);
+            }
+
+            for (int i = 0; i < 200 && connection.getPendingReliablePackets() > 0; i++) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(0, connection.getPendingReliablePackets());
+
+            for (int i = 0; i < PACKETS; i += 2) {
+                Assertions.assertTrue(RECEIVED.contains(i));
+            }
+
+        } finally {
+            server.shutdown();
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testAcceptedConnectionLimits() throws Exception {
+
+        TestReadablePacket.UNRELIABLE.getId();
+
+        final DatagramConfig config = new DatagramConfig() {
+
+            @Override
+            public int getMaxConnections() {
+                return 2;
+            }
+
+            @Override
+            public long getAcceptedIdleTimeout() {
+                return 500;
+            }
+        };
+
+        final DatagramNetwork server = NetworkFactory.newDatagramNetwork(config,
+                connection -> connection.setOwner(new TestOwner(connection)));
+
+        Assertions.assertNotNull(server);
+
+        final DatagramNetwork[] clients = new DatagramNetwork[3];
+        final InetSocketAddress[] addresses = new InetSocketAddress[clients.length];
+
+        try {
+
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+
+            // outgoing connections aren't counted by the limit of accepted connections
+            final InetSocketAddress outgoing = new InetSocketAddress("127.0.0.1", 9);
+            server.connect(outgoing);
+
+            for (int i = 0; i < clients.length; i++) {
+
+                clients[i] = requireNonNull(NetworkFactory.newDatagramNetwork(config, null));
+
+                final DatagramConnection connection = clients[i].connect(requireNonNull(server.getLocalAddress()));
+                connection.setOwner(new TestOwner(connection));
+                connection.sendPacket(new TestSendablePacket(TestSendablePacket.UNRELIABLE, i));
+
+                final int port = ((InetSocketAddress) requireNonNull(clients[i].getLocalAddress())).getPort();
+                addresses[i] = new InetSocketAddress("127.0.0.1", port);
+
+                final InetSocketAddress address = addresses[i];
+
+                if (i < 2) {
+                    waitFor(() -> server.getConnection(address) != null);
+                }
+            }
+
+            waitFor(() -> server.getMetrics().getDroppedSegments() == 1);
+
+            // only the first two addresses are accepted and they are closed after the idle timeout
+            Assertions.assertNull(server.getConnection(addresses[2]));
+
+            waitFor(() -> server.getConnection(addresses[0]) == null && server.getConnection(addresses[1]) == null);
+
+            // outgoing connections aren't closed by the idle timeout of accepted connections
+            Assertions.assertNotNull(server.getConnection(outgoing));
+
+        } finally {
+            server.shutdown();
+            for (final DatagramNetwork client : clients) {
+                if (client != null) client.shutdown();
+            }
+        }
+    }
+
+    private static void waitFor(@NotNull final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,112 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.impl.DeflateContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+/**
+ * The list of tests {@link DeflateContext}.
+ *
+ * @author JavaSaBr
+ */
+public class DeflateContextTests {
+
+    private static final int START = 4;
+
+    @Test
+    public void testCompressSequenceOfPackets() throws Exception {
+
+        final DeflateContext sender = new DeflateContext(Deflater.DEFAULT_COMPRESSION);
+        final DeflateContext receiver = new DeflateContext(Deflater.DEFAULT_COMPRESSION);
+
+        int lastSize = Integer.MAX_VALUE;
+
+        for (int i = 0; i < 5; i++) {
+
+            final byte[] data = newTextData(2000);
+            final ByteBuffer buffer = newBuffer(data);
+
+            final byte flag = sender.compress(buffer, START);
+
+            Assertions.assertEquals(DeflateContext.DEFLATED, flag);
+            Assertions.assertTrue(buffer.limit() - START < data.length);
+
+            // next packets are compressed better by using the dictionary of previous packets
+            Assertions.assertTrue(buffer.limit() <= lastSize);
+            lastSize = buffer.limit();
+
+            final ByteBuffer result = receiver.decompress(buffer, START, buffer.limit(), flag, 10000);
+
+            assertData(data, result);
+        }
+
+        sender.release();
+        receiver.release();
+    }
+
+    @Test
+    public void testNotCompressedData() throws Exception {
+
+        final DeflateContext sender = new DeflateContext(Deflater.DEFAULT_COMPRESSION);
+        final DeflateContext receiver = new DeflateContext(Deflater.DEFAULT_COMPRESSION);
+
+        final byte[] first = newTextData(1000);
+        final ByteBuffer firstBuffer = newBuffer(first);
+        final byte firstFlag = sender.compress(firstBuffer, START);
+
+        assertData(first, receiver.decompress(firstBuffer, START, firstBuffer.limit(), firstFlag, 10000));
+
+        final byte[] random = new byte[1000];
+        new Random(1).nextBytes(random);
+
+        final ByteBuffer randomBuffer = newBuffer(random);
+
+        Assertions.assertEquals(DeflateContext.RAW, sender.compress(randomBuffer, START));
+        Assertions.assertEquals(START + random.length, randomBuffer.limit());
+
+        // the deflater was reset after not compressed data, so the inflater should be reset too
+        final byte[] second = newTextData(1000);
+        final ByteBuffer secondBuffer = newBuffer(second);
+        final byte secondFlag = sender.compress(secondBuffer, START);
+
+        Assertions.assertEquals(DeflateContext.DEFLATED_RESET, secondFlag);
+        assertData(second, receiver.decompress(secondBuffer, START, secondBuffer.limit(), secondFlag, 10000));
+
+        sender.release();
+        receiver.release();
+    }
+
+    private static byte[] newTextData(final int size) {
+
+        final byte[] data = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + i % 7 + i % 3);
+        }
+
+        return data;
+    }
+
+    private static ByteBuffer newBuffer(final byte[] data) {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(START + data.length);
+        buffer.position(START);
+        buffer.put(data);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static void assertData(final byte[] expected, final ByteBuffer result) {
+
+        Assertions.assertEquals(expected.length, result.remaining());
+
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], result.get(result.position() + i));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.FrameCodec;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.client.ConnectHandler;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousSocketChannel;
+
+/**
+ * The list of tests {@link FrameCodec}.
+ *
+ * @author JavaSaBr
+ */
+public class FrameCodecTests {
+
+    @Test
+    public void testShortSizeFrameCodec() {
+        testFrameCodec(NetworkFactory.newShortSizeFrameCodec(), 4, 100);
+        testFrameCodec(NetworkFactory.newShortSizeFrameCodec(true), 3, 100);
+    }
+
+    @Test
+    public void testIntSizeFrameCodec() {
+        testFrameCodec(NetworkFactory.newIntSizeFrameCodec(false), 6, 100);
+        testFrameCodec(NetworkFactory.newIntSizeFrameCodec(true), 7, 60_000);
+    }
+
+    @Test
+    public void testVarIntSizeFrameCodec() {
+        testFrameCodec(NetworkFactory.newVarIntSizeFrameCodec(true), 2, 100);
+        testFrameCodec(NetworkFactory.newVarIntSizeFrameCodec(true), 3, 300);
+        testFrameCodec(NetworkFactory.newVarIntSizeFrameCodec(true), 4, 60_000);
+        testFrameCodec(NetworkFactory.newVarIntSizeFrameCodec(false), 3, 60_000);
+    }
+
+    @Test
+    public void testNotCompletedHeader() {
+
+        final FrameCodec codec = NetworkFactory.newVarIntSizeFrameCodec(false);
+        final ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put((byte) 0x80).flip();
+
+        Assertions.assertEquals(-1, codec.readPacketSize(buffer));
+        Assertions.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testMaxFrameSize() {
+
+        final FrameCodec codec = NetworkFactory.newShortSizeFrameCodec();
+        final ByteBuffer buffer = ByteBuffer.allocate(70_000).order(ByteOrder.LITTLE_ENDIAN);
+        final int dataStart = codec.getMaxHeaderSize();
+
+        Assertions.assertEquals(0xFFFF, codec.getMaxFrameSize());
+        Assertions.assertEquals(0, codec.writePacketSize(buffer, dataStart, 0xFFFF));
+        Assertions.assertEquals(0xFFFF, buffer.getShort(0) & 0xFFFF);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> codec.writePacketSize(buffer, dataStart, 0xFFFF + 1));
+
+        Assertions.assertEquals(Integer.MAX_VALUE, NetworkFactory.newIntSizeFrameCodec(false).getMaxFrameSize());
+    }
+
+    @Test
+    public void testMaxPacketSizeOfNetwork() {
+
+        final NetworkConfig config = new NetworkConfig() {
+
+            @Override
+            public int getMaxPacketSize() {
+                return 0xFFFF + 1;
+            }
+        };
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                NetworkFactory.newDefaultAsynchronousClientNetwork(config, new ConnectHandler() {
+
+                    @Override
+                    public void onConnect(@NotNull final AsynchronousSocketChannel channel) {
+                    }
+
+                    @Override
+                    public void onFailed(@NotNull final Throwable exc) {
+                    }
+                }));
+    }
+
+    private void testFrameCodec(final FrameCodec codec, final int headerSize, final int packetTypeId) {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(100).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(codec.getMaxHeaderSize());
+        buffer.putShort((short) packetTypeId);
+        buffer.putInt(12345);
+        buffer.flip();
+
+        final int dataStart = codec.writePacketTypeId(buffer, codec.getMaxHeaderSize());
+        final int frameStart = codec.writePacketSize(buffer, dataStart, buffer.limit());
+
+        buffer.position(frameStart);
+
+        Assertions.assertEquals(headerSize + 4, buffer.remaining());
+
+        final int size = codec.readPacketSize(buffer);
+
+        Assertions.assertEquals(buffer.remaining(), size);
+        Assertions.assertEquals(packetTypeId, codec.readPacketTypeId(buffer));
+        Assertions.assertEquals(12345, buffer.getInt());
+    }
+}
@@ -0,0 +1,152 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.IdleState;
+import com.ss.rlib.network.IdleStateListener;
+import com.ss.rlib.network.IdleStateManager;
+import com.ss.rlib.network.impl.TimingWheelIdleStateManager;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The list of tests {@link IdleStateManager}.
+ *
+ * @author JavaSaBr
+ */
+public class IdleStateManagerTests {
+
+    /**
+     * The clock of {@link ManualIdleStateManager}.
+     */
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    /**
+     * The idle state manager which uses {@link #CLOCK} and processes ticks only by {@link #advance(long)}.
+     */
+    private static class ManualIdleStateManager extends TimingWheelIdleStateManager {
+
+        private ManualIdleStateManager(@NotNull final IdleStateListener listener, final long readIdleTime,
+                                       final long tickDuration, final int wheelSize) {
+            super(listener, readIdleTime, 0, 0, tickDuration, wheelSize, false);
+        }
+
+        @Override
+        protected long getCurrentTime() {
+            return CLOCK.get();
+        }
+
+        /**
+         * Move the clock to the time and process ticks up to the time.
+         */
+        private void advance(final long time) {
+            CLOCK.set(time);
+            tick();
+        }
+    }
+
+    @Test
+    public void testIdleConnections() {
+
+        CLOCK.set(0);
+
+        final List<String> notified = new ArrayList<>();
+        final AtomicLong idleTime = new AtomicLong(0);
+        final AtomicLong activeTime = new AtomicLong(0);
+        final AsyncConnection idle = newConnection("idle", idleTime);
+        final AsyncConnection active = newConnection("active", activeTime);
+        final AsyncConnection unregistered = newConnection("unregistered", idleTime);
+
+        final ManualIdleStateManager manager = new ManualIdleStateManager((connection, state) ->
+                notified.add(connection + " " + state + " " + CLOCK.get()), 50, 5, 16);
+
+        manager.register(idle);
+        manager.register(active);
+        manager.register(unregistered);
+        manager.unregister(unregistered);
+
+        Assertions.assertEquals(2, manager.size());
+
+        // registered connections are put to the wheel by the next tick
+        manager.advance(0);
+
+        for (long time = 5; time <= 200; time += 5) {
+            activeTime.set(time);
+            manager.advance(time);
+        }
+
+        // the idle connection is notified after every idle time, the active connection is never notified
+        Assertions.assertEquals(Arrays.asList("idle READ_IDLE 50", "idle READ_IDLE 100", "idle READ_IDLE 150",
+                "idle READ_IDLE 200"), notified);
+
+        notified.clear();
+
+        // the idle connection becomes active and the active connection becomes idle
+        idleTime.set(220);
+
+        for (long time = 205; time <= 300; time += 5) {
+            manager.advance(time);
+        }
+
+        Assertions.assertEquals(Arrays.asList("active READ_IDLE 250", "idle READ_IDLE 270", "active READ_IDLE 300"),
+                notified);
+
+        manager.shutdown();
+    }
+
+    @Test
+    public void testSkippedTicks() {
+
+        CLOCK.set(0);
+
+        final List<String> notified = new ArrayList<>();
+        final AsyncConnection idle = newConnection("idle", new AtomicLong(0));
+
+        final ManualIdleStateManager manager = new ManualIdleStateManager((connection, state) ->
+                notified.add(connection + " " + state + " " + CLOCK.get()), 50, 5, 4);
+
+        manager.register(idle);
+
+        // registered connections are put to the wheel by the next tick
+        manager.advance(0);
+
+        // the wheel is smaller than the idle time, so the connection passes its bucket several times before checking
+        manager.advance(45);
+        Assertions.assertTrue(notified.isEmpty());
+
+        // all ticks up to the time are processed at once
+        manager.advance(500);
+        Assertions.assertEquals(Arrays.asList("idle READ_IDLE 500"), notified);
+
+        manager.shutdown();
+    }
+
+    @NotNull
+    private static AsyncConnection newConnection(@NotNull final String name, @NotNull final AtomicLong lastActivity) {
+        return (AsyncConnection) Proxy.newProxyInstance(AsyncConnection.class.getClassLoader(),
+                new Class<?>[]{AsyncConnection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getLastActivity":
+                        case "getLastReadTime":
+                        case "getLastWriteTime":
+                            return lastActivity.get();
+                        case "isClosed":
+                            return false;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return name;
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
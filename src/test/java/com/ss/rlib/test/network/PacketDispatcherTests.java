@@ -0,0 +1,94 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.PacketDispatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The list of tests {@link PacketDispatcher}.
+ *
+ * @author JavaSaBr
+ */
+public class PacketDispatcherTests {
+
+    private static final int LANES = 8;
+    private static final int TASKS = 10000;
+
+    @Test
+    public void testLanesKeepOrder() throws InterruptedException {
+
+        final PacketDispatcher dispatcher = NetworkFactory.newWorkStealingPacketDispatcher("TestDispatcher", 4);
+        final CountDownLatch latch = new CountDownLatch(LANES * TASKS);
+        final AtomicInteger violations = new AtomicInteger();
+        final List<Thread> producers = new ArrayList<>();
+
+        for (int i = 0; i < LANES; i++) {
+
+            final Executor lane = dispatcher.newLane();
+            final AtomicInteger executing = new AtomicInteger();
+            final int[] last = {-1};
+
+            final Thread producer = new Thread(() -> {
+                for (int order = 0; order < TASKS; order++) {
+                    final int current = order;
+                    lane.execute(() -> {
+
+                        if (executing.incrementAndGet() != 1 || last[0] != current - 1) {
+                            violations.incrementAndGet();
+                        }
+
+                        last[0] = current;
+                        executing.decrementAndGet();
+                        latch.countDown();
+                    });
+                }
+            });
+
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, violations.get());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void testUnorderedDispatch() throws InterruptedException {
+
+        final PacketDispatcher dispatcher = NetworkFactory.newWorkStealingPacketDispatcher("TestDispatcher", 2);
+        final CountDownLatch latch = new CountDownLatch(100);
+
+        try {
+
+            for (int i = 0; i < 100; i++) {
+                dispatcher.dispatch(latch::countDown);
+            }
+
+            // exceptions of tasks don't break the dispatcher
+            dispatcher.dispatch(() -> {
+                throw new IllegalStateException("test");
+            });
+
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+}
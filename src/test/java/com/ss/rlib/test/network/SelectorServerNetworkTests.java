@@ -0,0 +1,315 @@
+package com.ss.rlib.test.network;
+
+import com.ss.rlib.network.AsyncConnection;
+import com.ss.rlib.network.AsynchronousNetwork;
+import com.ss.rlib.network.NetworkConfig;
+import com.ss.rlib.network.NetworkCrypt;
+import com.ss.rlib.network.NetworkFactory;
+import com.ss.rlib.network.impl.AbstractAsyncConnection;
+import com.ss.rlib.network.impl.AbstractConnectionOwner;
+import com.ss.rlib.network.impl.SelectorSocketChannel;
+import com.ss.rlib.network.packet.ReadablePacket;
+import com.ss.rlib.network.packet.ReadablePacketType;
+import com.ss.rlib.network.packet.SendablePacket;
+import com.ss.rlib.network.packet.SendablePacketType;
+import com.ss.rlib.network.packet.impl.AbstractReadablePacket;
+import com.ss.rlib.network.packet.impl.AbstractSendablePacket;
+import com.ss.rlib.network.server.AcceptHandler;
+import com.ss.rlib.network.server.ServerNetwork;
+import com.ss.rlib.network.server.impl.SelectorServerNetwork;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AlreadyConnectedException;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The list of loopback tests of {@link SelectorServerNetwork}.
+ *
+ * @author JavaSaBr
+ */
+public class SelectorServerNetworkTests {
+
+    private static final int PACKET_ID = 814;
+
+    /**
+     * The size of a frame of a test packet: the size, the packet type id and the value.
+     */
+    private static final int FRAME_SIZE = 8;
+
+    private static final NetworkConfig CONFIG = new NetworkConfig() {
+    };
+
+    public static class TestReadablePacket extends AbstractReadablePacket {
+
+        private static final ReadablePacketType<TestReadablePacket> TYPE =
+                new ReadablePacketType<>(new TestReadablePacket(), PACKET_ID);
+
+        private int value;
+
+        @Override
+        protected void readImpl(@NotNull final ByteBuffer buffer) {
+            value = readInt(buffer);
+        }
+    }
+
+    public static class TestSendablePacket extends AbstractSendablePacket {
+
+        private static final SendablePacketType<TestSendablePacket> TYPE =
+                new SendablePacketType<>(TestSendablePacket.class, PACKET_ID);
+
+        private final int value;
+
+        private TestSendablePacket(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        protected void writeImpl(@NotNull final ByteBuffer buffer) {
+            super.writeImpl(buffer);
+            writeInt(buffer, value);
+        }
+
+        @NotNull
+        @Override
+        public SendablePacketType<? extends SendablePacket> getPacketType() {
+            return TYPE;
+        }
+    }
+
+    private static class TestConnection extends AbstractAsyncConnection {
+
+        private TestConnection(@NotNull final AsynchronousNetwork network,
+                               @NotNull final AsynchronousSocketChannel channel) {
+            super(network, channel, SendablePacket.class);
+        }
+    }
+
+    /**
+     * The owner which sends received values back.
+     */
+    private static class EchoOwner extends AbstractConnectionOwner {
+
+        private EchoOwner(@NotNull final AsyncConnection connection) {
+            super(connection, new NetworkCrypt() {
+
+                @Override
+                public void decrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+
+                @Override
+                public void encrypt(@NotNull final byte[] data, final int offset, final int length) {
+                }
+            });
+        }
+
+        @Override
+        protected void execute(@NotNull final ReadablePacket packet) {
+            sendPacket(new TestSendablePacket(((TestReadablePacket) packet).value));
+        }
+    }
+
+    /**
+     * Create a selector server network which gives accepted channels to the queue.
+     */
+    @NotNull
+    private static ServerNetwork newServer(@NotNull final Queue<AsynchronousSocketChannel> channels, final int port)
+            throws Exception {
+
+        final ServerNetwork network = NetworkFactory.newSelectorServerNetwork(CONFIG, new AcceptHandler() {
+
+            @Override
+            protected void onAccept(@NotNull final AsynchronousSocketChannel channel) {
+                channels.add(channel);
+            }
+
+            @Override
+            protected void onFailed(@NotNull final Throwable e) {
+            }
+        });
+
+        Assertions.assertNotNull(network);
+
+        network.bind(new InetSocketAddress("127.0.0.1", port));
+
+        return network;
+    }
+
+    @NotNull
+    private static Socket connect(final int port) throws Exception {
+        final Socket socket = new Socket("127.0.0.1", port);
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    @NotNull
+    private static <V> CompletionHandler<V, CompletableFuture<V>> newHandler() {
+        return new CompletionHandler<V, CompletableFuture<V>>() {
+
+            @Override
+            public void completed(@NotNull final V result, @NotNull final CompletableFuture<V> future) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(@NotNull final Throwable exc, @NotNull final CompletableFuture<V> future) {
+                future.completeExceptionally(exc);
+            }
+        };
+    }
+
+    private static void waitFor(@NotNull final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        TestReadablePacket.TYPE.getId();
+
+        final Queue<AsynchronousSocketChannel> channels = new ConcurrentLinkedQueue<>();
+        final ServerNetwork network = newServer(channels, 41831);
+
+        try (final Socket socket = connect(41831)) {
+
+            waitFor(() -> channels.size() == 1);
+
+            final AsynchronousSocketChannel channel = channels.peek();
+            final TestConnection connection = new TestConnection(network, channel);
+            final EchoOwner owner = new EchoOwner(connection);
+            connection.setOwner(owner);
+            connection.startRead();
+
+            final ByteBuffer frames = ByteBuffer.allocate(1000 * FRAME_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (int value = 1; value <= 1000; value++) {
+                frames.putShort((short) FRAME_SIZE);
+                frames.putShort((short) PACKET_ID);
+                frames.putInt(value);
+            }
+
+            // frames are split between several writes to receive not completed frames
+            final OutputStream output = socket.getOutputStream();
+            output.write(frames.array(), 0, 4001);
+            output.flush();
+            output.write(frames.array(), 4001, frames.capacity() - 4001);
+            output.flush();
+
+            final DataInputStream input = new DataInputStream(socket.getInputStream());
+            final byte[] frame = new byte[FRAME_SIZE];
+
+            for (int value = 1; value <= 1000; value++) {
+
+                input.readFully(frame);
+
+                final ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+
+                Assertions.assertEquals(FRAME_SIZE, buffer.getShort());
+                Assertions.assertEquals(PACKET_ID, buffer.getShort());
+                Assertions.assertEquals(value, buffer.getInt());
+            }
+
+            owner.close();
+        }
+    }
+
+    @Test
+    public void testScatteringAndGatheringOperations() throws Exception {
+
+        final Queue<AsynchronousSocketChannel> channels = new ConcurrentLinkedQueue<>();
+        newServer(channels, 41832);
+
+        try (final Socket socket = connect(41832)) {
+
+            waitFor(() -> channels.size() == 1);
+
+            final AsynchronousSocketChannel channel = channels.peek();
+
+            Assertions.assertTrue(channel instanceof SelectorSocketChannel);
+
+            final ByteBuffer[] srcs = {
+                    ByteBuffer.allocate(0),
+                    ByteBuffer.wrap("hello".getBytes(StandardCharsets.US_ASCII)),
+                    ByteBuffer.wrap("world".getBytes(StandardCharsets.US_ASCII)),
+            };
+
+            final CompletableFuture<Long> written = new CompletableFuture<>();
+            channel.write(srcs, 1, 2, 0, TimeUnit.MILLISECONDS, written, newHandler());
+
+            Assertions.assertEquals(10L, written.get(5, TimeUnit.SECONDS).longValue());
+
+            final byte[] received = new byte[10];
+            new DataInputStream(socket.getInputStream()).readFully(received);
+
+            Assertions.assertEquals("helloworld", new String(received, StandardCharsets.US_ASCII));
+
+            final OutputStream output = socket.getOutputStream();
+            output.write("0123456789".getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+
+            final ByteBuffer[] dsts = {ByteBuffer.allocate(4), ByteBuffer.allocate(6)};
+
+            long read = 0;
+
+            // the data can be received by several reads
+            while (dsts[1].hasRemaining()) {
+                final CompletableFuture<Long> result = new CompletableFuture<>();
+                channel.read(dsts, 0, 2, 0, TimeUnit.MILLISECONDS, result, newHandler());
+                read += result.get(5, TimeUnit.SECONDS);
+            }
+
+            Assertions.assertEquals(10, read);
+            Assertions.assertEquals("0123", new String(dsts[0].array(), StandardCharsets.US_ASCII));
+            Assertions.assertEquals("456789", new String(dsts[1].array(), StandardCharsets.US_ASCII));
+
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testNotSupportedOperations() throws Exception {
+
+        final Queue<AsynchronousSocketChannel> channels = new ConcurrentLinkedQueue<>();
+        newServer(channels, 41833);
+
+        try (final Socket socket = connect(41833)) {
+
+            waitFor(() -> channels.size() == 1);
+
+            final AsynchronousSocketChannel channel = channels.peek();
+            final InetSocketAddress address = new InetSocketAddress("127.0.0.1", 41833);
+
+            Assertions.assertEquals(socket.getLocalSocketAddress(), channel.getRemoteAddress());
+
+            Assertions.assertThrows(AlreadyConnectedException.class, () -> channel.connect(address));
+            Assertions.assertThrows(AlreadyConnectedException.class,
+                    () -> channel.connect(address, null, newHandler()));
+            Assertions.assertThrows(UnsupportedOperationException.class,
+                    () -> channel.read(ByteBuffer.allocate(1), 1, TimeUnit.SECONDS, null, newHandler()));
+
+            channel.close();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.ss.rlib.test.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.ss.rlib.util.ArrayUtils;
 import com.ss.rlib.util.StringUtils;
 import com.ss.rlib.util.array.ArrayFactory;
@@ -117,4 +120,40 @@ public class ArrayUtilsTests {
 
         assertEquals(2, array.size(), "The size of array should be 1");
     }
+
+    @Test
+    public void testOptimisticRead() {
+
+        final ConcurrentArray<String> array = ArrayFactory.newConcurrentAtomicARSWLockArray(String.class);
+        array.add("first");
+
+        final long stamp = array.tryOptimisticRead();
+
+        assertNotEquals(0, stamp, "The stamp should be valid");
+        assertTrue(array.validate(stamp), "The stamp should be valid");
+
+        final long writeStamp = array.writeLock();
+        try {
+            assertEquals(0, array.tryOptimisticRead(), "The optimistic read should be failed");
+            array.add("second");
+        } finally {
+            array.writeUnlock(writeStamp);
+        }
+
+        assertFalse(array.validate(stamp), "The stamp should be invalid after writing");
+        assertTrue(array.validate(array.tryOptimisticRead()), "The new stamp should be valid");
+    }
+
+    @Test
+    public void testGetOptimistic() {
+
+        final ConcurrentArray<String> array = ArrayFactory.newConcurrentReentrantRWLockArray(String.class);
+        array.add("first");
+        array.add("second");
+
+        assertEquals("first", ArrayUtils.getOptimistic(array, strings -> strings.first()));
+        assertEquals("second", ArrayUtils.getOptimistic(array, 1, (strings, index) -> strings.get(index)));
+        assertEquals(true, ArrayUtils.getOptimistic(array, "second", (strings, value) -> strings.contains(value)));
+        assertEquals("first", ArrayUtils.getOptimisticL(array, 0, (strings, index) -> strings.get((int) index)));
+    }
 }
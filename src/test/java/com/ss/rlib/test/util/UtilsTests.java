@@ -0,0 +1,47 @@
+package com.ss.rlib.test.util;
+
+import com.ss.rlib.util.Utils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The list of tests {@link Utils}.
+ *
+ * @author JavaSaBr
+ */
+public class UtilsTests {
+
+    @Test
+    public void testHexdumpOfSlice() {
+
+        final ByteBuffer slab = ByteBuffer.allocate(32);
+
+        for (int i = 0; i < slab.capacity(); i++) {
+            slab.put((byte) (i < 16 ? 0x11 : 0x22));
+        }
+
+        slab.position(16);
+
+        // only data of the slice should be dumped, not data of other slices of the slab
+        final ByteBuffer slice = slab.slice();
+        slice.position(4);
+
+        final String dump = Utils.hexdump(slice, 4);
+
+        Assertions.assertTrue(dump.startsWith("22 22 22 22"), dump);
+        Assertions.assertFalse(dump.contains("11"), dump);
+        Assertions.assertEquals(4, slice.position());
+    }
+
+    @Test
+    public void testHexdumpOfDirectBuffer() {
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.put(new byte[] {1, 2, 3});
+
+        Assertions.assertTrue(Utils.hexdump(buffer, buffer.position()).startsWith("01 02 03"));
+        Assertions.assertEquals(3, buffer.position());
+    }
+}
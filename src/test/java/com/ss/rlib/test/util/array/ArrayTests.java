@@ -105,4 +105,37 @@ public class ArrayTests {
 
         Assertions.assertEquals(1000, concurrentArray.size());
     }
+
+    @Test
+    public void testCopyOnWriteArray() {
+
+        final ConcurrentArray<Integer> array = ArrayFactory.newConcurrentCopyOnWriteArray(Integer.class);
+        array.addAll(ArrayFactory.toArray(9, 8, 7, 6, 5, 4, 3));
+
+        final Integer[] snapshot = array.array();
+        final ArrayIterator<Integer> iterator = array.iterator();
+
+        array.sort(Integer::compareTo);
+        array.slowRemove(0);
+        array.fastRemove((Integer) 9);
+        array.add(10);
+
+        // the previous snapshot isn't changed by writers
+        Assertions.assertArrayEquals(snapshot, toArray(9, 8, 7, 6, 5, 4, 3));
+        Assertions.assertArrayEquals(array.toArray(Integer.class), toArray(4, 5, 6, 7, 8, 10));
+
+        int count = 0;
+
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+
+        Assertions.assertEquals(7, count);
+
+        array.clear();
+
+        Assertions.assertTrue(array.isEmpty());
+        Assertions.assertEquals(0, array.array().length);
+    }
 }
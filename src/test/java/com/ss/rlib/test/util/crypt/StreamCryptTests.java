@@ -0,0 +1,72 @@
+package com.ss.rlib.test.util.crypt;
+
+import com.ss.rlib.util.crypt.StreamCrypt;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The list of tests {@link StreamCrypt}.
+ *
+ * @author JavaSaBr
+ */
+public class StreamCryptTests {
+
+    private static final byte[] KEY = new byte[16];
+    private static final byte[] FIRST_IV = new byte[StreamCrypt.IV_SIZE];
+    private static final byte[] SECOND_IV = new byte[StreamCrypt.IV_SIZE];
+
+    static {
+        FIRST_IV[0] = 1;
+        SECOND_IV[0] = 2;
+    }
+
+    @Test
+    public void testDirectBufferInPlace() throws Exception {
+
+        final StreamCrypt client = new StreamCrypt(KEY, FIRST_IV, SECOND_IV);
+        final StreamCrypt server = new StreamCrypt(KEY, SECOND_IV, FIRST_IV);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+
+        for (int i = 0; i < 100; i++) {
+            buffer.put(i, (byte) i);
+        }
+
+        client.encrypt(buffer, 10, 80);
+
+        Assertions.assertEquals(5, buffer.get(5));
+        Assertions.assertEquals(95, buffer.get(95));
+        Assertions.assertFalse(buffer.get(50) == 50);
+
+        server.decrypt(buffer, 10, 80);
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals((byte) i, buffer.get(i));
+        }
+    }
+
+    @Test
+    public void testStreamContinuesBetweenCalls() throws Exception {
+
+        final StreamCrypt client = new StreamCrypt(KEY, FIRST_IV, SECOND_IV);
+        final StreamCrypt server = new StreamCrypt(KEY, SECOND_IV, FIRST_IV);
+
+        final byte[] data = new byte[77];
+
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 3);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(data.clone());
+
+        // encrypted by the frames but decrypted at once
+        client.encrypt(buffer, 0, 13);
+        client.encrypt(buffer, 13, 40);
+        client.encrypt(buffer, 53, 24);
+        server.decrypt(buffer, 0, data.length);
+
+        Assertions.assertArrayEquals(data, buffer.array());
+    }
+}
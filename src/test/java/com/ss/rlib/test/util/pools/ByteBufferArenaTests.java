@@ -0,0 +1,67 @@
+package com.ss.rlib.test.util.pools;
+
+import com.ss.rlib.util.pools.ByteBufferArena;
+import com.ss.rlib.util.pools.PoolFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The list of tests {@link ByteBufferArena}.
+ *
+ * @author JavaSaBr
+ */
+public class ByteBufferArenaTests {
+
+    @Test
+    public void testTakeAndPut() {
+
+        final ByteBufferArena arena = PoolFactory.newByteBufferArena(true, ByteOrder.LITTLE_ENDIAN);
+
+        final ByteBuffer first = arena.take(2048);
+        final ByteBuffer second = arena.take(1000);
+
+        Assertions.assertTrue(first.isDirect());
+        Assertions.assertEquals(2048, first.capacity());
+        Assertions.assertEquals(1000, second.capacity());
+        Assertions.assertEquals(ByteOrder.LITTLE_ENDIAN, first.order());
+        Assertions.assertEquals(2, arena.getOutstandingBuffers());
+
+        first.putInt(0, 100);
+        second.putInt(0, 200);
+
+        Assertions.assertEquals(100, first.getInt(0));
+
+        arena.put(first);
+        arena.put(first);
+        arena.put(second);
+
+        Assertions.assertEquals(0, arena.getOutstandingBuffers());
+        Assertions.assertEquals(2, arena.getPeakOutstandingBuffers());
+
+        final long reserved = arena.getReservedMemory();
+
+        for (int i = 0; i < 100; i++) {
+            arena.put(arena.take(2048));
+        }
+
+        Assertions.assertEquals(reserved, arena.getReservedMemory());
+    }
+
+    @Test
+    public void testLeakedBuffers() throws InterruptedException {
+
+        final ByteBufferArena arena = PoolFactory.newByteBufferArena(false, ByteOrder.BIG_ENDIAN);
+        arena.take(512);
+
+        for (int i = 0; i < 50 && arena.getLeakedBuffers() < 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(1, arena.getLeakedBuffers());
+        Assertions.assertEquals(0, arena.getOutstandingBuffers());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ss.rlib.test.util.pools;
+
+import com.ss.rlib.util.pools.Pool;
+import com.ss.rlib.util.pools.PoolFactory;
+import com.ss.rlib.util.pools.Reusable;
+import com.ss.rlib.util.pools.ReusablePool;
+import com.ss.rlib.util.pools.impl.MagazinePool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The list of tests {@link MagazinePool}.
+ *
+ * @author JavaSaBr
+ */
+public class MagazinePoolTests {
+
+    private static final int MAGAZINE_SIZE = 4;
+    private static final int OBJECTS = 1000;
+
+    private static class TestObject implements Reusable {
+
+        private volatile boolean free;
+
+        @Override
+        public void free() {
+            free = true;
+        }
+
+        @Override
+        public void reuse() {
+            free = false;
+        }
+    }
+
+    @Test
+    public void testTakeAndPut() {
+
+        final ReusablePool<TestObject> pool = PoolFactory.newMagazineReusablePool(TestObject.class, MAGAZINE_SIZE);
+
+        Assertions.assertTrue(pool.isEmpty());
+        Assertions.assertNull(pool.take());
+
+        final Set<TestObject> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int i = 0; i < OBJECTS; i++) {
+            objects.add(new TestObject());
+        }
+
+        for (final TestObject object : objects) {
+            pool.put(object);
+            Assertions.assertTrue(object.free);
+        }
+
+        final Set<TestObject> taken = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (TestObject object = pool.take(); object != null; object = pool.take()) {
+            Assertions.assertFalse(object.free);
+            Assertions.assertTrue(taken.add(object));
+        }
+
+        Assertions.assertEquals(objects, taken);
+        Assertions.assertTrue(pool.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+
+        final Pool<Object> pool = PoolFactory.newMagazinePool(Object.class);
+        final Object first = new Object();
+        final Object second = new Object();
+
+        pool.put(first);
+        pool.put(second);
+        pool.remove(first);
+
+        Assertions.assertSame(second, pool.take());
+        Assertions.assertNull(pool.take());
+    }
+
+    @Test
+    public void testExchangeBetweenThreads() throws InterruptedException {
+
+        final ReusablePool<TestObject> pool = PoolFactory.newMagazineReusablePool(TestObject.class, MAGAZINE_SIZE);
+        final BlockingQueue<TestObject> queue = new ArrayBlockingQueue<>(OBJECTS);
+
+        // objects are taken by one thread and are returned by other thread like packets of a network
+        final Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < OBJECTS * 10; i++) {
+                    pool.put(queue.take());
+                }
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        consumer.start();
+
+        int created = 0;
+
+        for (int i = 0; i < OBJECTS * 10; i++) {
+
+            TestObject object = pool.take();
+
+            if (object == null) {
+                object = new TestObject();
+                created++;
+            }
+
+            queue.put(object);
+        }
+
+        consumer.join();
+
+        int pooled = 0;
+
+        while (pool.take() != null) {
+            pooled++;
+        }
+
+        Assertions.assertTrue(created < OBJECTS * 10, "objects should be reused " + created);
+        Assertions.assertTrue(pooled <= created && pooled >= created - MAGAZINE_SIZE * 2,
+                "pooled " + pooled + " of " + created);
+    }
+}